@@ -0,0 +1,255 @@
+/*
+ *
+ * Copyright 2014 Tom Mahaffey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.tkmtwo.timex;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+
+
+
+/**
+ *
+ * Concurrent counts and sums over the buckets of a TimeBucketer.
+ * <p>
+ *
+ * Like LongAdder, every bucket is split over a number of stripes and
+ * a writing thread only touches the stripe picked by its thread id, so
+ * ingest threads rarely contend on a cache line.  A bucket's count and
+ * sum sit next to each other and stripes are padded apart.
+ * <p>
+ *
+ * Reads add the stripes up without blocking writers.  Like
+ * LongAdder.sum(), a read taken while writers are active is not an
+ * atomic snapshot: each cell is read once, so every recorded value
+ * appears either in this read or in a later one.
+ *
+ *
+ * @author Tom Mahaffey
+ *
+ */
+public final class BucketHistogram {
+
+  private static final int MAX_STRIPES = 64;
+  //Longs per 64 byte cache line.
+  private static final int LINE = 8;
+
+  private final TimeBucketer bucketer;
+  private final int size;
+  private final int stripeMask;
+  private final int rowLength;
+  private final AtomicLongArray cells;
+  private final LongAdder dropped = new LongAdder();
+
+
+  private BucketHistogram(TimeBucketer bucketer, int stripes) {
+    this.bucketer = bucketer;
+    this.size = bucketer.size();
+    this.stripeMask = stripes - 1;
+
+    long row = ((2L * size + LINE - 1) / LINE) * LINE + LINE;
+    checkArgument(row * stripes <= Integer.MAX_VALUE - 8, "Too many buckets and stripes.");
+    this.rowLength = (int) row;
+    this.cells = new AtomicLongArray(rowLength * stripes);
+  }
+
+
+  /**
+   * Creates a histogram with one stripe per processor.
+   *
+   * @param bucketer a TimeBucketer value
+   * @return a BucketHistogram value
+   */
+  public static BucketHistogram of(TimeBucketer bucketer) {
+    int cpus = Runtime.getRuntime().availableProcessors();
+    int stripes = cpus <= 1 ? 1 : Integer.highestOneBit(cpus - 1) << 1;
+    return of(bucketer, Math.min(MAX_STRIPES, stripes));
+  }
+
+  /**
+   * Creates a histogram.
+   *
+   * @param bucketer a TimeBucketer value
+   * @param stripes an int number of stripes, a power of two
+   * @return a BucketHistogram value
+   */
+  public static BucketHistogram of(TimeBucketer bucketer, int stripes) {
+    checkNotNull(bucketer, "Need a bucketer.");
+    checkArgument(stripes > 0 && Integer.bitCount(stripes) == 1 && stripes <= MAX_STRIPES,
+                  "Stripes must be a power of two in [1...%s].", MAX_STRIPES);
+    return new BucketHistogram(bucketer, stripes);
+  }
+
+
+
+  /**
+   * Gets the bucketer.
+   *
+   * @return a TimeBucketer value
+   */
+  public TimeBucketer getBucketer() { return bucketer; }
+
+  /**
+   * Gets the number of buckets.
+   *
+   * @return an int value
+   */
+  public int size() { return size; }
+
+  /**
+   * Gets the number of stripes.
+   *
+   * @return an int value
+   */
+  public int getStripes() { return stripeMask + 1; }
+
+
+
+  /**
+   * Counts an instant.
+   *
+   * @param instantMillis a long value of milliseconds since the epoch
+   * @return true if a bucket contains the instant, false if it was dropped
+   */
+  public boolean record(long instantMillis) {
+    return record(instantMillis, 0L);
+  }
+
+  /**
+   * Counts an instant and adds a value to its bucket's sum.
+   *
+   * @param instantMillis a long value of milliseconds since the epoch
+   * @param value a long value
+   * @return true if a bucket contains the instant, false if it was dropped
+   */
+  public boolean record(long instantMillis, long value) {
+    int index = bucketer.indexOf(instantMillis);
+    if (index < 0) {
+      dropped.increment();
+      return false;
+    }
+    add(index, 1L, value);
+    return true;
+  }
+
+  /**
+   * Adds to a bucket's count and sum directly.
+   *
+   * @param index an int bucket index
+   * @param count a long value
+   * @param sum a long value
+   */
+  public void addAt(int index, long count, long sum) {
+    checkElementIndex(index, size);
+    add(index, count, sum);
+  }
+
+  private void add(int index, long count, long sum) {
+    int cell = stripe() * rowLength + 2 * index;
+    if (count != 0L) { cells.getAndAdd(cell, count); }
+    if (sum != 0L) { cells.getAndAdd(cell + 1, sum); }
+  }
+
+  private int stripe() {
+    long id = Thread.currentThread().getId();
+    return (int) (id ^ (id >>> 32)) * 0x9E3779B9 >>> 16 & stripeMask;
+  }
+
+
+
+  /**
+   * Gets the count of a bucket.
+   *
+   * @param index an int bucket index
+   * @return a long value
+   */
+  public long getCount(int index) {
+    checkElementIndex(index, size);
+    return sumCells(2 * index);
+  }
+
+  /**
+   * Gets the sum of a bucket.
+   *
+   * @param index an int bucket index
+   * @return a long value
+   */
+  public long getSum(int index) {
+    checkElementIndex(index, size);
+    return sumCells(2 * index + 1);
+  }
+
+  private long sumCells(int offset) {
+    long total = 0L;
+    for (int cell = offset; cell < cells.length(); cell += rowLength) {
+      total += cells.get(cell);
+    }
+    return total;
+  }
+
+  /**
+   * Gets the counts of every bucket.
+   *
+   * @return a long[] value, indexed by bucket
+   */
+  public long[] getCounts() { return snapshot(0); }
+
+  /**
+   * Gets the sums of every bucket.
+   *
+   * @return a long[] value, indexed by bucket
+   */
+  public long[] getSums() { return snapshot(1); }
+
+  private long[] snapshot(int offset) {
+    long[] totals = new long[size];
+    for (int row = 0; row < cells.length(); row += rowLength) {
+      for (int i = 0; i < size; i++) {
+        totals[i] += cells.get(row + 2 * i + offset);
+      }
+    }
+    return totals;
+  }
+
+  /**
+   * Gets the number of instants outside of every bucket.
+   *
+   * @return a long value
+   */
+  public long getDropped() { return dropped.sum(); }
+
+  /**
+   * Resets every count, sum and the dropped count.
+   * <p>
+   *
+   * Like LongAdder.reset(), this is only exact when there are no
+   * concurrent writers.
+   */
+  public void reset() {
+    for (int cell = 0; cell < cells.length(); cell++) {
+      cells.set(cell, 0L);
+    }
+    dropped.reset();
+  }
+
+}
@@ -0,0 +1,159 @@
+/*
+ *
+ * Copyright 2014 Tom Mahaffey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.tkmtwo.timex;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.joda.time.Chronology;
+import org.joda.time.DateTime;
+import org.joda.time.Interval;
+import org.joda.time.Period;
+import org.joda.time.chrono.ISOChronology;
+
+
+
+
+/**
+ *
+ * Steps a Period across an Interval on the calendar of the Interval's
+ * zone.
+ * <p>
+ *
+ * Step i is origin.plus(period.multipliedBy(i)), or minus for REVERSE,
+ * exactly as JodaTime computes it.  Stepping from the origin rather
+ * than from the previous step keeps month ends: P1M from Jan 31 gives
+ * Feb 28, then Mar 31.
+ * <p>
+ *
+ * For ISO chronologies the zone's offset transitions around the
+ * Interval are looked up once.  Each step is then plain calendar
+ * arithmetic on local millis plus a binary search over the transitions,
+ * following the same rules as JodaTime's zoned fields: date fields
+ * (years, months, weeks, days) are added in local time and resolved
+ * through DateTimeZone.getOffsetFromLocal(), and time fields are added
+ * to the UTC instant.  Other chronologies step through JodaTime.
+ *
+ *
+ * @author Tom Mahaffey
+ *
+ */
+final class CalendarStepper {
+
+  private static final long MILLIS_PER_WEEK = 7L * CivilCalendar.MILLIS_PER_DAY;
+
+  //Local times are within a day of UTC, so transitions within this
+  //margin of the Interval cover every step inside it.
+  private static final long MARGIN_MILLIS = 2L * CivilCalendar.MILLIS_PER_DAY;
+
+  private final Chronology chronology;
+  private final ZoneTransitions transitions;
+  private final long origin;
+  private final long sign;
+
+  private final long years;
+  private final long months;
+  private final long weeks;
+  private final long days;
+  private final long timeMillis;
+  private final Period period;
+
+
+  CalendarStepper(DateTimeDirection dtDirection, Interval interval, Period period) {
+    checkNotNull(dtDirection, "Need a direction.");
+    checkNotNull(interval, "Need an interval.");
+    checkNotNull(period, "Need a period.");
+    checkArgument(period.getYears() >= 0 && period.getMonths() >= 0
+                  && period.getWeeks() >= 0 && period.getDays() >= 0
+                  && period.getHours() >= 0 && period.getMinutes() >= 0
+                  && period.getSeconds() >= 0 && period.getMillis() >= 0,
+                  "Period can not have negative fields.");
+
+    this.chronology = interval.getChronology();
+    this.origin = dtDirection.getStart(interval).getMillis();
+    this.sign = dtDirection == DateTimeDirection.FORWARD ? 1L : -1L;
+    this.period = period;
+
+    this.years = period.getYears();
+    this.months = period.getMonths();
+    this.weeks = period.getWeeks();
+    this.days = period.getDays();
+    this.timeMillis = period.getHours() * 3600000L
+      + period.getMinutes() * 60000L
+      + period.getSeconds() * 1000L
+      + period.getMillis();
+    checkArgument(years + months + weeks + days + timeMillis > 0L, "Period can not be zero.");
+
+    this.transitions = chronology.withUTC() == ISOChronology.getInstanceUTC()
+      ? new ZoneTransitions(chronology.getZone(),
+                            interval.getStartMillis() - MARGIN_MILLIS,
+                            interval.getEndMillis() + MARGIN_MILLIS)
+      : null;
+  }
+
+
+  Chronology getChronology() { return chronology; }
+
+
+  /*
+   * Epoch millis of step i.
+   */
+  long millisAt(long i) {
+    //Like JodaTime, a field adding nothing leaves the instant alone,
+    //even when its local time is ambiguous.
+    if (i == 0L) { return origin; }
+    if (transitions == null) {
+      Period p = period.multipliedBy((int) i);
+      DateTime dt = new DateTime(origin, chronology);
+      return (sign > 0L ? dt.plus(p) : dt.minus(p)).getMillis();
+    }
+
+    long step = i * sign;
+    long millis = origin;
+    if (years != 0L) { millis = addLocalMonths(millis, 12L * years * step); }
+    if (months != 0L) { millis = addLocalMonths(millis, months * step); }
+    if (weeks != 0L) { millis = addLocalMillis(millis, MILLIS_PER_WEEK * weeks * step); }
+    if (days != 0L) { millis = addLocalMillis(millis, CivilCalendar.MILLIS_PER_DAY * days * step); }
+    return millis + timeMillis * step;
+  }
+
+
+  private long addLocalMonths(long millis, long delta) {
+    if (delta == 0L) { return millis; }
+    long local = millis + transitions.getOffset(millis);
+    long epochDay = CivilCalendar.epochDay(local);
+    long millisOfDay = local - epochDay * CivilCalendar.MILLIS_PER_DAY;
+    int ymd = CivilCalendar.fromEpochDay(epochDay);
+
+    long total = CivilCalendar.year(ymd) * 12L + (CivilCalendar.month(ymd) - 1) + delta;
+    int year = (int) Math.floorDiv(total, 12L);
+    int month = (int) Math.floorMod(total, 12L) + 1;
+    int day = Math.min(CivilCalendar.dayOfMonth(ymd), CivilCalendar.lengthOfMonth(year, month));
+
+    local = CivilCalendar.toEpochDay(year, month, day) * CivilCalendar.MILLIS_PER_DAY + millisOfDay;
+    return local - transitions.getOffsetFromLocal(local);
+  }
+
+  private long addLocalMillis(long millis, long delta) {
+    if (delta == 0L) { return millis; }
+    long local = millis + transitions.getOffset(millis) + delta;
+    return local - transitions.getOffsetFromLocal(local);
+  }
+
+}
@@ -0,0 +1,287 @@
+/*
+ *
+ * Copyright 2014 Tom Mahaffey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.tkmtwo.timex;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+
+
+
+/**
+ *
+ * Proleptic Gregorian (ISO) calendar arithmetic in UTC.
+ * <p>
+ *
+ * Converting epoch days to year, month, day and day of week is a single
+ * array lookup for years in [MIN_TABLE_YEAR, MAX_TABLE_YEAR] and plain
+ * integer arithmetic outside of it.  The table range defaults to 1970
+ * through 2200 (about 330KB) and may be changed with the system properties
+ * com.tkmtwo.timex.CivilCalendar.minYear and
+ * com.tkmtwo.timex.CivilCalendar.maxYear.
+ * <p>
+ *
+ * Dates are returned packed into an int so nothing is allocated:
+ *
+ * <pre>
+ *   bits 12..31  year (signed)
+ *   bits  8..11  month of year, 1-12
+ *   bits  3..7   day of month, 1-31
+ *   bits  0..2   ISO day of week, 1 (Monday) - 7 (Sunday)
+ * </pre>
+ *
+ * Use the year(), month(), dayOfMonth() and dayOfWeek() accessors
+ * to unpack.
+ *
+ *
+ * @author Tom Mahaffey
+ *
+ */
+public final class CivilCalendar {
+
+  public static final long MILLIS_PER_SECOND = 1000L;
+  public static final long MILLIS_PER_DAY = 86400000L;
+  public static final int SECONDS_PER_DAY = 86400;
+
+  /** First year held in the lookup table. */
+  public static final int MIN_TABLE_YEAR =
+    Integer.getInteger("com.tkmtwo.timex.CivilCalendar.minYear", 1970);
+  /** Last year held in the lookup table. */
+  public static final int MAX_TABLE_YEAR =
+    Math.max(MIN_TABLE_YEAR, Integer.getInteger("com.tkmtwo.timex.CivilCalendar.maxYear", 2200));
+
+  /** Greatest year a packed date can hold, in its 20 signed bits. */
+  public static final int MAX_PACKED_YEAR = Integer.MAX_VALUE >> 12;
+
+  private static final int MAX_CACHED_YEAR = 9999;
+
+  private static final int[][] MONTH_START_DAYS = {
+    { 0, 31, 59, 90, 120, 151, 181, 212, 243, 273, 304, 334, 365 },
+    { 0, 31, 60, 91, 121, 152, 182, 213, 244, 274, 305, 335, 366 }
+  };
+
+  private static final int[] YEAR_START_DAYS = new int[MAX_CACHED_YEAR + 1];
+  static {
+    for (int y = 0; y <= MAX_CACHED_YEAR; y++) {
+      YEAR_START_DAYS[y] = (int) daysFromCivil(y, 1, 1);
+    }
+  }
+
+  private static final long MIN_TABLE_DAY = daysFromCivil(MIN_TABLE_YEAR, 1, 1);
+  private static final long MAX_TABLE_DAY = daysFromCivil(MAX_TABLE_YEAR, 12, 31);
+  private static final int[] DATES = new int[(int) (MAX_TABLE_DAY - MIN_TABLE_DAY + 1)];
+  static {
+    for (int i = 0; i < DATES.length; i++) {
+      DATES[i] = civilFromDays(MIN_TABLE_DAY + i);
+    }
+  }
+
+
+
+
+  /**
+   * Tells whether a year is a leap year.
+   *
+   * @param year an int value
+   * @return a boolean value
+   */
+  public static boolean isLeapYear(int year) {
+    return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+  }
+
+  /**
+   * Gets the number of days in a month.
+   *
+   * @param year an int value
+   * @param month an int month of year, 1-12
+   * @return an int value
+   */
+  public static int lengthOfMonth(int year, int month) {
+    int[] starts = MONTH_START_DAYS[isLeapYear(year) ? 1 : 0];
+    return starts[month] - starts[month - 1];
+  }
+
+  /**
+   * Tells whether year, month and day form a real date.
+   *
+   * @param year an int value
+   * @param month an int month of year
+   * @param day an int day of month
+   * @return a boolean value
+   */
+  public static boolean isValidDate(int year, int month, int day) {
+    return month >= 1 && month <= 12 && day >= 1 && day <= lengthOfMonth(year, month);
+  }
+
+
+
+  /**
+   * Gets the days since 1970-01-01 of a date.
+   * <p>
+   *
+   * Fields are not validated.  Years 0000 through 9999 use a cached
+   * table of year starts.
+   *
+   * @param year an int value
+   * @param month an int month of year, 1-12
+   * @param day an int day of month
+   * @return a long value
+   */
+  public static long toEpochDay(int year, int month, int day) {
+    if (year >= 0 && year <= MAX_CACHED_YEAR && month >= 1 && month <= 12) {
+      return YEAR_START_DAYS[year] + MONTH_START_DAYS[isLeapYear(year) ? 1 : 0][month - 1] + day - 1;
+    }
+    return daysFromCivil(year, month, day);
+  }
+
+  /**
+   * Gets the packed date of days since 1970-01-01.
+   *
+   * @param epochDay a long value
+   * @return an int packed date
+   */
+  public static int fromEpochDay(long epochDay) {
+    if (epochDay >= MIN_TABLE_DAY && epochDay <= MAX_TABLE_DAY) {
+      return DATES[(int) (epochDay - MIN_TABLE_DAY)];
+    }
+    return civilFromDays(epochDay);
+  }
+
+  /**
+   * Gets the packed UTC date of epoch milliseconds.
+   *
+   * @param millis a long value of milliseconds since the epoch
+   * @return an int packed date
+   */
+  public static int fromEpochMillis(long millis) {
+    return fromEpochDay(epochDay(millis));
+  }
+
+  /**
+   * Gets the UTC days since 1970-01-01 of epoch milliseconds.
+   *
+   * @param millis a long value of milliseconds since the epoch
+   * @return a long value
+   */
+  public static long epochDay(long millis) {
+    return Math.floorDiv(millis, MILLIS_PER_DAY);
+  }
+
+  /**
+   * Gets the UTC millisecond of the day of epoch milliseconds.
+   *
+   * @param millis a long value of milliseconds since the epoch
+   * @return an int value in [0, 86400000)
+   */
+  public static int millisOfDay(long millis) {
+    return (int) Math.floorMod(millis, MILLIS_PER_DAY);
+  }
+
+  /**
+   * Gets the UTC second of the day of epoch milliseconds.
+   *
+   * @param millis a long value of milliseconds since the epoch
+   * @return an int value in [0, 86400)
+   */
+  public static int secondOfDay(long millis) {
+    return millisOfDay(millis) / (int) MILLIS_PER_SECOND;
+  }
+
+
+
+  /**
+   * Packs a date.
+   *
+   * @param year an int value
+   * @param month an int month of year, 1-12
+   * @param day an int day of month, 1-31
+   * @param dayOfWeek an int ISO day of week, 1-7
+   * @return an int packed date
+   */
+  public static int pack(int year, int month, int day, int dayOfWeek) {
+    checkArgument(month >= 1 && month <= 12, "Month must be in [1...12].");
+    checkArgument(day >= 1 && day <= 31, "Day must be in [1...31].");
+    checkArgument(dayOfWeek >= 1 && dayOfWeek <= 7, "Day of week must be in [1...7].");
+    return (year << 12) | (month << 8) | (day << 3) | dayOfWeek;
+  }
+
+  /**
+   * Unpacks the year.
+   *
+   * @param packed an int packed date
+   * @return an int value
+   */
+  public static int year(int packed) { return packed >> 12; }
+
+  /**
+   * Unpacks the month of year.
+   *
+   * @param packed an int packed date
+   * @return an int value, 1-12
+   */
+  public static int month(int packed) { return (packed >>> 8) & 0xF; }
+
+  /**
+   * Unpacks the day of month.
+   *
+   * @param packed an int packed date
+   * @return an int value, 1-31
+   */
+  public static int dayOfMonth(int packed) { return (packed >>> 3) & 0x1F; }
+
+  /**
+   * Unpacks the ISO day of week.
+   *
+   * @param packed an int packed date
+   * @return an int value, 1 (Monday) - 7 (Sunday)
+   */
+  public static int dayOfWeek(int packed) { return packed & 0x7; }
+
+
+
+
+  /*
+   * Days since 1970-01-01 for a proleptic Gregorian date.
+   */
+  private static long daysFromCivil(int year, int month, int day) {
+    long y = (month <= 2) ? year - 1L : year;
+    long era = (y >= 0 ? y : y - 399) / 400;
+    int yoe = (int) (y - era * 400);
+    int doy = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+    int doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+    return era * 146097L + doe - 719468L;
+  }
+
+  /*
+   * Packed proleptic Gregorian date for days since 1970-01-01.
+   */
+  private static int civilFromDays(long epochDay) {
+    long z = epochDay + 719468L;
+    long era = (z >= 0 ? z : z - 146096L) / 146097L;
+    int doe = (int) (z - era * 146097L);
+    int yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+    int doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+    int mp = (5 * doy + 2) / 153;
+    int day = doy - (153 * mp + 2) / 5 + 1;
+    int month = mp < 10 ? mp + 3 : mp - 9;
+    int year = (int) (yoe + era * 400L) + (month <= 2 ? 1 : 0);
+    int dayOfWeek = (int) Math.floorMod(epochDay + 3L, 7L) + 1;
+    return (year << 12) | (month << 8) | (day << 3) | dayOfWeek;
+  }
+
+}
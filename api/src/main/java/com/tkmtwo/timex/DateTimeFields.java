@@ -19,6 +19,7 @@
 package com.tkmtwo.timex;
 
 import org.joda.time.DateTime;
+import org.joda.time.chrono.ISOChronology;
 import org.joda.time.format.DateTimeFormatter;
 
 
@@ -29,6 +30,9 @@ import org.joda.time.format.DateTimeFormatter;
  * which allows convenient access to rounding and adding.  The added benefit is that
  * the properties are enumerated, so the field-level access is more declarative.
  *
+ * Rounding a UTC <code>DateTime</code> is done with <code>CivilCalendar</code>
+ * rather than the property.
+ *
  * @author Tom Mahaffey
  * @version $Id$
  */
@@ -39,48 +43,101 @@ public enum DateTimeFields {
     public DateTime.Property getProperty(DateTime dateTime) {
       return dateTime.millisOfSecond();
     }
+    long roundFloorUtc(long millis) {
+      return millis;
+    }
+    long nextUtc(long floor) {
+      return floor + 1L;
+    }
   },
   /** To the second. */
   SECOND {
     public DateTime.Property getProperty(DateTime dateTime) {
       return dateTime.secondOfMinute();
     }
+    long roundFloorUtc(long millis) {
+      return millis - Math.floorMod(millis, 1000L);
+    }
+    long nextUtc(long floor) {
+      return floor + 1000L;
+    }
   },
   /** To the minute. */
   MINUTE {
     public DateTime.Property getProperty(DateTime dateTime) {
       return dateTime.minuteOfHour();
     }
+    long roundFloorUtc(long millis) {
+      return millis - Math.floorMod(millis, 60000L);
+    }
+    long nextUtc(long floor) {
+      return floor + 60000L;
+    }
   },
   /** To the hour. */
   HOUR {
     public DateTime.Property getProperty(DateTime dateTime) {
       return dateTime.hourOfDay();
     }
+    long roundFloorUtc(long millis) {
+      return millis - Math.floorMod(millis, 3600000L);
+    }
+    long nextUtc(long floor) {
+      return floor + 3600000L;
+    }
   },
   /** To the day. */
   DAY {
     public DateTime.Property getProperty(DateTime dateTime) {
       return dateTime.dayOfMonth();
     }
+    long roundFloorUtc(long millis) {
+      return millis - Math.floorMod(millis, CivilCalendar.MILLIS_PER_DAY);
+    }
+    long nextUtc(long floor) {
+      return floor + CivilCalendar.MILLIS_PER_DAY;
+    }
   },
   /** To the month. */
   MONTH {
     public DateTime.Property getProperty(DateTime dateTime) {
       return dateTime.monthOfYear();
     }
+    long roundFloorUtc(long millis) {
+      int ymd = CivilCalendar.fromEpochMillis(millis);
+      return dayMillis(CivilCalendar.year(ymd), CivilCalendar.month(ymd));
+    }
+    long nextUtc(long floor) {
+      int ymd = CivilCalendar.fromEpochMillis(floor);
+      int month = CivilCalendar.month(ymd);
+      return month == 12
+        ? dayMillis(CivilCalendar.year(ymd) + 1, 1)
+        : dayMillis(CivilCalendar.year(ymd), month + 1);
+    }
   },
   /** To the year. */
   YEAR {
     public DateTime.Property getProperty(DateTime dateTime) {
       return dateTime.yearOfCentury();
     }
+    long roundFloorUtc(long millis) {
+      return dayMillis(CivilCalendar.year(CivilCalendar.fromEpochMillis(millis)), 1);
+    }
+    long nextUtc(long floor) {
+      return dayMillis(CivilCalendar.year(CivilCalendar.fromEpochMillis(floor)) + 1, 1);
+    }
   },
   /** To the century. */
   CENTURY {
     public DateTime.Property getProperty(DateTime dateTime) {
       return dateTime.centuryOfEra();
     }
+    long roundFloorUtc(long millis) {
+      return dayMillis(CivilCalendar.year(CivilCalendar.fromEpochMillis(millis)) / 100 * 100, 1);
+    }
+    long nextUtc(long floor) {
+      return dayMillis(CivilCalendar.year(CivilCalendar.fromEpochMillis(floor)) + 100, 1);
+    }
   };
 
 
@@ -92,6 +149,30 @@ public enum DateTimeFields {
    */
   public abstract DateTime.Property getProperty(DateTime dateTime);
 
+  /*
+   * UTC fast path used by the rounding methods.  roundFloorUtc() rounds
+   * epoch millis down and nextUtc() adds one unit to a rounded value,
+   * both with CivilCalendar instead of chronology field lookups.
+   */
+  abstract long roundFloorUtc(long millis);
+  abstract long nextUtc(long floor);
+
+  private static final long MIN_FAST_MILLIS = CivilCalendar.toEpochDay(1, 1, 1) * CivilCalendar.MILLIS_PER_DAY;
+  //Past the last packable year the packed year would wrap.
+  private static final long MAX_FAST_MILLIS =
+    CivilCalendar.toEpochDay(CivilCalendar.MAX_PACKED_YEAR + 1, 1, 1) * CivilCalendar.MILLIS_PER_DAY;
+
+  private static boolean isFast(DateTime dateTime) {
+    long millis = dateTime.getMillis();
+    return dateTime.getChronology() == ISOChronology.getInstanceUTC()
+      && millis >= MIN_FAST_MILLIS
+      && millis < MAX_FAST_MILLIS;
+  }
+
+  private static long dayMillis(int year, int month) {
+    return CivilCalendar.toEpochDay(year, month, 1) * CivilCalendar.MILLIS_PER_DAY;
+  }
+
 
 
 
@@ -168,10 +249,13 @@ public enum DateTimeFields {
    * @return a rounded <code>DateTime</code>
    */
   public DateTime roundFloor(DateTime dateTime) {
+    if (isFast(dateTime)) {
+      return new DateTime(roundFloorUtc(dateTime.getMillis()), dateTime.getChronology());
+    }
     return getProperty(dateTime).roundFloorCopy();
   }
   public String roundFloorString(DateTime dateTime) {
-    return roundFloorString(DateTimes.getFormatter(), dateTime);
+    return DateTimes.printBasicCached(roundFloor(dateTime));
   }
   public String roundFloorString(DateTimeFormatter dateTimeFormatter,
                                  DateTime dateTime) {
@@ -198,7 +282,7 @@ public enum DateTimeFields {
   }
   public String roundFloorAddString(DateTime dateTime,
                                     int i) {
-    return roundFloorAddString(DateTimes.getFormatter(), dateTime, i);
+    return DateTimes.printBasicCached(roundFloorAdd(dateTime, i));
   }
 
   public String roundFloorAddString(DateTimeFormatter dateTimeFormatter,
@@ -218,10 +302,15 @@ public enum DateTimeFields {
    * @return a rounded <code>DateTime</code>
    */
   public DateTime roundCeiling(DateTime dateTime) {
+    if (isFast(dateTime)) {
+      long millis = dateTime.getMillis();
+      long floor = roundFloorUtc(millis);
+      return floor == millis ? dateTime : new DateTime(nextUtc(floor), dateTime.getChronology());
+    }
     return getProperty(dateTime).roundCeilingCopy();
   }
   public String roundCeilingString(DateTime dateTime) {
-    return roundCeilingString(DateTimes.getFormatter(), dateTime);
+    return DateTimes.printBasicCached(roundCeiling(dateTime));
   }
   public String roundCeilingString(DateTimeFormatter dateTimeFormatter,
                                    DateTime dateTime) {
@@ -243,7 +332,7 @@ public enum DateTimeFields {
   }
   public String roundCeilingAddString(DateTime dateTime,
                                       int i) {
-    return roundCeilingAddString(DateTimes.getFormatter(), dateTime, i);
+    return DateTimes.printBasicCached(roundCeilingAdd(dateTime, i));
   }
   public String roundCeilingAddString(DateTimeFormatter dateTimeFormatter,
                                       DateTime dateTime,
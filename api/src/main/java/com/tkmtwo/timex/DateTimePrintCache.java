@@ -0,0 +1,170 @@
+/*
+ *
+ * Copyright 2014 Tom Mahaffey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.tkmtwo.timex;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.joda.time.ReadableInstant;
+
+
+
+
+/**
+ *
+ * A cache of ISO basic or extended Strings keyed by epoch second.
+ * <p>
+ *
+ * Neither format prints milliseconds, so every instant within the
+ * same second renders the same String.  The cache is direct mapped: the
+ * epoch second picks exactly one slot, and a slot holding a different
+ * second is simply overwritten.
+ * <p>
+ *
+ * Slots are read and written without locks.  Entries are immutable and
+ * only have final fields, so a thread either sees a complete entry or
+ * an older one (and then misses).  Hit and miss counts are kept so the
+ * size can be tuned.
+ *
+ *
+ * @author Tom Mahaffey
+ *
+ */
+public final class DateTimePrintCache {
+
+  private final boolean extended;
+  private final Entry[] entries;
+  private final int mask;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+
+  private DateTimePrintCache(boolean extended, int size) {
+    checkArgument(size > 0 && Integer.bitCount(size) == 1, "Size must be a positive power of two.");
+    this.extended = extended;
+    this.entries = new Entry[size];
+    this.mask = size - 1;
+  }
+
+
+  /**
+   * Creates a cache of ISO basic Strings (yyyyMMdd'T'HHmmssZ).
+   *
+   * @param size an int number of slots, a power of two
+   * @return a DateTimePrintCache value
+   */
+  public static DateTimePrintCache basic(int size) {
+    return new DateTimePrintCache(false, size);
+  }
+
+  /**
+   * Creates a cache of ISO extended Strings (yyyy-MM-dd'T'HH:mm:ssZ).
+   *
+   * @param size an int number of slots, a power of two
+   * @return a DateTimePrintCache value
+   */
+  public static DateTimePrintCache extended(int size) {
+    return new DateTimePrintCache(true, size);
+  }
+
+
+  /**
+   * Gets the number of slots.
+   *
+   * @return an int value
+   */
+  public int getSize() { return entries.length; }
+
+  /**
+   * Gets the number of prints answered from the cache.
+   *
+   * @return a long value
+   */
+  public long getHits() { return hits.sum(); }
+
+  /**
+   * Gets the number of prints which had to be rendered.
+   *
+   * @return a long value
+   */
+  public long getMisses() { return misses.sum(); }
+
+  /**
+   * Resets the hit and miss counts.
+   */
+  public void resetCounts() {
+    hits.reset();
+    misses.reset();
+  }
+
+
+
+  /**
+   * Prints an instant, returning "" for null like DateTimes.printBasic().
+   *
+   * @param ri a ReadableInstant value
+   * @return a String value
+   */
+  public String print(ReadableInstant ri) {
+    if (ri == null) { return ""; }
+    return print(ri.getMillis());
+  }
+
+  /**
+   * Prints epoch milliseconds.
+   *
+   * @param millis a long value of milliseconds since the epoch
+   * @return a String value
+   */
+  public String print(long millis) {
+    long secs = Math.floorDiv(millis, 1000L);
+    int slot = (int) secs & mask;
+
+    Entry entry = entries[slot];
+    if (entry != null && entry.secs == secs) {
+      hits.increment();
+      return entry.text;
+    }
+
+    misses.increment();
+    String text = extended
+      ? DateTimes.printExtended(secs * 1000L)
+      : DateTimes.printBasic(secs * 1000L);
+    entries[slot] = new Entry(secs, text);
+    return text;
+  }
+
+
+
+
+  /*
+   * An immutable slot value.
+   */
+  private static final class Entry {
+    private final long secs;
+    private final String text;
+
+    Entry(long secs, String text) {
+      this.secs = secs;
+      this.text = text;
+    }
+  }
+
+}
@@ -0,0 +1,390 @@
+/*
+ *
+ * Copyright 2014 Tom Mahaffey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.tkmtwo.timex;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.LongConsumer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+
+
+
+/**
+ *
+ * Finds ISO basic timestamps (yyyyMMdd'T'HHmmss'Z') embedded in text.
+ * <p>
+ *
+ * This is a hand-rolled equivalent of running
+ * DateTimes.BASIC_DATETIME_NOMILLIS_PATTERN through a Matcher and
+ * parsing each match.  Text is walked once, counting runs of digits;
+ * only a 'T' that follows at least eight digits triggers a look at the
+ * next seven characters.  Matches are reported as epoch seconds.
+ * <p>
+ *
+ * Because a match can never overlap another, the matches found are
+ * exactly those Matcher.find() would return.  A match with impossible
+ * field values (a 13th month, say) is an IllegalArgumentException just
+ * as it is for DateTimes.parseBasic(String).
+ * <p>
+ *
+ * Files are scanned without copying them onto the heap: the file is
+ * split into chunks that end on line boundaries, each chunk is memory
+ * mapped and scanned as ASCII bytes on a ForkJoinPool, and the
+ * per-chunk results are handed to the consumer in file order.
+ *
+ *
+ * @author Tom Mahaffey
+ *
+ */
+public final class DateTimeScanner {
+
+  /** Returned by scanLast when no timestamp is found. */
+  public static final long NOT_FOUND = Long.MIN_VALUE;
+
+  /** Nominal size of the chunks a file is split into for scanning. */
+  public static final int DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+
+  private static final int DATE_DIGITS = 8;
+  private static final int TOKEN_LENGTH = 16;
+  private static final int NEWLINE_WINDOW = 64 * 1024;
+
+
+  /**
+   * Scan text for basic timestamps, handing the epoch seconds of each
+   * to a consumer in the order found.
+   *
+   * @param cs a CharSequence value
+   * @param consumer a LongConsumer value receiving epoch seconds
+   * @return an int number of timestamps found
+   */
+  public static int scan(CharSequence cs, LongConsumer consumer) {
+    checkNotNull(cs, "Need a CharSequence.");
+    checkNotNull(consumer, "Need a consumer.");
+
+    int found = 0;
+    int digitRun = 0;
+    int limit = cs.length() - (TOKEN_LENGTH - DATE_DIGITS);
+    for (int i = 0; i < cs.length(); i++) {
+      char c = cs.charAt(i);
+      if (c >= '0' && c <= '9') {
+        digitRun++;
+        continue;
+      }
+      if (c == 'T' && digitRun >= DATE_DIGITS && i <= limit && isTimeTail(cs, i)) {
+        consumer.accept(toSecs(cs, i - DATE_DIGITS));
+        found++;
+        i += TOKEN_LENGTH - DATE_DIGITS - 1;
+      }
+      digitRun = 0;
+    }
+    return found;
+  }
+
+
+  /**
+   * Scan text for basic timestamps, storing epoch seconds into an array.
+   * <p>
+   *
+   * Scanning continues past the end of the array so the return value
+   * is always the total number of timestamps in the text; only the first
+   * dst.length - off of them are stored.
+   *
+   * @param cs a CharSequence value
+   * @param dst a long[] receiving epoch seconds
+   * @param off an int offset of the first element to write
+   * @return an int number of timestamps found
+   */
+  public static int scan(CharSequence cs, final long[] dst, final int off) {
+    checkNotNull(dst, "Need a destination.");
+    checkArgument(off >= 0 && off <= dst.length, "Offset is out of bounds.");
+
+    return scan(cs, new LongConsumer() {
+        private int i = off;
+        @Override
+        public void accept(long secs) {
+          if (i < dst.length) { dst[i] = secs; }
+          i++;
+        }
+      });
+  }
+
+
+  /**
+   * Find the epoch seconds of the last basic timestamp in text.
+   * <p>
+   *
+   * Scans backwards from the end and stops at the first match, so
+   * earlier timestamps are never examined.
+   *
+   * @param cs a CharSequence value
+   * @return a long value of epoch seconds, or NOT_FOUND
+   */
+  public static long scanLast(CharSequence cs) {
+    checkNotNull(cs, "Need a CharSequence.");
+
+    for (int i = cs.length() - 1; i >= TOKEN_LENGTH - 1; i--) {
+      if (cs.charAt(i) != 'Z') { continue; }
+      int t = i - (TOKEN_LENGTH - DATE_DIGITS - 1);
+      if (cs.charAt(t) == 'T' && isTimeTail(cs, t) && isDigits(cs, t - DATE_DIGITS, DATE_DIGITS)) {
+        return toSecs(cs, t - DATE_DIGITS);
+      }
+    }
+    return NOT_FOUND;
+  }
+
+
+
+
+  /**
+   * Scan the ASCII bytes of a ByteBuffer between its position and limit
+   * for basic timestamps.  The buffer's position is not changed.
+   *
+   * @param bytes a ByteBuffer value
+   * @param consumer a LongConsumer value receiving epoch seconds
+   * @return an int number of timestamps found
+   */
+  public static int scan(ByteBuffer bytes, LongConsumer consumer) {
+    checkNotNull(bytes, "Need a ByteBuffer.");
+    checkNotNull(consumer, "Need a consumer.");
+
+    int found = 0;
+    int digitRun = 0;
+    int end = bytes.limit();
+    int limit = end - (TOKEN_LENGTH - DATE_DIGITS);
+    for (int i = bytes.position(); i < end; i++) {
+      byte b = bytes.get(i);
+      if (b >= '0' && b <= '9') {
+        digitRun++;
+        continue;
+      }
+      if (b == 'T' && digitRun >= DATE_DIGITS && i <= limit && isTimeTail(bytes, i)) {
+        consumer.accept(toSecs(bytes, i - DATE_DIGITS));
+        found++;
+        i += TOKEN_LENGTH - DATE_DIGITS - 1;
+      }
+      digitRun = 0;
+    }
+    return found;
+  }
+
+
+  /**
+   * Scan a file for basic timestamps using the common ForkJoinPool.
+   *
+   * @param path a Path value
+   * @param consumer a LongConsumer value receiving epoch seconds
+   * @return a long number of timestamps found
+   * @throws IOException if the file can not be read
+   * @see #scan(Path, LongConsumer, ForkJoinPool, int)
+   */
+  public static long scan(Path path, LongConsumer consumer)
+    throws IOException {
+    return scan(path, consumer, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * Scan a file for basic timestamps.
+   * <p>
+   *
+   * The file is split into chunks of roughly chunkSize bytes, each
+   * extended to the end of its last line so no timestamp straddles two
+   * chunks.  Chunks are memory mapped and scanned in parallel on the
+   * pool.  The consumer is only ever called from the calling thread,
+   * in file order, as each chunk's results become available.
+   *
+   * @param path a Path value
+   * @param consumer a LongConsumer value receiving epoch seconds
+   * @param pool a ForkJoinPool to scan chunks on
+   * @param chunkSize an int nominal number of bytes per chunk
+   * @return a long number of timestamps found
+   * @throws IOException if the file can not be read
+   */
+  public static long scan(Path path, LongConsumer consumer, ForkJoinPool pool, int chunkSize)
+    throws IOException {
+    checkNotNull(path, "Need a Path.");
+    checkNotNull(consumer, "Need a consumer.");
+    checkNotNull(pool, "Need a ForkJoinPool.");
+    checkArgument(chunkSize >= TOKEN_LENGTH, "Chunk size must be at least %s.", TOKEN_LENGTH);
+
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      List<ForkJoinTask<SecsList>> tasks = new ArrayList<ForkJoinTask<SecsList>>();
+      long size = channel.size();
+      long start = 0L;
+      while (start < size) {
+        long end = chunkEnd(channel, start, chunkSize, size);
+        tasks.add(pool.submit(new ChunkScan(channel, start, end - start)));
+        start = end;
+      }
+
+      long found = 0L;
+      for (ForkJoinTask<SecsList> task : tasks) {
+        SecsList secs = join(task);
+        for (int i = 0; i < secs.size; i++) {
+          consumer.accept(secs.secs[i]);
+        }
+        found += secs.size;
+      }
+      return found;
+    }
+  }
+
+
+  /*
+   * The end of the chunk starting at start: just past the first
+   * newline at or after start + chunkSize - 1, or the end of the file.
+   */
+  private static long chunkEnd(FileChannel channel, long start, int chunkSize, long size)
+    throws IOException {
+    long pos = start + chunkSize - 1;
+    while (pos < size) {
+      int len = (int) Math.min(NEWLINE_WINDOW, size - pos);
+      MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, pos, len);
+      for (int i = 0; i < len; i++) {
+        if (window.get(i) == '\n') {
+          return checkChunk(start, pos + i + 1);
+        }
+      }
+      pos += len;
+    }
+    return checkChunk(start, size);
+  }
+
+  private static long checkChunk(long start, long end)
+    throws IOException {
+    if (end - start > Integer.MAX_VALUE) {
+      throw new IOException("Line starting near byte " + start + " is too long to map.");
+    }
+    return end;
+  }
+
+  private static SecsList join(ForkJoinTask<SecsList> task)
+    throws IOException {
+    try {
+      return task.get();
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while scanning.", ie);
+    } catch (ExecutionException ee) {
+      Throwable cause = ee.getCause();
+      if (cause instanceof IOException) { throw (IOException) cause; }
+      if (cause instanceof RuntimeException) { throw (RuntimeException) cause; }
+      throw new IOException("Scan failed.", cause);
+    }
+  }
+
+
+  /*
+   * Maps and scans one chunk of a file.
+   */
+  private static final class ChunkScan
+    implements Callable<SecsList> {
+    private final FileChannel channel;
+    private final long position;
+    private final long length;
+
+    ChunkScan(FileChannel channel, long position, long length) {
+      this.channel = channel;
+      this.position = position;
+      this.length = length;
+    }
+
+    @Override
+    public SecsList call()
+      throws IOException {
+      SecsList secs = new SecsList();
+      scan(channel.map(FileChannel.MapMode.READ_ONLY, position, length), secs);
+      return secs;
+    }
+  }
+
+  /*
+   * A growable list of primitive epoch seconds.
+   */
+  private static final class SecsList
+    implements LongConsumer {
+    private long[] secs = new long[16];
+    private int size;
+
+    @Override
+    public void accept(long l) {
+      if (size == secs.length) {
+        secs = Arrays.copyOf(secs, size * 2);
+      }
+      secs[size++] = l;
+    }
+  }
+
+
+
+
+  /*
+   * Whether the six characters after the 'T' at t are digits
+   * followed by a 'Z'.
+   */
+  private static boolean isTimeTail(CharSequence cs, int t) {
+    return isDigits(cs, t + 1, 6) && cs.charAt(t + 7) == 'Z';
+  }
+
+  private static boolean isDigits(CharSequence cs, int off, int n) {
+    for (int i = off; i < off + n; i++) {
+      char c = cs.charAt(i);
+      if (c < '0' || c > '9') { return false; }
+    }
+    return true;
+  }
+
+  private static long toSecs(CharSequence cs, int off) {
+    return DateTimes.parseBasicMillis(cs, off, TOKEN_LENGTH) / 1000L;
+  }
+
+  private static boolean isTimeTail(ByteBuffer bytes, int t) {
+    for (int i = t + 1; i < t + 7; i++) {
+      byte b = bytes.get(i);
+      if (b < '0' || b > '9') { return false; }
+    }
+    return bytes.get(t + 7) == 'Z';
+  }
+
+  private static long toSecs(ByteBuffer bytes, int off) {
+    long millis = DateTimes.tryParseBasicMillis(bytes, off);
+    if (millis == DateTimes.INVALID_MILLIS) {
+      byte[] token = new byte[TOKEN_LENGTH];
+      for (int i = 0; i < TOKEN_LENGTH; i++) {
+        token[i] = bytes.get(off + i);
+      }
+      return DateTimes.parseBasicMillis(token, 0, TOKEN_LENGTH) / 1000L;
+    }
+    return millis / 1000L;
+  }
+
+}
@@ -18,15 +18,34 @@
 
 package com.tkmtwo.timex;
 
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import org.joda.time.Chronology;
 import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
 import org.joda.time.Duration;
 import org.joda.time.Interval;
 import org.joda.time.Period;
@@ -58,10 +77,40 @@ public final class DateTimes {
   public static final Pattern BASIC_DATETIME_NOMILLIS_PATTERN =
     Pattern.compile(BASIC_DATETIME_NOMILLIS_SPEC);
 
+  /** Returned by the non-throwing parsers when the input does not match. */
+  static final long INVALID_MILLIS = Long.MIN_VALUE;
+
+  private static final int BASIC_LENGTH = 16;
+  private static final int EXTENDED_LENGTH = 20;
+  private static final int MAX_BASIC_YEAR = 9999;
+
+  private static final long MILLIS_PER_SECOND = 1000L;
+  private static final long SECONDS_PER_DAY = 86400L;
+  private static final long MILLIS_PER_DAY = SECONDS_PER_DAY * MILLIS_PER_SECOND;
+
+  private static final char[] DIGIT_TENS = new char[100];
+  private static final char[] DIGIT_ONES = new char[100];
+  static {
+    for (int i = 0; i < 100; i++) {
+      DIGIT_TENS[i] = (char) ('0' + i / 10);
+      DIGIT_ONES[i] = (char) ('0' + i % 10);
+    }
+  }
+
+  private static final long MIN_PRINT_DAY = CivilCalendar.toEpochDay(0, 1, 1);
+  private static final long MAX_PRINT_DAY = CivilCalendar.toEpochDay(MAX_BASIC_YEAR, 12, 31);
+
   public static DateTimeFormatter getFormatter() { return DTF_BASIC; }
   public static DateTimeFormatter getBasicFormatter() { return DTF_BASIC; }
   public static DateTimeFormatter getExtendedFormatter() { return DTF_EXTENDED; }
 
+  private static final int PRINT_CACHE_SIZE = 1024;
+  private static final DateTimePrintCache BASIC_CACHE = DateTimePrintCache.basic(PRINT_CACHE_SIZE);
+  private static final DateTimePrintCache EXTENDED_CACHE = DateTimePrintCache.extended(PRINT_CACHE_SIZE);
+
+  public static DateTimePrintCache getBasicPrintCache() { return BASIC_CACHE; }
+  public static DateTimePrintCache getExtendedPrintCache() { return EXTENDED_CACHE; }
+
 
   /*
    * Return current DateTime without any milliseconds.
@@ -112,7 +161,127 @@ public final class DateTimes {
   public static String printBasic(ReadableInstant ri) {
     //checkNotNull(ri, "Input instant is null.");
     if (ri == null) { return ""; }
-    return DTF_BASIC.print(ri);
+    return printBasic(ri.getMillis());
+  }
+
+
+  /**
+   * Print epoch milliseconds in ISO basic format with no milliseconds
+   * in the UTC time zone (yyyyMMdd'T'HHmmssZ).
+   *
+   * @param millis a long value of milliseconds since the epoch
+   * @return a String value
+   * @see #printBasic(ReadableInstant)
+   */
+  public static String printBasic(long millis) {
+    if (!isFastPrintable(millis)) { return DTF_BASIC.print(millis); }
+    char[] chars = new char[BASIC_LENGTH];
+    printBasicTo(millis, chars, 0);
+    return new String(chars);
+  }
+
+  /**
+   * Print epoch milliseconds in ISO basic format into a char array.
+   * <p>
+   *
+   * Years 0000 through 9999 are written with precomputed digit tables
+   * and no allocation.  Other years fall back to the JodaTime printer.
+   *
+   * @param millis a long value of milliseconds since the epoch
+   * @param dst a char[] with room for at least 16 characters at off
+   * @param off an int offset of the first character to write
+   * @return an int offset just past the last character written
+   */
+  public static int printBasicTo(long millis, char[] dst, int off) {
+    checkNotNull(dst, "Need a destination.");
+    return printTo(millis, false, dst, off);
+  }
+
+  /**
+   * Print epoch milliseconds in ISO basic format into an ASCII byte array.
+   *
+   * @param millis a long value of milliseconds since the epoch
+   * @param dst a byte[] with room for at least 16 bytes at off
+   * @param off an int offset of the first byte to write
+   * @return an int offset just past the last byte written
+   * @see #printBasicTo(long, char[], int)
+   */
+  public static int printBasicTo(long millis, byte[] dst, int off) {
+    checkNotNull(dst, "Need a destination.");
+    return printTo(millis, false, dst, off);
+  }
+
+  /**
+   * Print epoch milliseconds in ISO basic format as ASCII bytes at
+   * the position of a ByteBuffer, advancing the position.
+   *
+   * @param millis a long value of milliseconds since the epoch
+   * @param dst a ByteBuffer value
+   * @return the ByteBuffer
+   * @throws BufferOverflowException if the output does not fit
+   *         between the position and the limit
+   * @see #printBasicTo(long, char[], int)
+   */
+  public static ByteBuffer printBasicTo(long millis, ByteBuffer dst) {
+    checkNotNull(dst, "Need a destination.");
+    return printTo(millis, false, dst);
+  }
+
+  /**
+   * Append epoch milliseconds in ISO basic format to a StringBuilder.
+   *
+   * @param millis a long value of milliseconds since the epoch
+   * @param sb a StringBuilder value
+   * @return the StringBuilder
+   * @see #printBasicTo(long, char[], int)
+   */
+  public static StringBuilder printBasicTo(long millis, StringBuilder sb) {
+    checkNotNull(sb, "Need a StringBuilder.");
+    return printTo(millis, false, sb);
+  }
+
+  /**
+   * Append epoch milliseconds in ISO basic format to an Appendable.
+   *
+   * @param millis a long value of milliseconds since the epoch
+   * @param a an Appendable value
+   * @return the Appendable
+   * @throws IOException if the Appendable does
+   * @see #printBasicTo(long, char[], int)
+   */
+  public static Appendable printBasicTo(long millis, Appendable a)
+    throws IOException {
+    checkNotNull(a, "Need an Appendable.");
+    return printTo(millis, false, a);
+  }
+
+
+  /**
+   * Print the DateTime in ISO basic format through the shared
+   * per-second cache.
+   * <p>
+   *
+   * Output is identical to printBasic(ReadableInstant); repeated prints
+   * within the same second return the same String instance.
+   *
+   * @param ri a ReadableInstant value
+   * @return a String value
+   * @see #getBasicPrintCache()
+   */
+  public static String printBasicCached(ReadableInstant ri) {
+    return BASIC_CACHE.print(ri);
+  }
+
+  /**
+   * Print epoch milliseconds in ISO basic format through the shared
+   * per-second cache.
+   *
+   * @param millis a long value of milliseconds since the epoch
+   * @return a String value
+   * @see #printBasicCached(ReadableInstant)
+   */
+  public static String printBasicCached(long millis) {
+    return BASIC_CACHE.print(millis);
   }
 
 
@@ -125,7 +294,200 @@ public final class DateTimes {
    */
   public static DateTime parseBasic(String s) {
     checkNotNull(s, "Input string is null.");
-    return DTF_BASIC.parseDateTime(s);
+    return new DateTime(parseBasicMillis(s), DateTimeZone.UTC);
+  }
+
+
+  /**
+   * Parse epoch milliseconds from the ISO basic format with no milliseconds
+   * in the UTC time zone (yyyyMMdd'T'HHmmss'Z').
+   * <p>
+   *
+   * Accepts exactly what BASIC_DATETIME_NOMILLIS_PATTERN matches, with
+   * calendar-valid field values.  No objects are created unless the
+   * input is invalid.
+   *
+   * @param cs a CharSequence value
+   * @return a long value of milliseconds since the epoch
+   */
+  public static long parseBasicMillis(CharSequence cs) {
+    checkNotNull(cs, "Input string is null.");
+    return parseBasicMillis(cs, 0, cs.length());
+  }
+
+  /**
+   * Parse epoch milliseconds from a range of a CharSequence in the
+   * ISO basic format (yyyyMMdd'T'HHmmss'Z').
+   *
+   * @param cs a CharSequence value
+   * @param off an int offset of the first character
+   * @param len an int number of characters
+   * @return a long value of milliseconds since the epoch
+   * @see #parseBasicMillis(CharSequence)
+   */
+  public static long parseBasicMillis(CharSequence cs, int off, int len) {
+    checkNotNull(cs, "Input string is null.");
+    long millis = tryParseBasicMillis(cs, off, len);
+    if (millis == INVALID_MILLIS) {
+      throw invalidBasic(cs.subSequence(off, off + len).toString());
+    }
+    return millis;
+  }
+
+  /**
+   * Parse epoch milliseconds from a range of a char array in the
+   * ISO basic format (yyyyMMdd'T'HHmmss'Z').
+   *
+   * @param chars a char[] value
+   * @param off an int offset of the first character
+   * @param len an int number of characters
+   * @return a long value of milliseconds since the epoch
+   * @see #parseBasicMillis(CharSequence)
+   */
+  public static long parseBasicMillis(char[] chars, int off, int len) {
+    checkNotNull(chars, "Input chars are null.");
+    long millis = tryParseBasicMillis(chars, off, len);
+    if (millis == INVALID_MILLIS) {
+      throw invalidBasic(new String(chars, off, len));
+    }
+    return millis;
+  }
+
+  /**
+   * Parse epoch milliseconds from a range of an ASCII byte array in the
+   * ISO basic format (yyyyMMdd'T'HHmmss'Z').
+   *
+   * @param bytes a byte[] value
+   * @param off an int offset of the first byte
+   * @param len an int number of bytes
+   * @return a long value of milliseconds since the epoch
+   * @see #parseBasicMillis(CharSequence)
+   */
+  public static long parseBasicMillis(byte[] bytes, int off, int len) {
+    checkNotNull(bytes, "Input bytes are null.");
+    long millis = tryParseBasicMillis(bytes, off, len);
+    if (millis == INVALID_MILLIS) {
+      throw invalidBasic(new String(bytes, off, len, StandardCharsets.US_ASCII));
+    }
+    return millis;
+  }
+
+
+  static long tryParseBasicMillis(CharSequence cs, int off, int len) {
+    if (len != BASIC_LENGTH
+        || cs.charAt(off + 8) != 'T'
+        || cs.charAt(off + 15) != 'Z') {
+      return INVALID_MILLIS;
+    }
+    return basicMillis(digits(cs, off, 4),
+                       digits(cs, off + 4, 2),
+                       digits(cs, off + 6, 2),
+                       digits(cs, off + 9, 2),
+                       digits(cs, off + 11, 2),
+                       digits(cs, off + 13, 2));
+  }
+
+  static long tryParseBasicMillis(char[] chars, int off, int len) {
+    if (len != BASIC_LENGTH
+        || chars[off + 8] != 'T'
+        || chars[off + 15] != 'Z') {
+      return INVALID_MILLIS;
+    }
+    return basicMillis(digits(chars, off, 4),
+                       digits(chars, off + 4, 2),
+                       digits(chars, off + 6, 2),
+                       digits(chars, off + 9, 2),
+                       digits(chars, off + 11, 2),
+                       digits(chars, off + 13, 2));
+  }
+
+  static long tryParseBasicMillis(byte[] bytes, int off, int len) {
+    if (len != BASIC_LENGTH
+        || bytes[off + 8] != 'T'
+        || bytes[off + 15] != 'Z') {
+      return INVALID_MILLIS;
+    }
+    return basicMillis(digits(bytes, off, 4),
+                       digits(bytes, off + 4, 2),
+                       digits(bytes, off + 6, 2),
+                       digits(bytes, off + 9, 2),
+                       digits(bytes, off + 11, 2),
+                       digits(bytes, off + 13, 2));
+  }
+
+
+  static long tryParseBasicMillis(ByteBuffer bytes, int off) {
+    if (bytes.get(off + 8) != 'T'
+        || bytes.get(off + 15) != 'Z') {
+      return INVALID_MILLIS;
+    }
+    return basicMillis(digits(bytes, off, 4),
+                       digits(bytes, off + 4, 2),
+                       digits(bytes, off + 6, 2),
+                       digits(bytes, off + 9, 2),
+                       digits(bytes, off + 11, 2),
+                       digits(bytes, off + 13, 2));
+  }
+
+
+  private static IllegalArgumentException invalidBasic(String s) {
+    return new IllegalArgumentException("Invalid basic format: '" + s + "'.");
+  }
+
+  /*
+   * Accumulate n decimal digits, returning -1 on any non-digit.
+   */
+  private static int digits(CharSequence cs, int off, int n) {
+    int v = 0;
+    for (int i = off; i < off + n; i++) {
+      int d = cs.charAt(i) - '0';
+      if (d < 0 || d > 9) { return -1; }
+      v = v * 10 + d;
+    }
+    return v;
+  }
+  private static int digits(char[] chars, int off, int n) {
+    int v = 0;
+    for (int i = off; i < off + n; i++) {
+      int d = chars[i] - '0';
+      if (d < 0 || d > 9) { return -1; }
+      v = v * 10 + d;
+    }
+    return v;
+  }
+  private static int digits(byte[] bytes, int off, int n) {
+    int v = 0;
+    for (int i = off; i < off + n; i++) {
+      int d = bytes[i] - '0';
+      if (d < 0 || d > 9) { return -1; }
+      v = v * 10 + d;
+    }
+    return v;
+  }
+  private static int digits(ByteBuffer bytes, int off, int n) {
+    int v = 0;
+    for (int i = off; i < off + n; i++) {
+      int d = bytes.get(i) - '0';
+      if (d < 0 || d > 9) { return -1; }
+      v = v * 10 + d;
+    }
+    return v;
+  }
+
+
+  /*
+   * Validate the fields and combine them into epoch millis using
+   * the cached year and month start tables in CivilCalendar.
+   */
+  private static long basicMillis(int year, int month, int day,
+                                  int hour, int minute, int second) {
+    if (year < 0 || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59
+        || !CivilCalendar.isValidDate(year, month, day)) {
+      return INVALID_MILLIS;
+    }
+    long secs = CivilCalendar.toEpochDay(year, month, day) * SECONDS_PER_DAY
+      + hour * 3600 + minute * 60 + second;
+    return secs * MILLIS_PER_SECOND;
   }
 
 
@@ -145,12 +507,289 @@ public final class DateTimes {
   public static String printExtended(ReadableInstant ri) {
     //checkNotNull(ri, "Input instant is null.");
     if (ri == null) { return ""; }
-    return DTF_EXTENDED.print(ri);
+    return printExtended(ri.getMillis());
+  }
+
+
+  /**
+   * Print epoch milliseconds in ISO extended format with no milliseconds
+   * in the UTC time zone (yyyy-MM-dd'T'HH:mm:ssZ).
+   *
+   * @param millis a long value of milliseconds since the epoch
+   * @return a String value
+   * @see #printExtended(ReadableInstant)
+   */
+  public static String printExtended(long millis) {
+    if (!isFastPrintable(millis)) { return DTF_EXTENDED.print(millis); }
+    char[] chars = new char[EXTENDED_LENGTH];
+    printExtendedTo(millis, chars, 0);
+    return new String(chars);
+  }
+
+  /**
+   * Print epoch milliseconds in ISO extended format into a char array.
+   *
+   * @param millis a long value of milliseconds since the epoch
+   * @param dst a char[] with room for at least 20 characters at off
+   * @param off an int offset of the first character to write
+   * @return an int offset just past the last character written
+   * @see #printBasicTo(long, char[], int)
+   */
+  public static int printExtendedTo(long millis, char[] dst, int off) {
+    checkNotNull(dst, "Need a destination.");
+    return printTo(millis, true, dst, off);
+  }
+
+  /**
+   * Print epoch milliseconds in ISO extended format into an ASCII byte array.
+   *
+   * @param millis a long value of milliseconds since the epoch
+   * @param dst a byte[] with room for at least 20 bytes at off
+   * @param off an int offset of the first byte to write
+   * @return an int offset just past the last byte written
+   * @see #printBasicTo(long, char[], int)
+   */
+  public static int printExtendedTo(long millis, byte[] dst, int off) {
+    checkNotNull(dst, "Need a destination.");
+    return printTo(millis, true, dst, off);
+  }
+
+  /**
+   * Print epoch milliseconds in ISO extended format as ASCII bytes at
+   * the position of a ByteBuffer, advancing the position.
+   *
+   * @param millis a long value of milliseconds since the epoch
+   * @param dst a ByteBuffer value
+   * @return the ByteBuffer
+   * @throws BufferOverflowException if the output does not fit
+   *         between the position and the limit
+   * @see #printBasicTo(long, char[], int)
+   */
+  public static ByteBuffer printExtendedTo(long millis, ByteBuffer dst) {
+    checkNotNull(dst, "Need a destination.");
+    return printTo(millis, true, dst);
+  }
+
+  /**
+   * Append epoch milliseconds in ISO extended format to a StringBuilder.
+   *
+   * @param millis a long value of milliseconds since the epoch
+   * @param sb a StringBuilder value
+   * @return the StringBuilder
+   * @see #printBasicTo(long, char[], int)
+   */
+  public static StringBuilder printExtendedTo(long millis, StringBuilder sb) {
+    checkNotNull(sb, "Need a StringBuilder.");
+    return printTo(millis, true, sb);
+  }
+
+  /**
+   * Append epoch milliseconds in ISO extended format to an Appendable.
+   *
+   * @param millis a long value of milliseconds since the epoch
+   * @param a an Appendable value
+   * @return the Appendable
+   * @throws IOException if the Appendable does
+   * @see #printBasicTo(long, char[], int)
+   */
+  public static Appendable printExtendedTo(long millis, Appendable a)
+    throws IOException {
+    checkNotNull(a, "Need an Appendable.");
+    return printTo(millis, true, a);
+  }
+
+
+
+
+  /*
+   * The printers below share one layout:
+   *   yyyy [-] MM [-] dd T HH [:] mm [:] ss Z
+   * with the separators only written in extended format.  Dates outside
+   * of years 0000-9999 are handed to the JodaTime formatters.
+   */
+
+  private static boolean isFastPrintable(long millis) {
+    long epochDay = Math.floorDiv(millis, MILLIS_PER_DAY);
+    return epochDay >= MIN_PRINT_DAY && epochDay <= MAX_PRINT_DAY;
+  }
+
+  private static String printSlow(long millis, boolean extended) {
+    return extended ? DTF_EXTENDED.print(millis) : DTF_BASIC.print(millis);
+  }
+
+  private static int printTo(long millis, boolean extended, char[] dst, int off) {
+    long epochDay = Math.floorDiv(millis, MILLIS_PER_DAY);
+    if (epochDay < MIN_PRINT_DAY || epochDay > MAX_PRINT_DAY) {
+      String s = printSlow(millis, extended);
+      s.getChars(0, s.length(), dst, off);
+      return off + s.length();
+    }
+    int ymd = CivilCalendar.fromEpochDay(epochDay);
+    int sod = (int) ((millis - epochDay * MILLIS_PER_DAY) / MILLIS_PER_SECOND);
+    int year = CivilCalendar.year(ymd);
+
+    int p = off;
+    p = put2(dst, p, year / 100);
+    p = put2(dst, p, year % 100);
+    if (extended) { dst[p++] = '-'; }
+    p = put2(dst, p, CivilCalendar.month(ymd));
+    if (extended) { dst[p++] = '-'; }
+    p = put2(dst, p, CivilCalendar.dayOfMonth(ymd));
+    dst[p++] = 'T';
+    p = put2(dst, p, sod / 3600);
+    if (extended) { dst[p++] = ':'; }
+    p = put2(dst, p, (sod / 60) % 60);
+    if (extended) { dst[p++] = ':'; }
+    p = put2(dst, p, sod % 60);
+    dst[p++] = 'Z';
+    return p;
+  }
+
+  private static int printTo(long millis, boolean extended, byte[] dst, int off) {
+    long epochDay = Math.floorDiv(millis, MILLIS_PER_DAY);
+    if (epochDay < MIN_PRINT_DAY || epochDay > MAX_PRINT_DAY) {
+      byte[] bytes = printSlow(millis, extended).getBytes(StandardCharsets.US_ASCII);
+      System.arraycopy(bytes, 0, dst, off, bytes.length);
+      return off + bytes.length;
+    }
+    int ymd = CivilCalendar.fromEpochDay(epochDay);
+    int sod = (int) ((millis - epochDay * MILLIS_PER_DAY) / MILLIS_PER_SECOND);
+    int year = CivilCalendar.year(ymd);
+
+    int p = off;
+    p = put2(dst, p, year / 100);
+    p = put2(dst, p, year % 100);
+    if (extended) { dst[p++] = '-'; }
+    p = put2(dst, p, CivilCalendar.month(ymd));
+    if (extended) { dst[p++] = '-'; }
+    p = put2(dst, p, CivilCalendar.dayOfMonth(ymd));
+    dst[p++] = 'T';
+    p = put2(dst, p, sod / 3600);
+    if (extended) { dst[p++] = ':'; }
+    p = put2(dst, p, (sod / 60) % 60);
+    if (extended) { dst[p++] = ':'; }
+    p = put2(dst, p, sod % 60);
+    dst[p++] = 'Z';
+    return p;
+  }
+
+  private static ByteBuffer printTo(long millis, boolean extended, ByteBuffer dst) {
+    long epochDay = Math.floorDiv(millis, MILLIS_PER_DAY);
+    if (epochDay < MIN_PRINT_DAY || epochDay > MAX_PRINT_DAY) {
+      return dst.put(printSlow(millis, extended).getBytes(StandardCharsets.US_ASCII));
+    }
+    //Check up front, as put would, so nothing is written past the limit.
+    if (dst.remaining() < (extended ? 20 : 16)) {
+      throw new BufferOverflowException();
+    }
+    if (dst.hasArray()) {
+      int start = dst.arrayOffset() + dst.position();
+      int end = printTo(millis, extended, dst.array(), start);
+      dst.position(dst.position() + end - start);
+      return dst;
+    }
+    int ymd = CivilCalendar.fromEpochDay(epochDay);
+    int sod = (int) ((millis - epochDay * MILLIS_PER_DAY) / MILLIS_PER_SECOND);
+    int year = CivilCalendar.year(ymd);
+
+    put2(dst, year / 100);
+    put2(dst, year % 100);
+    if (extended) { dst.put((byte) '-'); }
+    put2(dst, CivilCalendar.month(ymd));
+    if (extended) { dst.put((byte) '-'); }
+    put2(dst, CivilCalendar.dayOfMonth(ymd));
+    dst.put((byte) 'T');
+    put2(dst, sod / 3600);
+    if (extended) { dst.put((byte) ':'); }
+    put2(dst, (sod / 60) % 60);
+    if (extended) { dst.put((byte) ':'); }
+    put2(dst, sod % 60);
+    return dst.put((byte) 'Z');
+  }
+
+  private static StringBuilder printTo(long millis, boolean extended, StringBuilder sb) {
+    try {
+      printTo(millis, extended, (Appendable) sb);
+    } catch (IOException ioe) {
+      throw new IllegalStateException("StringBuilder should not throw IOException.", ioe);
+    }
+    return sb;
+  }
+
+  private static Appendable printTo(long millis, boolean extended, Appendable a)
+    throws IOException {
+    long epochDay = Math.floorDiv(millis, MILLIS_PER_DAY);
+    if (epochDay < MIN_PRINT_DAY || epochDay > MAX_PRINT_DAY) {
+      return a.append(printSlow(millis, extended));
+    }
+    int ymd = CivilCalendar.fromEpochDay(epochDay);
+    int sod = (int) ((millis - epochDay * MILLIS_PER_DAY) / MILLIS_PER_SECOND);
+    int year = CivilCalendar.year(ymd);
+
+    put2(a, year / 100);
+    put2(a, year % 100);
+    if (extended) { a.append('-'); }
+    put2(a, CivilCalendar.month(ymd));
+    if (extended) { a.append('-'); }
+    put2(a, CivilCalendar.dayOfMonth(ymd));
+    a.append('T');
+    put2(a, sod / 3600);
+    if (extended) { a.append(':'); }
+    put2(a, (sod / 60) % 60);
+    if (extended) { a.append(':'); }
+    put2(a, sod % 60);
+    return a.append('Z');
+  }
+
+  private static int put2(char[] dst, int off, int v) {
+    dst[off] = DIGIT_TENS[v];
+    dst[off + 1] = DIGIT_ONES[v];
+    return off + 2;
+  }
+  private static int put2(byte[] dst, int off, int v) {
+    dst[off] = (byte) DIGIT_TENS[v];
+    dst[off + 1] = (byte) DIGIT_ONES[v];
+    return off + 2;
+  }
+  private static void put2(ByteBuffer dst, int v) {
+    dst.put((byte) DIGIT_TENS[v]);
+    dst.put((byte) DIGIT_ONES[v]);
+  }
+  private static void put2(Appendable a, int v)
+    throws IOException {
+    a.append(DIGIT_TENS[v]);
+    a.append(DIGIT_ONES[v]);
   }
   
   
   
 
+  /**
+   * Print the DateTime in ISO extended format through the shared
+   * per-second cache.
+   *
+   * @param ri a ReadableInstant value
+   * @return a String value
+   * @see #printBasicCached(ReadableInstant)
+   * @see #getExtendedPrintCache()
+   */
+  public static String printExtendedCached(ReadableInstant ri) {
+    return EXTENDED_CACHE.print(ri);
+  }
+
+  /**
+   * Print epoch milliseconds in ISO extended format through the shared
+   * per-second cache.
+   *
+   * @param millis a long value of milliseconds since the epoch
+   * @return a String value
+   * @see #printBasicCached(ReadableInstant)
+   */
+  public static String printExtendedCached(long millis) {
+    return EXTENDED_CACHE.print(millis);
+  }
+
+
   /**
    * Parse the DateTime from the ISO extended format with no milliseconds
    * in the UTC time zone (yyyy-MM-dd'T'HH:mm:ssZ).
@@ -160,7 +799,348 @@ public final class DateTimes {
    */
   public static DateTime parseExtended(String s) {
     checkNotNull(s, "Input string is null.");
-    return DTF_EXTENDED.parseDateTime(s);
+    return new DateTime(parseExtendedMillis(s), DateTimeZone.UTC);
+  }
+
+
+  /**
+   * Parse epoch milliseconds from the ISO extended format
+   * (yyyy-MM-dd'T'HH:mm:ss[.SSSSSSSSS]ZZ).
+   * <p>
+   *
+   * The fast path reads fields at fixed positions, takes an optional
+   * fraction of one to nine digits (truncated to milliseconds) and a
+   * zone of 'Z', '&#177;HH:mm' or '&#177;HHmm', all without creating objects.
+   * Anything else is handed to the JodaTime extended formatter, so
+   * every String accepted before is still accepted.
+   *
+   * @param cs a CharSequence value
+   * @return a long value of milliseconds since the epoch
+   */
+  public static long parseExtendedMillis(CharSequence cs) {
+    checkNotNull(cs, "Input string is null.");
+    return parseExtendedMillis(cs, 0, cs.length());
+  }
+
+  /**
+   * Parse epoch milliseconds from a range of a CharSequence in the
+   * ISO extended format.
+   *
+   * @param cs a CharSequence value
+   * @param off an int offset of the first character
+   * @param len an int number of characters
+   * @return a long value of milliseconds since the epoch
+   * @see #parseExtendedMillis(CharSequence)
+   */
+  public static long parseExtendedMillis(CharSequence cs, int off, int len) {
+    checkNotNull(cs, "Input string is null.");
+    long millis = tryParseExtendedMillis(cs, off, len);
+    if (millis == INVALID_MILLIS) {
+      return DTF_EXTENDED.parseMillis(cs.subSequence(off, off + len).toString());
+    }
+    return millis;
+  }
+
+  /**
+   * Parse epoch milliseconds from a range of an ASCII byte array in the
+   * ISO extended format.
+   *
+   * @param bytes a byte[] value
+   * @param off an int offset of the first byte
+   * @param len an int number of bytes
+   * @return a long value of milliseconds since the epoch
+   * @see #parseExtendedMillis(CharSequence)
+   */
+  public static long parseExtendedMillis(byte[] bytes, int off, int len) {
+    checkNotNull(bytes, "Input bytes are null.");
+    long millis = tryParseExtendedMillis(bytes, off, len);
+    if (millis == INVALID_MILLIS) {
+      return DTF_EXTENDED.parseMillis(new String(bytes, off, len, StandardCharsets.US_ASCII));
+    }
+    return millis;
+  }
+
+
+  static long tryParseExtendedMillis(CharSequence cs, int off, int len) {
+    if (len < EXTENDED_LENGTH
+        || cs.charAt(off + 4) != '-' || cs.charAt(off + 7) != '-' || cs.charAt(off + 10) != 'T'
+        || cs.charAt(off + 13) != ':' || cs.charAt(off + 16) != ':') {
+      return INVALID_MILLIS;
+    }
+    long millis = basicMillis(digits(cs, off, 4),
+                              digits(cs, off + 5, 2),
+                              digits(cs, off + 8, 2),
+                              digits(cs, off + 11, 2),
+                              digits(cs, off + 14, 2),
+                              digits(cs, off + 17, 2));
+    if (millis == INVALID_MILLIS) { return INVALID_MILLIS; }
+
+    int end = off + len;
+    int p = off + 19;
+    if (cs.charAt(p) == '.') {
+      int q = p + 1;
+      int scale = 100;
+      while (q < end && q - p <= 9) {
+        int d = cs.charAt(q) - '0';
+        if (d < 0 || d > 9) { break; }
+        millis += d * scale;
+        scale /= 10;
+        q++;
+      }
+      if (q == p + 1) { return INVALID_MILLIS; }
+      p = q;
+    }
+
+    switch (end - p) {
+    case 1:
+      return (cs.charAt(p) == 'Z') ? millis : INVALID_MILLIS;
+    case 5:
+      return applyOffset(millis, cs.charAt(p), digits(cs, p + 1, 2), digits(cs, p + 3, 2));
+    case 6:
+      if (cs.charAt(p + 3) != ':') { return INVALID_MILLIS; }
+      return applyOffset(millis, cs.charAt(p), digits(cs, p + 1, 2), digits(cs, p + 4, 2));
+    default:
+      return INVALID_MILLIS;
+    }
+  }
+
+  static long tryParseExtendedMillis(byte[] bytes, int off, int len) {
+    if (len < EXTENDED_LENGTH
+        || bytes[off + 4] != '-' || bytes[off + 7] != '-' || bytes[off + 10] != 'T'
+        || bytes[off + 13] != ':' || bytes[off + 16] != ':') {
+      return INVALID_MILLIS;
+    }
+    long millis = basicMillis(digits(bytes, off, 4),
+                              digits(bytes, off + 5, 2),
+                              digits(bytes, off + 8, 2),
+                              digits(bytes, off + 11, 2),
+                              digits(bytes, off + 14, 2),
+                              digits(bytes, off + 17, 2));
+    if (millis == INVALID_MILLIS) { return INVALID_MILLIS; }
+
+    int end = off + len;
+    int p = off + 19;
+    if (bytes[p] == '.') {
+      int q = p + 1;
+      int scale = 100;
+      while (q < end && q - p <= 9) {
+        int d = bytes[q] - '0';
+        if (d < 0 || d > 9) { break; }
+        millis += d * scale;
+        scale /= 10;
+        q++;
+      }
+      if (q == p + 1) { return INVALID_MILLIS; }
+      p = q;
+    }
+
+    switch (end - p) {
+    case 1:
+      return (bytes[p] == 'Z') ? millis : INVALID_MILLIS;
+    case 5:
+      return applyOffset(millis, (char) bytes[p], digits(bytes, p + 1, 2), digits(bytes, p + 3, 2));
+    case 6:
+      if (bytes[p + 3] != ':') { return INVALID_MILLIS; }
+      return applyOffset(millis, (char) bytes[p], digits(bytes, p + 1, 2), digits(bytes, p + 4, 2));
+    default:
+      return INVALID_MILLIS;
+    }
+  }
+
+  /*
+   * Convert local millis to UTC given a '+' or '-' offset of
+   * hours and minutes.
+   */
+  private static long applyOffset(long millis, char sign, int hours, int minutes) {
+    if (hours < 0 || hours > 23 || minutes < 0 || minutes > 59) { return INVALID_MILLIS; }
+    long offset = (hours * 60L + minutes) * 60L * MILLIS_PER_SECOND;
+    if (sign == '+') { return millis - offset; }
+    if (sign == '-') { return millis + offset; }
+    return INVALID_MILLIS;
+  }
+
+
+
+
+  /*
+   * BULK
+   * BULK
+   * BULK
+   */
+
+
+  /**
+   * Parse a column of ISO basic Strings into epoch seconds.
+   * <p>
+   *
+   * Columns longer than BULK_THRESHOLD are split across the common
+   * ForkJoinPool.  Any invalid element fails the whole call.
+   *
+   * @param in a String[] of basic-format values
+   * @param out a long[] of the same length receiving epoch seconds
+   * @see #parseBasicMillis(CharSequence)
+   */
+  public static void parseBasic(final String[] in, final long[] out) {
+    checkNotNull(in, "Need an input array.");
+    checkNotNull(out, "Need an output array.");
+    checkArgument(in.length == out.length, "Input and output must be the same length.");
+    bulk(out.length, new BulkRange() {
+        @Override
+        public void convert(int from, int to) {
+          parseStrings(in, out, from, to);
+        }
+      });
+  }
+
+  /**
+   * Parse packed ASCII ISO basic values into epoch seconds.
+   * <p>
+   *
+   * Value i occupies bytes [16 * i, 16 * i + 16) of the input.
+   *
+   * @param in a byte[] of packed 16-byte basic-format values
+   * @param out a long[] receiving epoch seconds
+   * @see #parseBasic(String[], long[])
+   */
+  public static void parseBasic(final byte[] in, final long[] out) {
+    checkNotNull(in, "Need an input array.");
+    checkNotNull(out, "Need an output array.");
+    checkArgument((long) in.length == (long) out.length * BASIC_LENGTH,
+                  "Need %s input bytes per output value.", BASIC_LENGTH);
+    bulk(out.length, new BulkRange() {
+        @Override
+        public void convert(int from, int to) {
+          parseBytes(in, out, from, to);
+        }
+      });
+  }
+
+  /**
+   * Print a column of epoch seconds as ISO basic Strings.
+   *
+   * @param in a long[] of epoch seconds
+   * @param out a String[] of the same length receiving basic-format values
+   * @see #parseBasic(String[], long[])
+   */
+  public static void printBasic(final long[] in, final String[] out) {
+    checkNotNull(in, "Need an input array.");
+    checkNotNull(out, "Need an output array.");
+    checkArgument(in.length == out.length, "Input and output must be the same length.");
+    bulk(in.length, new BulkRange() {
+        @Override
+        public void convert(int from, int to) {
+          printStrings(in, out, from, to);
+        }
+      });
+  }
+
+  /**
+   * Print a column of epoch seconds as packed ASCII ISO basic values.
+   * <p>
+   *
+   * Value i is written to bytes [16 * i, 16 * i + 16) of the output,
+   * so every value must fall in years 0000 through 9999.
+   *
+   * @param in a long[] of epoch seconds
+   * @param out a byte[] receiving packed 16-byte basic-format values
+   * @see #parseBasic(byte[], long[])
+   */
+  public static void printBasic(final long[] in, final byte[] out) {
+    checkNotNull(in, "Need an input array.");
+    checkNotNull(out, "Need an output array.");
+    checkArgument((long) out.length == (long) in.length * BASIC_LENGTH,
+                  "Need %s output bytes per input value.", BASIC_LENGTH);
+    bulk(in.length, new BulkRange() {
+        @Override
+        public void convert(int from, int to) {
+          printBytes(in, out, from, to);
+        }
+      });
+  }
+
+
+  /** Columns longer than this are converted on the common ForkJoinPool. */
+  static final int BULK_THRESHOLD = 1 << 14;
+
+  private static void bulk(int length, BulkRange range) {
+    if (length > BULK_THRESHOLD) {
+      ForkJoinPool.commonPool().invoke(new BulkAction(range, 0, length));
+    } else {
+      range.convert(0, length);
+    }
+  }
+
+  /*
+   * Converts the [from, to) slice of a column, typed by the arrays
+   * the implementation closes over.
+   */
+  private interface BulkRange {
+    void convert(int from, int to);
+  }
+
+  /*
+   * Converts the [from, to) slice of a column, halving it until
+   * slices are no longer than BULK_THRESHOLD.
+   */
+  private static final class BulkAction
+    extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final transient BulkRange range;
+    private final int from;
+    private final int to;
+
+    BulkAction(BulkRange range, int from, int to) {
+      this.range = range;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= BULK_THRESHOLD) {
+        range.convert(from, to);
+        return;
+      }
+      int mid = (from + to) >>> 1;
+      invokeAll(new BulkAction(range, from, mid),
+                new BulkAction(range, mid, to));
+    }
+  }
+
+  private static void parseStrings(String[] in, long[] out, int from, int to) {
+    for (int i = from; i < to; i++) {
+      out[i] = parseBasicMillis(in[i]) / MILLIS_PER_SECOND;
+    }
+  }
+
+  private static void parseBytes(byte[] in, long[] out, int from, int to) {
+    for (int i = from; i < to; i++) {
+      out[i] = parseBasicMillis(in, i * BASIC_LENGTH, BASIC_LENGTH) / MILLIS_PER_SECOND;
+    }
+  }
+
+  private static void printStrings(long[] in, String[] out, int from, int to) {
+    char[] chars = new char[BASIC_LENGTH];
+    for (int i = from; i < to; i++) {
+      long millis = in[i] * MILLIS_PER_SECOND;
+      if (isFastPrintable(millis)) {
+        printTo(millis, false, chars, 0);
+        out[i] = new String(chars);
+      } else {
+        out[i] = DTF_BASIC.print(millis);
+      }
+    }
+  }
+
+  private static void printBytes(long[] in, byte[] out, int from, int to) {
+    for (int i = from; i < to; i++) {
+      long millis = in[i] * MILLIS_PER_SECOND;
+      if (!isFastPrintable(millis)) {
+        throw new IllegalArgumentException("Epoch seconds " + in[i] + " do not fit in 16 bytes.");
+      }
+      printTo(millis, false, out, i * BASIC_LENGTH);
+    }
   }
 
 
@@ -505,6 +1485,451 @@ public final class DateTimes {
 
 
 
+  /**
+   * Lazily calculate split DateTimes over an Interval.
+   * <p>
+   *
+   * Yields the same DateTimes, in the same order, as
+   * splits(DateTimeDirection, Interval, long) without building the List.
+   * <p>
+   *
+   * @param interval an Interval value
+   * @param duraMillis a long value specifying the duration between splits
+   * @return a Stream&lt;DateTime&gt; value
+   * @see #splitStream(DateTimeDirection, Interval, long)
+   */
+  public static Stream<DateTime> splitStream(Interval interval,
+                                             long duraMillis) {
+    return splitStream(DateTimeDirection.FORWARD, interval, duraMillis);
+  }
+
+  /**
+   * Lazily calculate split DateTimes over an Interval.
+   * <p>
+   *
+   * Uses period.toStandardDuration().getMillis() for the number
+   * of milliseconds between splits.
+   * <p>
+   *
+   * @param dtDirection a DateTimeDirection value
+   * @param interval an Interval value
+   * @param period a Period value
+   * @return a Stream&lt;DateTime&gt; value
+   * @see #splitStream(DateTimeDirection, Interval, long)
+   */
+  public static Stream<DateTime> splitStream(DateTimeDirection dtDirection,
+                                             Interval interval,
+                                             Period period) {
+    return splitStream(dtDirection, interval,
+                       checkNotNull(period, "Need a period.").toStandardDuration().getMillis());
+  }
+
+  /**
+   * Lazily calculate split DateTimes over an Interval.
+   * <p>
+   *
+   * Yields the same DateTimes, in the same order, as
+   * splits(DateTimeDirection, Interval, long), including the trailing
+   * interval end when duraMillis does not divide the Interval evenly.
+   * Each DateTime is created only when it is consumed.
+   * <p>
+   *
+   * The Stream is sequential, and is SIZED and SUBSIZED.  Calling
+   * parallel() divides it by index into even halves.
+   * <p>
+   *
+   * @param dtDirection a DateTimeDirection value
+   * @param interval an Interval value
+   * @param duraMillis a long value specifying the duration between splits
+   * @return a Stream&lt;DateTime&gt; value
+   * @see #splits(DateTimeDirection, Interval, long)
+   */
+  public static Stream<DateTime> splitStream(DateTimeDirection dtDirection,
+                                             Interval interval,
+                                             long duraMillis) {
+    return StreamSupport.stream(splitSpliterator(dtDirection, interval, duraMillis), false);
+  }
+
+
+  /**
+   * Lazily iterate split DateTimes over an Interval.
+   * <p>
+   *
+   * @param interval an Interval value
+   * @param duraMillis a long value specifying the duration between splits
+   * @return an Iterator&lt;DateTime&gt; value
+   * @see #splitIterator(DateTimeDirection, Interval, long)
+   */
+  public static Iterator<DateTime> splitIterator(Interval interval,
+                                                 long duraMillis) {
+    return splitIterator(DateTimeDirection.FORWARD, interval, duraMillis);
+  }
+
+  /**
+   * Lazily iterate split DateTimes over an Interval.
+   * <p>
+   *
+   * Yields the same DateTimes, in the same order, as
+   * splits(DateTimeDirection, Interval, long).
+   * <p>
+   *
+   * @param dtDirection a DateTimeDirection value
+   * @param interval an Interval value
+   * @param duraMillis a long value specifying the duration between splits
+   * @return an Iterator&lt;DateTime&gt; value
+   * @see #splits(DateTimeDirection, Interval, long)
+   */
+  public static Iterator<DateTime> splitIterator(DateTimeDirection dtDirection,
+                                                 Interval interval,
+                                                 long duraMillis) {
+    return Spliterators.iterator(splitSpliterator(dtDirection, interval, duraMillis));
+  }
+
+
+  private static Spliterator<DateTime> splitSpliterator(DateTimeDirection dtDirection,
+                                                        Interval interval,
+                                                        long duraMillis) {
+    checkNotNull(dtDirection, "Need a direction.");
+    checkNotNull(interval, "Need an interval.");
+    checkArgument(duraMillis > 0L, "DuraMillis must be positive.");
+    checkArgument(interval.toDurationMillis() > duraMillis,
+                  "Interval must be greater than the DuraMillis.");
+
+    long steps = interval.toDurationMillis() / duraMillis + 1L;
+    return new SplitSpliterator(interval.getChronology(),
+                                dtDirection.getStart(interval).getMillis(),
+                                dtDirection == DateTimeDirection.FORWARD ? duraMillis : -duraMillis,
+                                steps,
+                                interval.getEndMillis(),
+                                0L,
+                                splitCount(interval.toDurationMillis(), duraMillis));
+  }
+
+  /*
+   * The number of splits over lengthMillis: every whole step from the
+   * start, including the start and the landing point, plus the
+   * trailing end when the step does not divide evenly.
+   */
+  static long splitCount(long lengthMillis, long duraMillis) {
+    long steps = lengthMillis / duraMillis + 1L;
+    return lengthMillis % duraMillis == 0L ? steps : steps + 1L;
+  }
+
+
+
+  /**
+   * Calculate split epoch millis over an Interval.
+   * <p>
+   *
+   * @param dtDirection a DateTimeDirection value
+   * @param interval an Interval value
+   * @param duraMillis a long value specifying the duration between splits
+   * @return a long[] value
+   * @see #splitMillis(DateTimeDirection, long, long, long)
+   */
+  public static long[] splitMillis(DateTimeDirection dtDirection,
+                                   Interval interval,
+                                   long duraMillis) {
+    checkNotNull(interval, "Need an interval.");
+    return splitMillis(dtDirection, interval.getStartMillis(), interval.getEndMillis(), duraMillis);
+  }
+
+  /**
+   * Calculate split epoch millis between a start and an end.
+   * <p>
+   *
+   * Element i of the result is the millis of element i of
+   * splits(dtDirection, new Interval(startMillis, endMillis), duraMillis),
+   * including the trailing end when duraMillis does not divide the
+   * range evenly.  The array is sized exactly before it is filled and
+   * no DateTimes are created.
+   * <p>
+   *
+   * @param dtDirection a DateTimeDirection value
+   * @param startMillis a long value of the start in milliseconds since the epoch
+   * @param endMillis a long value of the end in milliseconds since the epoch
+   * @param duraMillis a long value specifying the duration between splits
+   * @return a long[] value
+   * @see #splits(DateTimeDirection, Interval, long)
+   */
+  public static long[] splitMillis(DateTimeDirection dtDirection,
+                                   long startMillis,
+                                   long endMillis,
+                                   long duraMillis) {
+    long[] dst = new long[splitArraySize(dtDirection, startMillis, endMillis, duraMillis)];
+    fillSplitMillis(dtDirection, startMillis, endMillis, duraMillis, dst);
+    return dst;
+  }
+
+  /*
+   * Validates like splits() and returns the number of splits, which must
+   * fit in an array.
+   */
+  static int splitArraySize(DateTimeDirection dtDirection,
+                            long startMillis,
+                            long endMillis,
+                            long duraMillis) {
+    checkNotNull(dtDirection, "Need a direction.");
+    checkArgument(endMillis >= startMillis, "End must not be before start.");
+    checkArgument(duraMillis > 0L, "DuraMillis must be positive.");
+    checkArgument(endMillis - startMillis > duraMillis,
+                  "Interval must be greater than the DuraMillis.");
+    long count = splitCount(endMillis - startMillis, duraMillis);
+    checkArgument(count <= Integer.MAX_VALUE - 8, "Too many splits (%s) for an array.", count);
+    return (int) count;
+  }
+
+  /*
+   * Writes the splits into the front of dst, which must hold at
+   * least splitArraySize() elements.  Like splits(), the trailing
+   * element is always endMillis.
+   */
+  static void fillSplitMillis(DateTimeDirection dtDirection,
+                              long startMillis,
+                              long endMillis,
+                              long duraMillis,
+                              long[] dst) {
+    long lengthMillis = endMillis - startMillis;
+    int steps = (int) (lengthMillis / duraMillis + 1L);
+    long step = dtDirection == DateTimeDirection.FORWARD ? duraMillis : -duraMillis;
+    long millis = dtDirection == DateTimeDirection.FORWARD ? startMillis : endMillis;
+    for (int i = 0; i < steps; i++) {
+      dst[i] = millis;
+      millis += step;
+    }
+    if (lengthMillis % duraMillis != 0L) {
+      dst[steps] = endMillis;
+    }
+  }
+
+
+
+
+  /**
+   * Calculate calendar split DateTimes over an Interval.
+   * <p>
+   *
+   * @param interval an Interval value
+   * @param period a Period value
+   * @return a List&lt;DateTime&gt; value
+   * @see #splitsByPeriod(DateTimeDirection, Interval, Period)
+   */
+  public static List<DateTime> splitsByPeriod(Interval interval,
+                                              Period period) {
+    return splitsByPeriod(DateTimeDirection.FORWARD, interval, period);
+  }
+
+  /**
+   * Calculate calendar split DateTimes over an Interval.
+   * <p>
+   *
+   * Unlike splits(DateTimeDirection, Interval, Period), which steps by
+   * period.toStandardDuration(), this steps on the calendar of the
+   * Interval's chronology and zone.  Split i is
+   * start.plus(period.multipliedBy(i)) for FORWARD and
+   * end.minus(period.multipliedBy(i)) for REVERSE, so P1M and P1Y work,
+   * P1D stays at the same local time across DST changes, and P1M
+   * from the 31st returns to the 31st whenever the month has one.
+   * <p>
+   *
+   * Splits continue while they are within the Interval.  If the last
+   * one falls short of the far end of the Interval (the end for
+   * FORWARD, the start for REVERSE), the far end is added.
+   * <p>
+   *
+   * The zone's offset transitions over the Interval are looked up once,
+   * so each split is integer arithmetic rather than a chronology walk.
+   * <p>
+   *
+   * @param dtDirection a DateTimeDirection value
+   * @param interval an Interval value
+   * @param period a Period value with no negative fields
+   * @return a List&lt;DateTime&gt; value
+   */
+  public static List<DateTime> splitsByPeriod(DateTimeDirection dtDirection,
+                                              Interval interval,
+                                              Period period) {
+    PeriodSplits it = new PeriodSplits(dtDirection, interval, period);
+    List<DateTime> dts = new ArrayList<DateTime>();
+    while (it.hasNext()) {
+      dts.add(new DateTime(it.nextLong(), it.getChronology()));
+    }
+    return dts;
+  }
+
+  /**
+   * Lazily calculate calendar split DateTimes over an Interval.
+   * <p>
+   *
+   * Yields the same DateTimes, in the same order, as
+   * splitsByPeriod(DateTimeDirection, Interval, Period), creating
+   * each one only when it is consumed.
+   * <p>
+   *
+   * @param dtDirection a DateTimeDirection value
+   * @param interval an Interval value
+   * @param period a Period value with no negative fields
+   * @return a Stream&lt;DateTime&gt; value
+   * @see #splitsByPeriod(DateTimeDirection, Interval, Period)
+   */
+  public static Stream<DateTime> splitStreamByPeriod(DateTimeDirection dtDirection,
+                                                     Interval interval,
+                                                     Period period) {
+    final PeriodSplits it = new PeriodSplits(dtDirection, interval, period);
+    return StreamSupport
+      .longStream(Spliterators.spliteratorUnknownSize(it, PERIOD_SPLIT_CHARACTERISTICS), false)
+      .mapToObj(new LongFunction<DateTime>() {
+          public DateTime apply(long millis) {
+            return new DateTime(millis, it.getChronology());
+          }
+        });
+  }
+
+  /**
+   * Calculate calendar split epoch millis over an Interval.
+   * <p>
+   *
+   * Element i of the result is the millis of element i of
+   * splitsByPeriod(dtDirection, interval, period).  No DateTimes are
+   * created.
+   * <p>
+   *
+   * @param dtDirection a DateTimeDirection value
+   * @param interval an Interval value
+   * @param period a Period value with no negative fields
+   * @return a long[] value
+   * @see #splitsByPeriod(DateTimeDirection, Interval, Period)
+   */
+  public static long[] splitMillisByPeriod(DateTimeDirection dtDirection,
+                                           Interval interval,
+                                           Period period) {
+    PeriodSplits it = new PeriodSplits(dtDirection, interval, period);
+    long[] dst = new long[16];
+    int n = 0;
+    while (it.hasNext()) {
+      if (n == dst.length) {
+        checkArgument(n <= (Integer.MAX_VALUE - 8) / 2, "Too many splits for an array.");
+        dst = Arrays.copyOf(dst, n * 2);
+      }
+      dst[n++] = it.nextLong();
+    }
+    return n == dst.length ? dst : Arrays.copyOf(dst, n);
+  }
+
+
+  private static final int PERIOD_SPLIT_CHARACTERISTICS =
+    Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+
+  /*
+   * Walks CalendarStepper steps within the Interval, then the far end
+   * when the last step falls short of it.
+   */
+  private static final class PeriodSplits
+    implements PrimitiveIterator.OfLong {
+
+    private final CalendarStepper stepper;
+    private final boolean forward;
+    private final long farEnd;
+    private long index;
+    private long next;
+    private boolean done;
+
+    PeriodSplits(DateTimeDirection dtDirection, Interval interval, Period period) {
+      this.stepper = new CalendarStepper(dtDirection, interval, period);
+      this.forward = dtDirection == DateTimeDirection.FORWARD;
+      this.farEnd = dtDirection.getEnd(interval).getMillis();
+      this.next = stepper.millisAt(0L);
+    }
+
+    Chronology getChronology() { return stepper.getChronology(); }
+
+    @Override
+    public boolean hasNext() { return !done; }
+
+    @Override
+    public long nextLong() {
+      if (done) { throw new NoSuchElementException(); }
+      long current = next;
+      if (current == farEnd) {
+        done = true;
+      } else {
+        long m = stepper.millisAt(++index);
+        next = (forward ? m < farEnd : m > farEnd) ? m : farEnd;
+      }
+      return current;
+    }
+  }
+
+
+  /*
+   * Split i is start + i * step for i < steps, and trailing for
+   * i == steps (the partial end which splits() appends).  Covers the
+   * [index, fence) range of splits and halves it by index.
+   */
+  private static final class SplitSpliterator
+    implements Spliterator<DateTime> {
+
+    private final Chronology chronology;
+    private final long start;
+    private final long step;
+    private final long steps;
+    private final long trailing;
+    private long index;
+    private final long fence;
+
+    SplitSpliterator(Chronology chronology, long start, long step, long steps,
+                     long trailing, long index, long fence) {
+      this.chronology = chronology;
+      this.start = start;
+      this.step = step;
+      this.steps = steps;
+      this.trailing = trailing;
+      this.index = index;
+      this.fence = fence;
+    }
+
+    private DateTime get(long i) {
+      return new DateTime(i < steps ? start + i * step : trailing, chronology);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super DateTime> action) {
+      checkNotNull(action, "Need an action.");
+      if (index >= fence) { return false; }
+      action.accept(get(index++));
+      return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super DateTime> action) {
+      checkNotNull(action, "Need an action.");
+      for (long i = index; i < fence; i++) {
+        action.accept(get(i));
+      }
+      index = fence;
+    }
+
+    @Override
+    public Spliterator<DateTime> trySplit() {
+      long mid = (index + fence) >>> 1;
+      if (mid <= index) { return null; }
+      Spliterator<DateTime> prefix =
+        new SplitSpliterator(chronology, start, step, steps, trailing, index, mid);
+      index = mid;
+      return prefix;
+    }
+
+    @Override
+    public long estimateSize() { return fence - index; }
+
+    @Override
+    public int characteristics() {
+      return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+    }
+  }
+
+
+
 
 
 
@@ -777,10 +2202,23 @@ public final class DateTimes {
   
   
 
+  /**
+   * Find the last ISO basic DateTime embedded in a String.
+   * <p>
+   *
+   * Scans backwards with DateTimeScanner, so only the last match
+   * is parsed.
+   *
+   * @param s a String value
+   * @return a DateTime value, or null if none is found
+   * @see DateTimeScanner#scanLast(CharSequence)
+   */
   public static DateTime getDateTime(String s) {
-    return getDateTime(getBasicFormatter(),
-                       BASIC_DATETIME_NOMILLIS_PATTERN,
-                       s);
+    long secs = DateTimeScanner.scanLast(checkNotNull(s, "Input string is null."));
+    if (secs == DateTimeScanner.NOT_FOUND) {
+      return null;
+    }
+    return new DateTime(secs * MILLIS_PER_SECOND, DateTimeZone.UTC);
   }
 
 
@@ -805,10 +2243,22 @@ public final class DateTimes {
 
 
 
+  /**
+   * Find all ISO basic DateTimes embedded in a String.
+   *
+   * @param s a String value
+   * @return a List&lt;DateTime&gt; value
+   * @see DateTimeScanner#scan(CharSequence, LongConsumer)
+   */
   public static List<DateTime> getDateTimes(String s) {
-    return getDateTimes(getBasicFormatter(),
-                        BASIC_DATETIME_NOMILLIS_PATTERN,
-                        s);
+    final List<DateTime> dateTimes = new ArrayList<DateTime>();
+    DateTimeScanner.scan(checkNotNull(s, "Input string is null."), new LongConsumer() {
+        @Override
+        public void accept(long secs) {
+          dateTimes.add(new DateTime(secs * MILLIS_PER_SECOND, DateTimeZone.UTC));
+        }
+      });
+    return dateTimes;
   }
 
 
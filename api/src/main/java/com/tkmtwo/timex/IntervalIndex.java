@@ -0,0 +1,375 @@
+/*
+ *
+ * Copyright 2014 Tom Mahaffey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.tkmtwo.timex;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.joda.time.Interval;
+import org.joda.time.ReadableInstant;
+import org.joda.time.ReadableInterval;
+
+
+
+
+/**
+ *
+ * A static index answering "which intervals contain t" and "which
+ * intervals overlap [a, b)".
+ * <p>
+ *
+ * Intervals are sorted by start into flat arrays which are read as an
+ * implicit balanced binary tree: the middle of any range [lo, hi] is
+ * the root of that range.  Each node also holds the greatest end in its
+ * subtree, so a query skips every subtree that ends too early and stops
+ * at the first node which starts too late.  A query reporting k of n
+ * intervals visits O(min(n, (k + 1) log n)) nodes, since a subtree may end
+ * late enough to be walked and still hold no hits, and allocates
+ * nothing.
+ * <p>
+ *
+ * Intervals are reported by their position in the input, through an
+ * IntConsumer.  Like Interval, starts are inclusive and ends exclusive:
+ * an interval overlaps [a, b) when start &lt; b and end &gt; a, and
+ * contains t when start &lt;= t &lt; end.
+ * <p>
+ *
+ * Inputs longer than PARALLEL_THRESHOLD are sorted and indexed on the
+ * common ForkJoinPool.
+ *
+ *
+ * @author Tom Mahaffey
+ *
+ */
+public final class IntervalIndex {
+
+  /** Inputs longer than this are built on the common ForkJoinPool. */
+  static final int PARALLEL_THRESHOLD = 1 << 14;
+
+  private final long[] starts;
+  private final long[] ends;
+  private final long[] maxEnds;
+  private final int[] ids;
+  private final int[] positions;
+
+
+  private IntervalIndex(long[] inStarts, long[] inEnds) {
+    int n = inStarts.length;
+    int[] order = new int[n];
+    for (int i = 0; i < n; i++) { order[i] = i; }
+
+    this.starts = new long[n];
+    this.ends = new long[n];
+    this.maxEnds = new long[n];
+    this.ids = order;
+    this.positions = new int[n];
+
+    SortAction sort = new SortAction(inStarts, order, new int[n], 0, n);
+    AugmentAction augment = new AugmentAction(0, n - 1);
+    boolean parallel = n > PARALLEL_THRESHOLD;
+
+    if (parallel) { ForkJoinPool.commonPool().invoke(sort); } else { sort.compute(); }
+    for (int i = 0; i < n; i++) {
+      int id = order[i];
+      starts[i] = inStarts[id];
+      ends[i] = inEnds[id];
+      positions[id] = i;
+    }
+    if (parallel) { ForkJoinPool.commonPool().invoke(augment); } else { augment.compute(); }
+  }
+
+
+
+  /**
+   * Creates an index of Intervals.
+   *
+   * @param intervals a List of ReadableInterval values
+   * @return an IntervalIndex value
+   */
+  public static IntervalIndex of(List<? extends ReadableInterval> intervals) {
+    checkNotNull(intervals, "Need intervals.");
+    int n = intervals.size();
+    long[] starts = new long[n];
+    long[] ends = new long[n];
+    int i = 0;
+    for (ReadableInterval interval : intervals) {
+      checkNotNull(interval, "Intervals can not be null.");
+      starts[i] = interval.getStartMillis();
+      ends[i] = interval.getEndMillis();
+      i++;
+    }
+    return new IntervalIndex(starts, ends);
+  }
+
+  /**
+   * Creates an index of start and end millis.
+   * <p>
+   *
+   * Interval i runs from startMillis[i] to endMillis[i].  The arrays
+   * are copied.
+   *
+   * @param startMillis a long[] of starts
+   * @param endMillis a long[] of ends
+   * @return an IntervalIndex value
+   */
+  public static IntervalIndex ofMillis(long[] startMillis, long[] endMillis) {
+    checkNotNull(startMillis, "Need start millis.");
+    checkNotNull(endMillis, "Need end millis.");
+    checkArgument(startMillis.length == endMillis.length, "Need as many starts as ends.");
+    for (int i = 0; i < startMillis.length; i++) {
+      checkArgument(startMillis[i] <= endMillis[i],
+                    "The end of interval %s is before its start.", i);
+    }
+    return new IntervalIndex(startMillis.clone(), endMillis.clone());
+  }
+
+
+
+  /**
+   * Gets the number of intervals.
+   *
+   * @return an int value
+   */
+  public int size() { return ids.length; }
+
+  /**
+   * Gets the start of an interval.
+   *
+   * @param id an int position in the input
+   * @return a long value of milliseconds since the epoch
+   */
+  public long getStartMillis(int id) {
+    checkElementIndex(id, size());
+    return starts[positions[id]];
+  }
+
+  /**
+   * Gets the end of an interval.
+   *
+   * @param id an int position in the input
+   * @return a long value of milliseconds since the epoch
+   */
+  public long getEndMillis(int id) {
+    checkElementIndex(id, size());
+    return ends[positions[id]];
+  }
+
+  /**
+   * Gets an interval as an Interval in the default chronology.
+   *
+   * @param id an int position in the input
+   * @return an Interval value
+   */
+  public Interval get(int id) {
+    return new Interval(getStartMillis(id), getEndMillis(id));
+  }
+
+
+
+  /**
+   * Reports every interval containing an instant.
+   *
+   * @param instantMillis a long value of milliseconds since the epoch
+   * @param consumer an IntConsumer of positions in the input
+   * @return an int number of intervals reported
+   */
+  public int forEachContaining(long instantMillis, IntConsumer consumer) {
+    checkNotNull(consumer, "Need a consumer.");
+    if (instantMillis == Long.MAX_VALUE) { return 0; }
+    return overlapping(0, ids.length - 1, instantMillis, instantMillis + 1L, consumer);
+  }
+
+  /**
+   * Reports every interval containing an instant.
+   *
+   * @param instant a ReadableInstant value
+   * @param consumer an IntConsumer of positions in the input
+   * @return an int number of intervals reported
+   */
+  public int forEachContaining(ReadableInstant instant, IntConsumer consumer) {
+    checkNotNull(instant, "Need an instant.");
+    return forEachContaining(instant.getMillis(), consumer);
+  }
+
+  /**
+   * Reports every interval overlapping [startMillis, endMillis).
+   *
+   * @param startMillis a long value of milliseconds since the epoch
+   * @param endMillis a long value of milliseconds since the epoch
+   * @param consumer an IntConsumer of positions in the input
+   * @return an int number of intervals reported
+   */
+  public int forEachOverlapping(long startMillis, long endMillis, IntConsumer consumer) {
+    checkArgument(startMillis <= endMillis, "The end must not be before the start.");
+    checkNotNull(consumer, "Need a consumer.");
+    return overlapping(0, ids.length - 1, startMillis, endMillis, consumer);
+  }
+
+  /**
+   * Reports every interval overlapping an Interval.
+   *
+   * @param interval a ReadableInterval value
+   * @param consumer an IntConsumer of positions in the input
+   * @return an int number of intervals reported
+   */
+  public int forEachOverlapping(ReadableInterval interval, IntConsumer consumer) {
+    checkNotNull(interval, "Need an interval.");
+    return forEachOverlapping(interval.getStartMillis(), interval.getEndMillis(), consumer);
+  }
+
+  /*
+   * Walks the subtree of [lo, hi], recursing left and looping right.
+   */
+  private int overlapping(int lo, int hi, long a, long b, IntConsumer consumer) {
+    int n = 0;
+    while (lo <= hi) {
+      int mid = (lo + hi) >>> 1;
+      if (maxEnds[mid] <= a) { return n; }
+      n += overlapping(lo, mid - 1, a, b, consumer);
+      if (starts[mid] >= b) { return n; }
+      if (ends[mid] > a) {
+        consumer.accept(ids[mid]);
+        n++;
+      }
+      lo = mid + 1;
+    }
+    return n;
+  }
+
+
+
+  /*
+   * Fills maxEnds for the subtree of [lo, hi], returning its greatest end.
+   */
+  private long augment(int lo, int hi) {
+    if (lo > hi) { return Long.MIN_VALUE; }
+    int mid = (lo + hi) >>> 1;
+    long max = Math.max(ends[mid], Math.max(augment(lo, mid - 1), augment(mid + 1, hi)));
+    maxEnds[mid] = max;
+    return max;
+  }
+
+
+  /*
+   * Merge sorts [from, to) of ids by start, halving above
+   * PARALLEL_THRESHOLD.
+   */
+  private static final class SortAction
+    extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private static final int INSERTION_THRESHOLD = 32;
+
+    private final long[] keys;
+    private final int[] ids;
+    private final int[] tmp;
+    private final int from;
+    private final int to;
+
+    SortAction(long[] keys, int[] ids, int[] tmp, int from, int to) {
+      this.keys = keys;
+      this.ids = ids;
+      this.tmp = tmp;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= PARALLEL_THRESHOLD) {
+        sort(from, to);
+        return;
+      }
+      int mid = (from + to) >>> 1;
+      invokeAll(new SortAction(keys, ids, tmp, from, mid),
+                new SortAction(keys, ids, tmp, mid, to));
+      merge(from, mid, to);
+    }
+
+    private void sort(int lo, int hi) {
+      if (hi - lo <= INSERTION_THRESHOLD) {
+        for (int i = lo + 1; i < hi; i++) {
+          int id = ids[i];
+          long key = keys[id];
+          int j = i - 1;
+          while (j >= lo && keys[ids[j]] > key) {
+            ids[j + 1] = ids[j];
+            j--;
+          }
+          ids[j + 1] = id;
+        }
+        return;
+      }
+      int mid = (lo + hi) >>> 1;
+      sort(lo, mid);
+      sort(mid, hi);
+      merge(lo, mid, hi);
+    }
+
+    private void merge(int lo, int mid, int hi) {
+      if (keys[ids[mid - 1]] <= keys[ids[mid]]) { return; }
+      System.arraycopy(ids, lo, tmp, lo, hi - lo);
+      int i = lo;
+      int j = mid;
+      for (int k = lo; k < hi; k++) {
+        if (j >= hi || (i < mid && keys[tmp[i]] <= keys[tmp[j]])) {
+          ids[k] = tmp[i++];
+        } else {
+          ids[k] = tmp[j++];
+        }
+      }
+    }
+  }
+
+
+  /*
+   * Fills maxEnds for the subtree of [lo, hi], forking both children
+   * above PARALLEL_THRESHOLD.
+   */
+  private final class AugmentAction
+    extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final int lo;
+    private final int hi;
+
+    AugmentAction(int lo, int hi) {
+      this.lo = lo;
+      this.hi = hi;
+    }
+
+    @Override
+    protected void compute() {
+      if (hi - lo < PARALLEL_THRESHOLD) {
+        augment(lo, hi);
+        return;
+      }
+      int mid = (lo + hi) >>> 1;
+      invokeAll(new AugmentAction(lo, mid - 1), new AugmentAction(mid + 1, hi));
+      maxEnds[mid] = Math.max(ends[mid],
+                              Math.max(maxEnds[(lo + mid - 1) >>> 1], maxEnds[(mid + 1 + hi) >>> 1]));
+    }
+  }
+
+}
@@ -0,0 +1,368 @@
+/*
+ *
+ * Copyright 2014 Tom Mahaffey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.tkmtwo.timex;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkPositionIndexes;
+
+import org.joda.time.Chronology;
+import org.joda.time.DateTime;
+import org.joda.time.Interval;
+import org.joda.time.ReadableInstant;
+
+
+
+
+/**
+ *
+ * An immutable, evenly stepped series of Intervals.
+ * <p>
+ *
+ * The series is held as a few fields: an origin, a signed step,
+ * the number of whole steps and the lengths of an optional truncated
+ * head and tail.  Intervals are created on demand by get(), so a grid
+ * of millions of Intervals costs no more than a grid of ten.
+ * indexOf(), subList(), shift() and reverse() are all O(1).
+ * <p>
+ *
+ * A FORWARD series runs from the start of its range toward the end and
+ * a REVERSE series from the end toward the start.  When the step does
+ * not divide the range evenly the last Interval is truncated at the edge
+ * of the range.  This matches Intervals.intervals() for FORWARD.  For
+ * REVERSE, the truncated Interval is the remainder at the start of
+ * the range.
+ *
+ *
+ * @author Tom Mahaffey
+ *
+ */
+public final class IntervalSeries
+  extends AbstractList<Interval>
+  implements RandomAccess {
+
+  private static final int MAX_SIZE = Integer.MAX_VALUE - 8;
+
+  private final Chronology chronology;
+  private final long origin;
+  private final long step;
+  private final long head;
+  private final int steps;
+  private final long tail;
+
+
+  /*
+   * Whole interval j runs from origin + j * step to origin + (j + 1) * step.
+   * The head (if head > 0) ends at origin and the tail (if tail > 0)
+   * starts at origin + steps * step, each head or tail millis long in
+   * the direction of step.
+   */
+  private IntervalSeries(Chronology chronology,
+                         long origin,
+                         long step,
+                         long head,
+                         int steps,
+                         long tail) {
+    this.chronology = chronology;
+    this.origin = origin;
+    this.step = step;
+    this.head = head;
+    this.steps = steps;
+    this.tail = tail;
+  }
+
+
+
+  /**
+   * Creates a series over an Interval.
+   * <p>
+   *
+   * @param dtDirection a DateTimeDirection value
+   * @param interval an Interval value
+   * @param stepMillis a long value of the length of each Interval
+   * @return an IntervalSeries value
+   */
+  public static IntervalSeries of(DateTimeDirection dtDirection,
+                                  Interval interval,
+                                  long stepMillis) {
+    checkNotNull(dtDirection, "Need a direction.");
+    checkNotNull(interval, "Need an interval.");
+    checkArgument(stepMillis > 0L, "Step must be positive.");
+    checkArgument(interval.toDurationMillis() > stepMillis,
+                  "Interval must be greater than the step.");
+
+    long length = interval.toDurationMillis();
+    long whole = length / stepMillis;
+    long tail = length % stepMillis;
+    checkArgument(whole + (tail == 0L ? 0L : 1L) <= MAX_SIZE, "Too many intervals for a List.");
+
+    boolean forward = dtDirection == DateTimeDirection.FORWARD;
+    return new IntervalSeries(interval.getChronology(),
+                              forward ? interval.getStartMillis() : interval.getEndMillis(),
+                              forward ? stepMillis : -stepMillis,
+                              0L,
+                              (int) whole,
+                              tail);
+  }
+
+  /**
+   * Creates a series of a number of Intervals from a start.
+   * <p>
+   *
+   * The first Interval begins (FORWARD) or ends (REVERSE) at start, like
+   * Intervals.intervals(DateTimeDirection, DateTime, long, long).
+   *
+   * @param dtDirection a DateTimeDirection value
+   * @param start a DateTime value
+   * @param size an int number of Intervals
+   * @param stepMillis a long value of the length of each Interval
+   * @return an IntervalSeries value
+   */
+  public static IntervalSeries of(DateTimeDirection dtDirection,
+                                  DateTime start,
+                                  int size,
+                                  long stepMillis) {
+    checkNotNull(dtDirection, "Need a direction.");
+    checkNotNull(start, "Need a start DateTime.");
+    checkArgument(size >= 0 && size <= MAX_SIZE, "Size must be in [0...%s].", MAX_SIZE);
+    checkArgument(stepMillis > 0L, "Step must be positive.");
+
+    return new IntervalSeries(start.getChronology(),
+                              start.getMillis(),
+                              dtDirection == DateTimeDirection.FORWARD ? stepMillis : -stepMillis,
+                              0L,
+                              size,
+                              0L);
+  }
+
+
+
+  /**
+   * Gets the direction of the series.
+   *
+   * @return a DateTimeDirection value
+   */
+  public DateTimeDirection getDirection() {
+    return step > 0L ? DateTimeDirection.FORWARD : DateTimeDirection.REVERSE;
+  }
+
+  /**
+   * Gets the length of each whole Interval.
+   *
+   * @return a long value of milliseconds
+   */
+  public long getStepMillis() { return Math.abs(step); }
+
+  /**
+   * Tells whether the first Interval is truncated.
+   *
+   * @return a boolean value
+   */
+  public boolean hasTruncatedHead() { return head > 0L; }
+
+  /**
+   * Tells whether the last Interval is truncated.
+   *
+   * @return a boolean value
+   */
+  public boolean hasTruncatedTail() { return tail > 0L; }
+
+  private int headCount() { return head > 0L ? 1 : 0; }
+
+
+
+  @Override
+  public int size() {
+    return headCount() + steps + (tail > 0L ? 1 : 0);
+  }
+
+  @Override
+  public Interval get(int index) {
+    return new Interval(getStartMillis(index), getEndMillis(index), chronology);
+  }
+
+  /**
+   * Gets the start of an Interval without creating it.
+   *
+   * @param index an int value
+   * @return a long value of milliseconds since the epoch
+   */
+  public long getStartMillis(int index) {
+    return Math.min(edgeMillis(index), farEdgeMillis(index));
+  }
+
+  /**
+   * Gets the end of an Interval without creating it.
+   *
+   * @param index an int value
+   * @return a long value of milliseconds since the epoch
+   */
+  public long getEndMillis(int index) {
+    return Math.max(edgeMillis(index), farEdgeMillis(index));
+  }
+
+  /*
+   * The edge an Interval starts from, in the direction of the series.
+   */
+  private long edgeMillis(int index) {
+    checkElementIndex(index, size());
+    int j = index - headCount();
+    if (j < 0) { return origin - Long.signum(step) * head; }
+    return origin + j * step;
+  }
+
+  /*
+   * The edge an Interval runs to, in the direction of the series.
+   */
+  private long farEdgeMillis(int index) {
+    int j = index - headCount();
+    if (j < 0) { return origin; }
+    if (j < steps) { return origin + (j + 1L) * step; }
+    return origin + steps * step + Long.signum(step) * tail;
+  }
+
+
+
+  /**
+   * Gets the index of the Interval containing an instant.
+   * <p>
+   *
+   * Like Interval.contains(), starts are inclusive and ends exclusive.
+   *
+   * @param instantMillis a long value of milliseconds since the epoch
+   * @return an int index, or -1 if no Interval contains the instant
+   */
+  public int indexOf(long instantMillis) {
+    long stepLength = Math.abs(step);
+    //Distance from origin in the direction of the series, shifted by
+    //one millisecond for REVERSE so exclusive ends land in the
+    //previous step.
+    long distance = step > 0L ? instantMillis - origin : origin - 1L - instantMillis;
+
+    if (distance < 0L) {
+      return (head > 0L && -distance <= head) ? 0 : -1;
+    }
+    long j = distance / stepLength;
+    if (j < steps) {
+      return headCount() + (int) j;
+    }
+    if (tail > 0L && distance - steps * stepLength < tail) {
+      return headCount() + steps;
+    }
+    return -1;
+  }
+
+  /**
+   * Gets the index of the Interval containing an instant.
+   *
+   * @param instant a ReadableInstant value
+   * @return an int index, or -1 if no Interval contains the instant
+   * @see #indexOf(long)
+   */
+  public int indexOf(ReadableInstant instant) {
+    checkNotNull(instant, "Need an instant.");
+    return indexOf(instant.getMillis());
+  }
+
+  /**
+   * Gets the index of an Interval in the series in O(1).
+   *
+   * @param o an Object value
+   * @return an int index, or -1
+   */
+  @Override
+  public int indexOf(Object o) {
+    if (!(o instanceof Interval)) { return -1; }
+    Interval interval = (Interval) o;
+    int i = indexOf(interval.getStartMillis());
+    return (i >= 0 && get(i).equals(interval)) ? i : -1;
+  }
+
+  @Override
+  public int lastIndexOf(Object o) {
+    return indexOf(o);
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    return indexOf(o) >= 0;
+  }
+
+
+
+  /**
+   * Gets part of the series in O(1).
+   *
+   * @param fromIndex an int index, inclusive
+   * @param toIndex an int index, exclusive
+   * @return an IntervalSeries value
+   */
+  @Override
+  public IntervalSeries subList(int fromIndex, int toIndex) {
+    checkPositionIndexes(fromIndex, toIndex, size());
+    int h = headCount();
+    boolean keepHead = h == 1 && fromIndex == 0 && toIndex > 0;
+    boolean keepTail = tail > 0L && toIndex == size() && fromIndex < toIndex;
+    int from = Math.max(fromIndex - h, 0);
+    int to = Math.max(Math.min(toIndex - h, steps), from);
+
+    return new IntervalSeries(chronology,
+                              origin + from * step,
+                              step,
+                              keepHead ? head : 0L,
+                              to - from,
+                              keepTail ? tail : 0L);
+  }
+
+  /**
+   * Moves every Interval by an amount in O(1).
+   *
+   * @param millis a long value, positive toward the future
+   * @return an IntervalSeries value
+   */
+  public IntervalSeries shift(long millis) {
+    return new IntervalSeries(chronology, origin + millis, step, head, steps, tail);
+  }
+
+  /**
+   * Gets the same Intervals in the opposite order in O(1).
+   *
+   * @return an IntervalSeries value
+   */
+  public IntervalSeries reverse() {
+    return new IntervalSeries(chronology, origin + steps * step, -step, tail, steps, head);
+  }
+
+
+
+  @Override
+  public String toString() {
+    int size = size();
+    return "IntervalSeries[" + getDirection()
+      + ", size=" + size
+      + ", step=" + getStepMillis() + "ms"
+      + (size == 0 ? "" : ", first=" + get(0) + ", last=" + get(size - 1))
+      + "]";
+  }
+
+}
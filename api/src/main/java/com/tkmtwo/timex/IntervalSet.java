@@ -0,0 +1,417 @@
+/*
+ *
+ * Copyright 2014 Tom Mahaffey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.tkmtwo.timex;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.joda.time.Interval;
+import org.joda.time.ReadableInstant;
+import org.joda.time.ReadableInterval;
+
+
+
+
+/**
+ *
+ * An immutable set of instants held as disjoint, sorted Intervals.
+ * <p>
+ *
+ * The Intervals are packed into a single long[] of start and end
+ * millis, { start0, end0, start1, end1, ... }, which is kept normalized:
+ * every Interval is non-empty and each one ends strictly before the
+ * next one starts.  Empty input Intervals are dropped and overlapping
+ * or abutting ones are merged, so [a, b) and [b, c) become [a, c).
+ * Two sets holding the same instants are therefore equal.
+ * <p>
+ *
+ * union(), intersect() and subtract() are a single linear merge of the
+ * two arrays.  contains() is a binary search.  Building from unsorted
+ * Intervals sorts the starts and the ends once each with Arrays.sort().
+ * <p>
+ *
+ * Intervals returned by get() and iterator() are in the default
+ * chronology, like Intervals.fromSecs().
+ *
+ *
+ * @author Tom Mahaffey
+ *
+ */
+public final class IntervalSet
+  implements Iterable<Interval> {
+
+  private static final IntervalSet EMPTY = new IntervalSet(new long[0]);
+
+  /*
+   * Whether an instant is in the result, given whether it is in each
+   * operand.
+   */
+  private enum Op {
+    UNION {
+      @Override
+      boolean in(boolean inA, boolean inB) { return inA || inB; }
+    },
+    INTERSECT {
+      @Override
+      boolean in(boolean inA, boolean inB) { return inA && inB; }
+    },
+    SUBTRACT {
+      @Override
+      boolean in(boolean inA, boolean inB) { return inA && !inB; }
+    };
+
+    abstract boolean in(boolean inA, boolean inB);
+  }
+
+  private final long[] bounds;
+
+
+  private IntervalSet(long[] bounds) {
+    this.bounds = bounds;
+  }
+
+
+
+  /**
+   * Gets the empty set.
+   *
+   * @return an IntervalSet value
+   */
+  public static IntervalSet empty() { return EMPTY; }
+
+  /**
+   * Creates a set of Intervals in any order.
+   *
+   * @param intervals ReadableInterval values
+   * @return an IntervalSet value
+   */
+  public static IntervalSet of(ReadableInterval... intervals) {
+    checkNotNull(intervals, "Need intervals.");
+    return of(Arrays.asList(intervals));
+  }
+
+  /**
+   * Creates a set of Intervals in any order.
+   *
+   * @param intervals an Iterable of ReadableInterval values
+   * @return an IntervalSet value
+   */
+  public static IntervalSet of(Iterable<? extends ReadableInterval> intervals) {
+    checkNotNull(intervals, "Need intervals.");
+    long[] starts = new long[16];
+    long[] ends = new long[16];
+    int n = 0;
+    for (ReadableInterval interval : intervals) {
+      checkNotNull(interval, "Intervals can not be null.");
+      if (n == starts.length) {
+        starts = Arrays.copyOf(starts, n * 2);
+        ends = Arrays.copyOf(ends, n * 2);
+      }
+      starts[n] = interval.getStartMillis();
+      ends[n] = interval.getEndMillis();
+      n++;
+    }
+    return build(starts, ends, n);
+  }
+
+  /**
+   * Creates a set of start and end millis pairs in any order.
+   *
+   * @param startEndMillis long values, { start0, end0, start1, end1, ... }
+   * @return an IntervalSet value
+   */
+  public static IntervalSet ofMillis(long... startEndMillis) {
+    checkNotNull(startEndMillis, "Need millis.");
+    checkArgument(startEndMillis.length % 2 == 0, "Need start and end pairs.");
+    int n = startEndMillis.length / 2;
+    long[] starts = new long[n];
+    long[] ends = new long[n];
+    for (int i = 0; i < n; i++) {
+      starts[i] = startEndMillis[2 * i];
+      ends[i] = startEndMillis[2 * i + 1];
+    }
+    return build(starts, ends, n);
+  }
+
+  /*
+   * Sorting starts and ends separately loses which end belongs to
+   * which start, but not how many Intervals cover each instant, and
+   * that is all a union needs.
+   */
+  private static IntervalSet build(long[] starts, long[] ends, int n) {
+    int m = 0;
+    for (int i = 0; i < n; i++) {
+      checkArgument(starts[i] <= ends[i], "The end of an interval must not be before its start.");
+      if (starts[i] < ends[i]) {
+        starts[m] = starts[i];
+        ends[m] = ends[i];
+        m++;
+      }
+    }
+    if (m == 0) { return EMPTY; }
+    Arrays.sort(starts, 0, m);
+    Arrays.sort(ends, 0, m);
+
+    long[] bounds = new long[2 * m];
+    int b = 0;
+    int depth = 0;
+    int j = 0;
+    for (int i = 0; i < m; i++) {
+      //Starts before ends at the same instant, so abutting Intervals merge.
+      while (ends[j] < starts[i]) {
+        if (--depth == 0) { bounds[b++] = ends[j]; }
+        j++;
+      }
+      if (depth++ == 0) { bounds[b++] = starts[i]; }
+    }
+    bounds[b++] = ends[m - 1];
+    return new IntervalSet(b == bounds.length ? bounds : Arrays.copyOf(bounds, b));
+  }
+
+
+
+  /**
+   * Gets the number of disjoint Intervals.
+   *
+   * @return an int value
+   */
+  public int size() { return bounds.length / 2; }
+
+  /**
+   * Tells whether the set holds no instants.
+   *
+   * @return a boolean value
+   */
+  public boolean isEmpty() { return bounds.length == 0; }
+
+  /**
+   * Gets an Interval by its position in time order.
+   *
+   * @param index an int value
+   * @return an Interval value
+   */
+  public Interval get(int index) {
+    return new Interval(getStartMillis(index), getEndMillis(index));
+  }
+
+  /**
+   * Gets the start of an Interval without creating it.
+   *
+   * @param index an int value
+   * @return a long value of milliseconds since the epoch
+   */
+  public long getStartMillis(int index) {
+    checkElementIndex(index, size());
+    return bounds[2 * index];
+  }
+
+  /**
+   * Gets the end of an Interval without creating it.
+   *
+   * @param index an int value
+   * @return a long value of milliseconds since the epoch
+   */
+  public long getEndMillis(int index) {
+    checkElementIndex(index, size());
+    return bounds[2 * index + 1];
+  }
+
+  /**
+   * Gets a copy of the packed start and end millis.
+   *
+   * @return a long[] value, { start0, end0, start1, end1, ... }
+   */
+  public long[] toMillisArray() { return bounds.clone(); }
+
+  /**
+   * Gets the total length of every Interval.
+   *
+   * @return a long value of milliseconds
+   */
+  public long totalDurationMillis() {
+    long total = 0L;
+    for (int i = 0; i < bounds.length; i += 2) {
+      total += bounds[i + 1] - bounds[i];
+    }
+    return total;
+  }
+
+
+
+  /**
+   * Tells whether an instant is in the set.
+   *
+   * @param instantMillis a long value of milliseconds since the epoch
+   * @return a boolean value
+   */
+  public boolean contains(long instantMillis) {
+    int i = Arrays.binarySearch(bounds, instantMillis);
+    //On a bound, starts are in and ends are out.  Between bounds, the
+    //instant is in when an odd number of bounds come before it.
+    return i >= 0 ? (i & 1) == 0 : ((-i - 1) & 1) == 1;
+  }
+
+  /**
+   * Tells whether an instant is in the set.
+   *
+   * @param instant a ReadableInstant value
+   * @return a boolean value
+   */
+  public boolean contains(ReadableInstant instant) {
+    checkNotNull(instant, "Need an instant.");
+    return contains(instant.getMillis());
+  }
+
+  /**
+   * Tells whether every instant of an Interval is in the set.
+   * <p>
+   *
+   * An empty Interval is contained when its instant is.
+   *
+   * @param interval a ReadableInterval value
+   * @return a boolean value
+   */
+  public boolean contains(ReadableInterval interval) {
+    checkNotNull(interval, "Need an interval.");
+    long start = interval.getStartMillis();
+    int i = Arrays.binarySearch(bounds, start);
+    int k = i >= 0 ? ((i & 1) == 0 ? i : -1) : (((-i - 1) & 1) == 1 ? -i - 2 : -1);
+    return k >= 0 && interval.getEndMillis() <= bounds[k + 1];
+  }
+
+
+
+  /**
+   * Gets the instants in either set.
+   *
+   * @param other an IntervalSet value
+   * @return an IntervalSet value
+   */
+  public IntervalSet union(IntervalSet other) {
+    checkNotNull(other, "Need another set.");
+    if (other.isEmpty()) { return this; }
+    if (isEmpty()) { return other; }
+    return merge(bounds, other.bounds, Op.UNION);
+  }
+
+  /**
+   * Gets the instants in both sets.
+   *
+   * @param other an IntervalSet value
+   * @return an IntervalSet value
+   */
+  public IntervalSet intersect(IntervalSet other) {
+    checkNotNull(other, "Need another set.");
+    if (isEmpty() || other.isEmpty()) { return EMPTY; }
+    return merge(bounds, other.bounds, Op.INTERSECT);
+  }
+
+  /**
+   * Gets the instants in this set which are not in another.
+   *
+   * @param other an IntervalSet value
+   * @return an IntervalSet value
+   */
+  public IntervalSet subtract(IntervalSet other) {
+    checkNotNull(other, "Need another set.");
+    if (isEmpty() || other.isEmpty()) { return this; }
+    return merge(bounds, other.bounds, Op.SUBTRACT);
+  }
+
+  /**
+   * Gets the instants of an Interval which are not in this set.
+   *
+   * @param within a ReadableInterval value
+   * @return an IntervalSet value
+   */
+  public IntervalSet complement(ReadableInterval within) {
+    checkNotNull(within, "Need an interval.");
+    return ofMillis(within.getStartMillis(), within.getEndMillis()).subtract(this);
+  }
+
+  /*
+   * Walks the bounds of both sets in order.  After each instant the
+   * parity of the bounds passed tells whether it is inside a and b, and
+   * a bound is written whenever the result changes.
+   */
+  private static IntervalSet merge(long[] a, long[] b, Op op) {
+    long[] out = new long[a.length + b.length];
+    int n = 0;
+    int i = 0;
+    int j = 0;
+    while (i < a.length || j < b.length) {
+      long x;
+      if (j == b.length || (i < a.length && a[i] <= b[j])) {
+        x = a[i];
+      } else {
+        x = b[j];
+      }
+      if (i < a.length && a[i] == x) { i++; }
+      if (j < b.length && b[j] == x) { j++; }
+
+      boolean in = op.in((i & 1) == 1, (j & 1) == 1);
+      if (in != ((n & 1) == 1)) { out[n++] = x; }
+    }
+    if (n == 0) { return EMPTY; }
+    return new IntervalSet(n == out.length ? out : Arrays.copyOf(out, n));
+  }
+
+
+
+  @Override
+  public Iterator<Interval> iterator() {
+    return new Iterator<Interval>() {
+      private int index;
+      @Override
+      public boolean hasNext() { return index < size(); }
+      @Override
+      public Interval next() {
+        if (!hasNext()) { throw new NoSuchElementException(); }
+        return get(index++);
+      }
+      @Override
+      public void remove() { throw new UnsupportedOperationException(); }
+    };
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return o == this
+      || (o instanceof IntervalSet && Arrays.equals(bounds, ((IntervalSet) o).bounds));
+  }
+
+  @Override
+  public int hashCode() { return Arrays.hashCode(bounds); }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("[");
+    for (int i = 0; i < size(); i++) {
+      if (i > 0) { sb.append(", "); }
+      sb.append(Intervals.printExtended(get(i)));
+    }
+    return sb.append("]").toString();
+  }
+
+}
@@ -0,0 +1,323 @@
+/*
+ *
+ * Copyright 2014 Tom Mahaffey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.tkmtwo.timex;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.joda.time.ReadableInterval;
+
+
+
+
+/**
+ *
+ * Finds gaps and overlaps in a stream of Intervals in a single pass.
+ * <p>
+ *
+ * The auditor remembers only how far the timeline is covered so far.
+ * An Interval starting after that point reports a gap up to its start,
+ * and one starting before it reports an overlap up to the lesser of the
+ * two ends, using the same rationale as JodaTime's Interval.gap() and
+ * Interval.overlap().  Abutting Intervals report neither.
+ * <p>
+ *
+ * Intervals should arrive in start order, but may be up to
+ * reorderCapacity places out of order: they are held in a small
+ * min-heap of primitive arrays and released by start once it is full.
+ * An Interval starting before one already released is late; it is
+ * reported to Listener.onLate() and otherwise ignored.  Call flush()
+ * at the end of the stream to release the rest.
+ * <p>
+ *
+ * Memory is fixed by reorderCapacity and nothing is allocated per
+ * Interval.  An IntervalTimelineAuditor is not thread safe.
+ *
+ *
+ * @author Tom Mahaffey
+ *
+ */
+public final class IntervalTimelineAuditor {
+
+  /**
+   * Receives gaps, overlaps and late Intervals as they are found.
+   */
+  public interface Listener {
+    /**
+     * Called for time covered by no Interval.
+     *
+     * @param startMillis a long value of milliseconds since the epoch
+     * @param endMillis a long value of milliseconds since the epoch
+     */
+    void onGap(long startMillis, long endMillis);
+
+    /**
+     * Called for time covered by an Interval more than once.  Time
+     * covered three times is reported twice.
+     *
+     * @param startMillis a long value of milliseconds since the epoch
+     * @param endMillis a long value of milliseconds since the epoch
+     */
+    void onOverlap(long startMillis, long endMillis);
+
+    /**
+     * Called for an Interval which arrived too far out of order.
+     *
+     * @param startMillis a long value of milliseconds since the epoch
+     * @param endMillis a long value of milliseconds since the epoch
+     */
+    void onLate(long startMillis, long endMillis);
+  }
+
+
+  private final Listener listener;
+  private final long[] heapStarts;
+  private final long[] heapEnds;
+  private int heapSize;
+
+  private boolean started;
+  private long lastStart;
+  private long coveredUntil;
+
+  private long gaps;
+  private long gapMillis;
+  private long overlaps;
+  private long overlapMillis;
+  private long late;
+
+
+  private IntervalTimelineAuditor(Listener listener, int reorderCapacity) {
+    this.listener = listener;
+    this.heapStarts = new long[reorderCapacity];
+    this.heapEnds = new long[reorderCapacity];
+  }
+
+
+  /**
+   * Creates an auditor of a timeline starting with its first Interval.
+   *
+   * @param listener a Listener value
+   * @param reorderCapacity an int number of Intervals held for reordering
+   * @return an IntervalTimelineAuditor value
+   */
+  public static IntervalTimelineAuditor of(Listener listener, int reorderCapacity) {
+    checkNotNull(listener, "Need a listener.");
+    checkArgument(reorderCapacity >= 0, "Reorder capacity can not be negative.");
+    return new IntervalTimelineAuditor(listener, reorderCapacity);
+  }
+
+  /**
+   * Creates an auditor of a timeline expected to be covered from an
+   * instant, so time before the first Interval is a gap.
+   *
+   * @param listener a Listener value
+   * @param reorderCapacity an int number of Intervals held for reordering
+   * @param startMillis a long value of milliseconds since the epoch
+   * @return an IntervalTimelineAuditor value
+   */
+  public static IntervalTimelineAuditor of(Listener listener, int reorderCapacity, long startMillis) {
+    IntervalTimelineAuditor auditor = of(listener, reorderCapacity);
+    auditor.started = true;
+    auditor.lastStart = startMillis;
+    auditor.coveredUntil = startMillis;
+    return auditor;
+  }
+
+
+
+  /**
+   * Adds an Interval.
+   *
+   * @param interval a ReadableInterval value
+   */
+  public void accept(ReadableInterval interval) {
+    checkNotNull(interval, "Need an interval.");
+    accept(interval.getStartMillis(), interval.getEndMillis());
+  }
+
+  /**
+   * Adds an Interval by its start and end.
+   *
+   * @param startMillis a long value of milliseconds since the epoch
+   * @param endMillis a long value of milliseconds since the epoch
+   */
+  public void accept(long startMillis, long endMillis) {
+    checkArgument(startMillis <= endMillis, "The end must not be before the start.");
+    if (heapStarts.length == 0) {
+      audit(startMillis, endMillis);
+      return;
+    }
+    if (heapSize == heapStarts.length) {
+      if (startMillis <= heapStarts[0]) {
+        //Earlier than everything held, so it would be released at once.
+        audit(startMillis, endMillis);
+        return;
+      }
+      audit(heapStarts[0], heapEnds[0]);
+      heapStarts[0] = startMillis;
+      heapEnds[0] = endMillis;
+      siftDown(0);
+    } else {
+      heapStarts[heapSize] = startMillis;
+      heapEnds[heapSize] = endMillis;
+      siftUp(heapSize++);
+    }
+  }
+
+  /**
+   * Releases every held Interval.
+   */
+  public void flush() {
+    while (heapSize > 0) {
+      long start = heapStarts[0];
+      long end = heapEnds[0];
+      heapSize--;
+      heapStarts[0] = heapStarts[heapSize];
+      heapEnds[0] = heapEnds[heapSize];
+      siftDown(0);
+      audit(start, end);
+    }
+  }
+
+  /**
+   * Releases every held Interval and reports a gap if the timeline is
+   * not covered up to an instant.
+   *
+   * @param endMillis a long value of milliseconds since the epoch
+   */
+  public void flush(long endMillis) {
+    flush();
+    if (started && coveredUntil < endMillis) {
+      gap(coveredUntil, endMillis);
+      coveredUntil = endMillis;
+    }
+  }
+
+
+
+  /**
+   * Gets how far the timeline is covered by released Intervals.
+   *
+   * @return a long value of milliseconds since the epoch, or Long.MIN_VALUE
+   */
+  public long getCoveredUntilMillis() { return started ? coveredUntil : Long.MIN_VALUE; }
+
+  /**
+   * Gets the number of gaps reported.
+   *
+   * @return a long value
+   */
+  public long getGaps() { return gaps; }
+
+  /**
+   * Gets the total length of gaps reported.
+   *
+   * @return a long value of milliseconds
+   */
+  public long getGapMillis() { return gapMillis; }
+
+  /**
+   * Gets the number of overlaps reported.
+   *
+   * @return a long value
+   */
+  public long getOverlaps() { return overlaps; }
+
+  /**
+   * Gets the total length of overlaps reported.
+   *
+   * @return a long value of milliseconds
+   */
+  public long getOverlapMillis() { return overlapMillis; }
+
+  /**
+   * Gets the number of late Intervals.
+   *
+   * @return a long value
+   */
+  public long getLate() { return late; }
+
+
+
+  private void audit(long start, long end) {
+    if (!started) {
+      started = true;
+      lastStart = start;
+      coveredUntil = end;
+      return;
+    }
+    if (start < lastStart) {
+      late++;
+      listener.onLate(start, end);
+      return;
+    }
+    lastStart = start;
+
+    if (start > coveredUntil) {
+      gap(coveredUntil, start);
+    } else if (start < coveredUntil && start < end) {
+      long overlapEnd = Math.min(end, coveredUntil);
+      overlaps++;
+      overlapMillis += overlapEnd - start;
+      listener.onOverlap(start, overlapEnd);
+    }
+    coveredUntil = Math.max(coveredUntil, end);
+  }
+
+  private void gap(long start, long end) {
+    gaps++;
+    gapMillis += end - start;
+    listener.onGap(start, end);
+  }
+
+  private boolean less(int i, int j) {
+    return heapStarts[i] < heapStarts[j]
+      || (heapStarts[i] == heapStarts[j] && heapEnds[i] < heapEnds[j]);
+  }
+
+  private void swap(int i, int j) {
+    long s = heapStarts[i];
+    long e = heapEnds[i];
+    heapStarts[i] = heapStarts[j];
+    heapEnds[i] = heapEnds[j];
+    heapStarts[j] = s;
+    heapEnds[j] = e;
+  }
+
+  private void siftUp(int i) {
+    while (i > 0) {
+      int parent = (i - 1) >>> 1;
+      if (!less(i, parent)) { return; }
+      swap(i, parent);
+      i = parent;
+    }
+  }
+
+  private void siftDown(int i) {
+    while (true) {
+      int child = 2 * i + 1;
+      if (child >= heapSize) { return; }
+      if (child + 1 < heapSize && less(child + 1, child)) { child++; }
+      if (!less(child, i)) { return; }
+      swap(i, child);
+      i = child;
+    }
+  }
+
+}
@@ -18,16 +18,32 @@
 
 package com.tkmtwo.timex;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkPositionIndexes;
 
+import com.google.common.base.Throwables;
+
+import org.joda.time.Chronology;
 import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
 import org.joda.time.Duration;
 import org.joda.time.Interval;
 import org.joda.time.Period;
+import org.joda.time.ReadableInterval;
+import org.joda.time.chrono.ISOChronology;
 
 
 
@@ -64,10 +80,9 @@ public final class Intervals {
   public static String printBasic(Interval i) {
 
     checkNotNull(i, "Input interval is null.");
-    return
-      DateTimes.getBasicFormatter().print(i.getStart())
-      + "/"
-      + DateTimes.getBasicFormatter().print(i.getEnd());
+    StringBuilder sb = new StringBuilder(2 * MAX_TIMESTAMP_LENGTH + 1);
+    DateTimes.printBasicTo(i.getStartMillis(), sb).append('/');
+    return DateTimes.printBasicTo(i.getEndMillis(), sb).toString();
     
   }
   
@@ -90,15 +105,356 @@ public final class Intervals {
   public static String printExtended(Interval i) {
 
     checkNotNull(i, "Input interval is null.");
-    return
-      DateTimes.getExtendedFormatter().print(i.getStart())
-      + "/"
-      + DateTimes.getExtendedFormatter().print(i.getEnd());
+    StringBuilder sb = new StringBuilder(2 * MAX_TIMESTAMP_LENGTH + 1);
+    DateTimes.printExtendedTo(i.getStartMillis(), sb).append('/');
+    return DateTimes.printExtendedTo(i.getEndMillis(), sb).toString();
     
   }
   
   
   
+  /**
+   * Parse an Interval from ISO basic START/END format in the UTC
+   * time zone, as written by printBasic(Interval).
+   *
+   * @param s a String value
+   * @return an Interval value
+   * @see #parseBasic(CharSequence, int, int)
+   */
+  public static Interval parseBasic(String s) {
+    checkNotNull(s, "Input string is null.");
+    return parseBasic(s, 0, s.length());
+  }
+
+  /**
+   * Parse an Interval from a range of a CharSequence in ISO basic
+   * START/END format.
+   * <p>
+   *
+   * Each half is read by DateTimes.parseBasicMillis() and no substrings
+   * are created.
+   *
+   * @param cs a CharSequence value
+   * @param off an int offset of the first character
+   * @param len an int number of characters
+   * @return an Interval value
+   */
+  public static Interval parseBasic(CharSequence cs, int off, int len) {
+    long[] millis = new long[2];
+    parseBasicMillis(cs, off, len, millis, 0);
+    return new Interval(millis[0], millis[1], ISOChronology.getInstanceUTC());
+  }
+
+  /**
+   * Parse the start and end millis of an Interval from a range of a
+   * CharSequence in ISO basic START/END format, without creating
+   * any objects.
+   *
+   * @param cs a CharSequence value
+   * @param off an int offset of the first character
+   * @param len an int number of characters
+   * @param dst a long[] receiving the start at dstOff and the end at dstOff + 1
+   * @param dstOff an int offset into dst
+   * @see #parseBasic(CharSequence, int, int)
+   */
+  public static void parseBasicMillis(CharSequence cs, int off, int len, long[] dst, int dstOff) {
+    parseMillis(false, cs, off, len, dst, dstOff);
+  }
+
+  /**
+   * Parse an Interval from ISO extended START/END format, as written
+   * by printExtended(Interval).  The Interval is in the UTC time zone.
+   *
+   * @param s a String value
+   * @return an Interval value
+   * @see #parseExtended(CharSequence, int, int)
+   */
+  public static Interval parseExtended(String s) {
+    checkNotNull(s, "Input string is null.");
+    return parseExtended(s, 0, s.length());
+  }
+
+  /**
+   * Parse an Interval from a range of a CharSequence in ISO extended
+   * START/END format.
+   * <p>
+   *
+   * Each half is read by DateTimes.parseExtendedMillis(), so fractions
+   * and zone offsets are accepted.
+   *
+   * @param cs a CharSequence value
+   * @param off an int offset of the first character
+   * @param len an int number of characters
+   * @return an Interval value
+   */
+  public static Interval parseExtended(CharSequence cs, int off, int len) {
+    long[] millis = new long[2];
+    parseExtendedMillis(cs, off, len, millis, 0);
+    return new Interval(millis[0], millis[1], ISOChronology.getInstanceUTC());
+  }
+
+  /**
+   * Parse the start and end millis of an Interval from a range of a
+   * CharSequence in ISO extended START/END format.
+   *
+   * @param cs a CharSequence value
+   * @param off an int offset of the first character
+   * @param len an int number of characters
+   * @param dst a long[] receiving the start at dstOff and the end at dstOff + 1
+   * @param dstOff an int offset into dst
+   * @see #parseExtended(CharSequence, int, int)
+   */
+  public static void parseExtendedMillis(CharSequence cs, int off, int len, long[] dst, int dstOff) {
+    parseMillis(true, cs, off, len, dst, dstOff);
+  }
+
+  private static void parseMillis(boolean extended,
+                                  CharSequence cs, int off, int len,
+                                  long[] dst, int dstOff) {
+    checkNotNull(cs, "Input string is null.");
+    checkNotNull(dst, "Need a destination.");
+    checkPositionIndexes(off, off + len, cs.length());
+    checkPositionIndexes(dstOff, dstOff + 2, dst.length);
+
+    int slash = -1;
+    for (int i = off; i < off + len; i++) {
+      if (cs.charAt(i) == '/') {
+        slash = i;
+        break;
+      }
+    }
+    if (slash < 0) {
+      throw new IllegalArgumentException("Invalid interval, expected START/END: '"
+                                         + cs.subSequence(off, off + len) + "'.");
+    }
+    int endLen = off + len - slash - 1;
+    long start = extended
+      ? DateTimes.parseExtendedMillis(cs, off, slash - off)
+      : DateTimes.parseBasicMillis(cs, off, slash - off);
+    long end = extended
+      ? DateTimes.parseExtendedMillis(cs, slash + 1, endLen)
+      : DateTimes.parseBasicMillis(cs, slash + 1, endLen);
+    checkArgument(start <= end, "The end of the interval is before its start.");
+    dst[dstOff] = start;
+    dst[dstOff + 1] = end;
+  }
+
+
+
+
+  /**
+   * Write Intervals to a Writer in ISO basic START/END format, one per
+   * line.
+   * <p>
+   *
+   * Lines are printed into a reused char buffer by
+   * DateTimes.printBasicTo() and handed to the Writer in blocks, so no
+   * Strings are created.  The Writer is not flushed or closed.
+   *
+   * @param intervals an Iterable of ReadableInterval values
+   * @param writer a Writer value
+   * @throws IOException if the Writer does
+   */
+  public static void writeBasic(Iterable<? extends ReadableInterval> intervals, Writer writer)
+    throws IOException {
+    write(false, intervals, writer);
+  }
+
+  /**
+   * Write start and end millis pairs to a Writer in ISO basic START/END
+   * format, one per line.
+   *
+   * @param startEndMillis long values, { start0, end0, start1, end1, ... }
+   * @param writer a Writer value
+   * @throws IOException if the Writer does
+   * @see #writeBasic(Iterable, Writer)
+   */
+  public static void writeBasic(long[] startEndMillis, Writer writer)
+    throws IOException {
+    write(false, startEndMillis, writer);
+  }
+
+  /**
+   * Write Intervals to a ByteBuffer as ASCII ISO basic START/END lines,
+   * from an index until the list ends or the buffer is full.
+   * <p>
+   *
+   * Only whole lines are written.  Drain the buffer and call again
+   * with the returned index to continue.
+   *
+   * @param intervals a List of ReadableInterval values
+   * @param from an int index of the first Interval to write
+   * @param dst a ByteBuffer value
+   * @return an int index of the first Interval not written
+   */
+  public static int writeBasic(List<? extends ReadableInterval> intervals, int from, ByteBuffer dst) {
+    return write(false, intervals, from, dst);
+  }
+
+  /**
+   * Write start and end millis pairs to a ByteBuffer as ASCII ISO basic
+   * START/END lines, from an index until the pairs end or the buffer
+   * is full.
+   *
+   * @param startEndMillis long values, { start0, end0, start1, end1, ... }
+   * @param from an int index of the first pair to write
+   * @param dst a ByteBuffer value
+   * @return an int index of the first pair not written
+   * @see #writeBasic(List, int, ByteBuffer)
+   */
+  public static int writeBasic(long[] startEndMillis, int from, ByteBuffer dst) {
+    return write(false, startEndMillis, from, dst);
+  }
+
+  /**
+   * Write Intervals to a Writer in ISO extended START/END format, one
+   * per line.
+   *
+   * @param intervals an Iterable of ReadableInterval values
+   * @param writer a Writer value
+   * @throws IOException if the Writer does
+   * @see #writeBasic(Iterable, Writer)
+   */
+  public static void writeExtended(Iterable<? extends ReadableInterval> intervals, Writer writer)
+    throws IOException {
+    write(true, intervals, writer);
+  }
+
+  /**
+   * Write start and end millis pairs to a Writer in ISO extended
+   * START/END format, one per line.
+   *
+   * @param startEndMillis long values, { start0, end0, start1, end1, ... }
+   * @param writer a Writer value
+   * @throws IOException if the Writer does
+   * @see #writeBasic(Iterable, Writer)
+   */
+  public static void writeExtended(long[] startEndMillis, Writer writer)
+    throws IOException {
+    write(true, startEndMillis, writer);
+  }
+
+  /**
+   * Write Intervals to a ByteBuffer as ASCII ISO extended START/END
+   * lines, from an index until the list ends or the buffer is full.
+   *
+   * @param intervals a List of ReadableInterval values
+   * @param from an int index of the first Interval to write
+   * @param dst a ByteBuffer value
+   * @return an int index of the first Interval not written
+   * @see #writeBasic(List, int, ByteBuffer)
+   */
+  public static int writeExtended(List<? extends ReadableInterval> intervals, int from, ByteBuffer dst) {
+    return write(true, intervals, from, dst);
+  }
+
+  /**
+   * Write start and end millis pairs to a ByteBuffer as ASCII ISO
+   * extended START/END lines, from an index until the pairs end or the
+   * buffer is full.
+   *
+   * @param startEndMillis long values, { start0, end0, start1, end1, ... }
+   * @param from an int index of the first pair to write
+   * @param dst a ByteBuffer value
+   * @return an int index of the first pair not written
+   * @see #writeBasic(List, int, ByteBuffer)
+   */
+  public static int writeExtended(long[] startEndMillis, int from, ByteBuffer dst) {
+    return write(true, startEndMillis, from, dst);
+  }
+
+
+  //Longest timestamp either printer writes, for years beyond 9999.
+  private static final int MAX_TIMESTAMP_LENGTH = 32;
+  private static final int MAX_LINE_LENGTH = 2 * MAX_TIMESTAMP_LENGTH + 2;
+  private static final int WRITE_BUFFER_LENGTH = 8192;
+
+  private static void write(boolean extended,
+                            Iterable<? extends ReadableInterval> intervals,
+                            Writer writer)
+    throws IOException {
+    checkNotNull(intervals, "Need intervals.");
+    checkNotNull(writer, "Need a Writer.");
+    char[] buf = new char[WRITE_BUFFER_LENGTH];
+    int n = 0;
+    for (ReadableInterval interval : intervals) {
+      checkNotNull(interval, "Intervals can not be null.");
+      if (n > buf.length - MAX_LINE_LENGTH) {
+        writer.write(buf, 0, n);
+        n = 0;
+      }
+      n = printLine(extended, interval.getStartMillis(), interval.getEndMillis(), buf, n);
+    }
+    writer.write(buf, 0, n);
+  }
+
+  private static void write(boolean extended, long[] startEndMillis, Writer writer)
+    throws IOException {
+    checkPairs(startEndMillis);
+    checkNotNull(writer, "Need a Writer.");
+    char[] buf = new char[WRITE_BUFFER_LENGTH];
+    int n = 0;
+    for (int i = 0; i < startEndMillis.length; i += 2) {
+      if (n > buf.length - MAX_LINE_LENGTH) {
+        writer.write(buf, 0, n);
+        n = 0;
+      }
+      n = printLine(extended, startEndMillis[i], startEndMillis[i + 1], buf, n);
+    }
+    writer.write(buf, 0, n);
+  }
+
+  private static int write(boolean extended,
+                           List<? extends ReadableInterval> intervals,
+                           int from,
+                           ByteBuffer dst) {
+    checkNotNull(intervals, "Need intervals.");
+    checkNotNull(dst, "Need a destination.");
+    checkPositionIndexes(from, intervals.size(), intervals.size());
+    int i = from;
+    while (i < intervals.size() && dst.remaining() >= MAX_LINE_LENGTH) {
+      ReadableInterval interval = checkNotNull(intervals.get(i), "Intervals can not be null.");
+      printLine(extended, interval.getStartMillis(), interval.getEndMillis(), dst);
+      i++;
+    }
+    return i;
+  }
+
+  private static int write(boolean extended, long[] startEndMillis, int from, ByteBuffer dst) {
+    checkPairs(startEndMillis);
+    checkNotNull(dst, "Need a destination.");
+    int pairs = startEndMillis.length / 2;
+    checkPositionIndexes(from, pairs, pairs);
+    int i = from;
+    while (i < pairs && dst.remaining() >= MAX_LINE_LENGTH) {
+      printLine(extended, startEndMillis[2 * i], startEndMillis[2 * i + 1], dst);
+      i++;
+    }
+    return i;
+  }
+
+  private static void checkPairs(long[] startEndMillis) {
+    checkNotNull(startEndMillis, "Need millis.");
+    checkArgument(startEndMillis.length % 2 == 0, "Need start and end pairs.");
+  }
+
+  private static int printLine(boolean extended, long start, long end, char[] dst, int off) {
+    int p = extended ? DateTimes.printExtendedTo(start, dst, off) : DateTimes.printBasicTo(start, dst, off);
+    dst[p++] = '/';
+    p = extended ? DateTimes.printExtendedTo(end, dst, p) : DateTimes.printBasicTo(end, dst, p);
+    dst[p++] = '\n';
+    return p;
+  }
+
+  private static void printLine(boolean extended, long start, long end, ByteBuffer dst) {
+    if (extended) { DateTimes.printExtendedTo(start, dst); } else { DateTimes.printBasicTo(start, dst); }
+    dst.put((byte) '/');
+    if (extended) { DateTimes.printExtendedTo(end, dst); } else { DateTimes.printBasicTo(end, dst); }
+    dst.put((byte) '\n');
+  }
+  
+  
+  
   
   
   
@@ -160,6 +516,233 @@ public final class Intervals {
   
   
   
+  /*
+   * ALIGNED INTERVALS
+   * ALIGNED INTERVALS
+   * ALIGNED INTERVALS
+   */
+  
+  
+  
+  /**
+   * Cover an Interval with buckets aligned to a unit in a time zone.
+   * <p>
+   *
+   * The result runs from the bucket containing the start of the
+   * Interval to the bucket containing its last instant, so the first
+   * and last buckets may reach outside of it.  Intervals are in the
+   * ISO chronology of the zone.
+   *
+   * @param interval an Interval value
+   * @param unit a DateTimeFields value
+   * @param multiple an int number of units in each bucket
+   * @param zone a DateTimeZone value
+   * @return a List of Interval values
+   * @see #alignedMillis(Interval, DateTimeFields, int, DateTimeZone)
+   */
+  public static List<Interval> aligned(Interval interval,
+                                       DateTimeFields unit,
+                                       int multiple,
+                                       DateTimeZone zone) {
+    long[] bounds = alignedMillis(interval, unit, multiple, zone);
+    Chronology chronology = ISOChronology.getInstance(zone);
+    List<Interval> intervals = new ArrayList<Interval>(bounds.length - 1);
+    for (int i = 1; i < bounds.length; i++) {
+      intervals.add(new Interval(bounds[i - 1], bounds[i], chronology));
+    }
+    return intervals;
+  }
+  
+  /**
+   * Get the boundaries of buckets aligned to a unit in a time zone
+   * which cover an Interval.
+   * <p>
+   *
+   * Buckets are aligned to the local epoch of the zone: with MINUTE
+   * and 15 they start on the quarter hour, with HOUR and 6 at 00, 06,
+   * 12 and 18 local time, and with DAY and 7 on local midnights a whole
+   * number of weeks from 1970-01-01.  MONTH, YEAR and CENTURY buckets
+   * are counted from year 0, so MONTH and 3 gives calendar quarters and
+   * YEAR and 10 gives decades.
+   * <p>
+   *
+   * Units up to HOUR follow JodaTime's rounding of time fields: a
+   * boundary is an instant whose local time, under the offset in force
+   * at that instant, is aligned.  A repeated hour when clocks go back
+   * is therefore two hourly buckets, and a skipped hour is none.  DAY
+   * and longer units follow its date fields: a boundary is a local
+   * midnight resolved through DateTimeZone.getOffsetFromLocal(), so
+   * days are 23 or 25 hours long across DST changes, and a day skipped
+   * entirely by its zone has no bucket.
+   * <p>
+   *
+   * The zone's offset transitions around the Interval are looked up
+   * once, after which each boundary is plain arithmetic on local millis.
+   * <p>
+   *
+   * @param interval an Interval value
+   * @param unit a DateTimeFields value
+   * @param multiple an int number of units in each bucket
+   * @param zone a DateTimeZone value
+   * @return a long[] of increasing boundaries, one more than the buckets
+   */
+  public static long[] alignedMillis(Interval interval,
+                                     DateTimeFields unit,
+                                     int multiple,
+                                     DateTimeZone zone) {
+    checkNotNull(interval, "Need an interval.");
+    checkNotNull(unit, "Need a unit.");
+    checkNotNull(zone, "Need a zone.");
+    checkArgument(multiple > 0, "Multiple must be positive.");
+    long start = interval.getStartMillis();
+    long end = interval.getEndMillis();
+    checkArgument(start < end, "Interval can not be empty.");
+
+    ZoneTransitions transitions = new ZoneTransitions(zone,
+                                                      start - ALIGN_MARGIN_MILLIS,
+                                                      end + ALIGN_MARGIN_MILLIS);
+    switch (unit) {
+    case MILLIS: return alignedTime(transitions, start, end, multiple);
+    case SECOND: return alignedTime(transitions, start, end, multiple * CivilCalendar.MILLIS_PER_SECOND);
+    case MINUTE: return alignedTime(transitions, start, end, multiple * 60000L);
+    case HOUR: return alignedTime(transitions, start, end, multiple * 3600000L);
+    case CENTURY: return alignedDate(transitions, start, end, unit, 100L * multiple);
+    default: return alignedDate(transitions, start, end, unit, multiple);
+    }
+  }
+  
+  
+  //Local times are within a day of UTC.
+  private static final long ALIGN_MARGIN_MILLIS = 2L * CivilCalendar.MILLIS_PER_DAY;
+  
+  /*
+   * Boundaries of time unit buckets of stepMillis.  Within a run of
+   * one offset, boundaries are stepMillis apart, so the transitions are
+   * only searched again when the run ends.
+   */
+  private static long[] alignedTime(ZoneTransitions transitions, long start, long end, long stepMillis) {
+    long[] bounds = new long[alignedCapacity(start, end, stepMillis)];
+    int n = 0;
+
+    long b = floorAligned(transitions, start, stepMillis);
+    bounds[n++] = b;
+    long runEnd = nextTransition(transitions, b);
+    while (b < end) {
+      b += stepMillis;
+      if (b >= runEnd) {
+        b = ceilingAligned(transitions, runEnd, stepMillis);
+        runEnd = nextTransition(transitions, b);
+      }
+      if (n == bounds.length) { bounds = growAligned(bounds); }
+      bounds[n++] = b;
+    }
+    return n == bounds.length ? bounds : Arrays.copyOf(bounds, n);
+  }
+  
+  /*
+   * The last aligned instant at or before millis.
+   */
+  private static long floorAligned(ZoneTransitions transitions, long millis, long stepMillis) {
+    while (true) {
+      int offset = transitions.getOffset(millis);
+      long b = Math.floorDiv(millis + offset, stepMillis) * stepMillis - offset;
+      long previous = transitions.previousTransition(millis);
+      if (previous >= millis || b > previous) { return b; }
+      //No boundary since the offset changed, so look before the change.
+      millis = previous;
+    }
+  }
+  
+  /*
+   * The first aligned instant at or after millis.
+   */
+  private static long ceilingAligned(ZoneTransitions transitions, long millis, long stepMillis) {
+    while (true) {
+      int offset = transitions.getOffset(millis);
+      long b = -Math.floorDiv(-(millis + offset), stepMillis) * stepMillis - offset;
+      long next = transitions.nextTransition(millis);
+      if (next <= millis || b < next) { return b; }
+      millis = next;
+    }
+  }
+  
+  private static long nextTransition(ZoneTransitions transitions, long millis) {
+    long next = transitions.nextTransition(millis);
+    return next > millis ? next : Long.MAX_VALUE;
+  }
+  
+  /*
+   * Boundaries of date unit buckets, stepping an index of days, months
+   * or years in local time.
+   */
+  private static long[] alignedDate(ZoneTransitions transitions, long start, long end,
+                                    DateTimeFields unit, long step) {
+    long nominal = unit == DateTimeFields.DAY ? CivilCalendar.MILLIS_PER_DAY
+      : unit == DateTimeFields.MONTH ? 28L * CivilCalendar.MILLIS_PER_DAY
+      : 365L * CivilCalendar.MILLIS_PER_DAY;
+    long[] bounds = new long[alignedCapacity(start, end, step * nominal)];
+    int n = 0;
+
+    long local = start + transitions.getOffset(start);
+    long index;
+    if (unit == DateTimeFields.DAY) {
+      index = CivilCalendar.epochDay(local);
+    } else {
+      int ymd = CivilCalendar.fromEpochMillis(local);
+      index = unit == DateTimeFields.MONTH
+        ? CivilCalendar.year(ymd) * 12L + CivilCalendar.month(ymd) - 1
+        : CivilCalendar.year(ymd);
+    }
+    index = Math.floorDiv(index, step) * step;
+
+    long b;
+    do {
+      long localBound = localMillisOf(unit, index);
+      b = localBound - transitions.getOffsetFromLocal(localBound);
+      index += step;
+      //A midnight skipped with its whole day resolves to the next one.
+      if (n > 0 && b <= bounds[n - 1]) { continue; }
+      if (n == bounds.length) { bounds = growAligned(bounds); }
+      bounds[n++] = b;
+    } while (b < end);
+    return n == bounds.length ? bounds : Arrays.copyOf(bounds, n);
+  }
+  
+  private static long localMillisOf(DateTimeFields unit, long index) {
+    switch (unit) {
+    case DAY:
+      return index * CivilCalendar.MILLIS_PER_DAY;
+    case MONTH:
+      return CivilCalendar.toEpochDay((int) Math.floorDiv(index, 12L), (int) Math.floorMod(index, 12L) + 1, 1)
+        * CivilCalendar.MILLIS_PER_DAY;
+    default:
+      return CivilCalendar.toEpochDay((int) index, 1, 1) * CivilCalendar.MILLIS_PER_DAY;
+    }
+  }
+  
+  private static int alignedCapacity(long start, long end, long nominalMillis) {
+    long capacity = (end - start) / nominalMillis + 3L;
+    checkArgument(capacity <= Integer.MAX_VALUE - 8, "Too many intervals (%s) for an array.", capacity);
+    return (int) capacity;
+  }
+  
+  private static long[] growAligned(long[] bounds) {
+    checkArgument(bounds.length < Integer.MAX_VALUE - 8, "Too many intervals for an array.");
+    return Arrays.copyOf(bounds, (int) Math.min(Integer.MAX_VALUE - 8L, bounds.length * 2L));
+  }
+  
+  
+  
+  
+  
+  
+  
+  
+  
+  
+  
+  
+  
   /*
    * INTERVALS BY INTERVAL
    * INTERVALS BY INTERVAL
@@ -271,6 +854,84 @@ public final class Intervals {
                                          long duraMillis) {
     return intervals(DateTimes.splits(dtDirection, interval, duraMillis));
   }
+
+
+
+
+  /**
+   * Split an Interval into an IntervalSeries.
+   * <p>
+   *
+   * Unlike intervals(DateTimeDirection, Interval, long), nothing is
+   * built up front: each Interval is created when it is read.
+   *
+   * @param dtDirection a DateTimeDirection value
+   * @param interval an Interval value
+   * @param duraMillis a long value specifying the duration of each Interval
+   * @return an IntervalSeries value
+   * @see IntervalSeries#of(DateTimeDirection, Interval, long)
+   */
+  public static IntervalSeries series(DateTimeDirection dtDirection,
+                                      Interval interval,
+                                      long duraMillis) {
+    return IntervalSeries.of(dtDirection, interval, duraMillis);
+  }
+
+
+  /**
+   * Split an Interval into smaller Intervals as epoch millis.
+   * <p>
+   *
+   * @param dtDirection a DateTimeDirection value
+   * @param interval an Interval value
+   * @param duraMillis a long value specifying the duration between splits
+   * @return a long[] value of start/end pairs
+   * @see #boundaryMillis(DateTimeDirection, long, long, long)
+   */
+  public static long[] boundaryMillis(DateTimeDirection dtDirection,
+                                      Interval interval,
+                                      long duraMillis) {
+    checkNotNull(interval, "Need an interval.");
+    return boundaryMillis(dtDirection, interval.getStartMillis(), interval.getEndMillis(), duraMillis);
+  }
+
+  /**
+   * Split a range into smaller Intervals as epoch millis.
+   * <p>
+   *
+   * The result holds start/end pairs: elements 2i and 2i + 1 are
+   * the start and end millis of element i of
+   * intervals(dtDirection, new Interval(startMillis, endMillis), duraMillis).
+   * The array is sized exactly before it is filled and no DateTimes
+   * or Intervals are created.
+   * <p>
+   *
+   * @param dtDirection a DateTimeDirection value
+   * @param startMillis a long value of the start in milliseconds since the epoch
+   * @param endMillis a long value of the end in milliseconds since the epoch
+   * @param duraMillis a long value specifying the duration between splits
+   * @return a long[] value of start/end pairs
+   * @see #intervals(DateTimeDirection, Interval, long)
+   */
+  public static long[] boundaryMillis(DateTimeDirection dtDirection,
+                                      long startMillis,
+                                      long endMillis,
+                                      long duraMillis) {
+    int splits = DateTimes.splitArraySize(dtDirection, startMillis, endMillis, duraMillis);
+    checkArgument(splits <= Integer.MAX_VALUE / 2, "Too many intervals (%s) for an array.", splits - 1);
+    long[] dst = new long[2 * (splits - 1)];
+    DateTimes.fillSplitMillis(dtDirection, startMillis, endMillis, duraMillis, dst);
+
+    //Spread split i into pairs i - 1 and i, back to front so no
+    //split is overwritten before it is read.
+    for (int i = splits - 2; i >= 0; i--) {
+      long a = dst[i];
+      long b = dst[i + 1];
+      dst[2 * i] = Math.min(a, b);
+      dst[2 * i + 1] = Math.max(a, b);
+    }
+    return dst;
+  }
   
   
   
@@ -319,6 +980,158 @@ public final class Intervals {
                                          long duraMillis) {
     return intervals(DateTimes.splits(dtDirection, start, size + 1, duraMillis));
   }
+
+
+
+  /**
+   * Create Intervals from a start time in parallel on a ForkJoinPool.
+   * <p>
+   *
+   * The Intervals are equal, in the same order, to those of
+   * intervals(DateTimeDirection, DateTime, long, long).  Interval i is
+   * computed directly from its index, so index ranges are filled into
+   * a presized array independently: ranges longer than GRID_THRESHOLD
+   * are halved and forked.
+   * <p>
+   *
+   * The returned List is fixed-size.
+   *
+   * @param dtDirection a DateTimeDirection value
+   * @param start a DateTime value
+   * @param size a long number of Intervals
+   * @param duraMillis a long value specifying the duration of each Interval
+   * @param pool a ForkJoinPool to build on
+   * @return a List&lt;Interval&gt; value
+   * @see #intervals(DateTimeDirection, DateTime, long, long)
+   */
+  public static List<Interval> intervals(DateTimeDirection dtDirection,
+                                         DateTime start,
+                                         long size,
+                                         long duraMillis,
+                                         ForkJoinPool pool) {
+    checkNotNull(pool, "Need a ForkJoinPool.");
+    GridAction grid = new GridAction(dtDirection, start, size, duraMillis);
+    if (grid.to > GRID_THRESHOLD) {
+      pool.invoke(grid);
+    } else {
+      grid.compute();
+    }
+    return Arrays.asList(grid.intervals);
+  }
+
+  /**
+   * Create Intervals from a start time in parallel on an Executor.
+   * <p>
+   *
+   * Like intervals(DateTimeDirection, DateTime, long, long, ForkJoinPool),
+   * but the index range is cut into at most four chunks per processor,
+   * each no shorter than GRID_THRESHOLD, and every chunk is run as one
+   * task on the Executor.  The calling thread waits for all of them.
+   * <p>
+   *
+   * The returned List is fixed-size.
+   *
+   * @param dtDirection a DateTimeDirection value
+   * @param start a DateTime value
+   * @param size a long number of Intervals
+   * @param duraMillis a long value specifying the duration of each Interval
+   * @param executor an Executor to build on
+   * @return a List&lt;Interval&gt; value
+   * @see #intervals(DateTimeDirection, DateTime, long, long)
+   */
+  public static List<Interval> intervals(DateTimeDirection dtDirection,
+                                         DateTime start,
+                                         long size,
+                                         long duraMillis,
+                                         Executor executor) {
+    checkNotNull(executor, "Need an Executor.");
+    GridAction grid = new GridAction(dtDirection, start, size, duraMillis);
+    int n = grid.to;
+    int maxChunks = 4 * Runtime.getRuntime().availableProcessors();
+    int chunks = Math.max(1, Math.min(maxChunks, n / GRID_THRESHOLD));
+
+    CompletableFuture<?>[] futures = new CompletableFuture<?>[chunks];
+    for (int c = 0; c < chunks; c++) {
+      futures[c] = CompletableFuture.runAsync(grid.slice((int) ((long) n * c / chunks),
+                                                         (int) ((long) n * (c + 1) / chunks)),
+                                              executor);
+    }
+    try {
+      CompletableFuture.allOf(futures).join();
+    } catch (CompletionException ce) {
+      Throwables.propagateIfPossible(ce.getCause());
+      throw ce;
+    }
+    return Arrays.asList(grid.intervals);
+  }
+
+
+  /** Grids longer than this are built in parallel. */
+  static final int GRID_THRESHOLD = 1 << 14;
+
+  /*
+   * Fills [from, to) of a presized Interval[] by index, halving ranges
+   * longer than GRID_THRESHOLD.
+   */
+  private static final class GridAction
+    extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final Interval[] intervals;
+    private final Chronology chronology;
+    private final long origin;
+    private final long step;
+    private final int from;
+    private final int to;
+
+    GridAction(DateTimeDirection dtDirection, DateTime start, long size, long duraMillis) {
+      checkNotNull(dtDirection, "Need a direction.");
+      checkNotNull(start, "Need a start DateTime.");
+      checkArgument(size > 0L && size <= Integer.MAX_VALUE - 8, "Size must be in [1...%s].", Integer.MAX_VALUE - 8);
+      checkArgument(duraMillis != 0L, "DuraMillis can not be zero.");
+      this.intervals = new Interval[(int) size];
+      this.chronology = start.getChronology();
+      this.origin = start.getMillis();
+      this.step = dtDirection == DateTimeDirection.FORWARD ? duraMillis : -duraMillis;
+      this.from = 0;
+      this.to = (int) size;
+    }
+
+    private GridAction(GridAction parent, int from, int to) {
+      this.intervals = parent.intervals;
+      this.chronology = parent.chronology;
+      this.origin = parent.origin;
+      this.step = parent.step;
+      this.from = from;
+      this.to = to;
+    }
+
+    Runnable slice(int sliceFrom, int sliceTo) {
+      final GridAction slice = new GridAction(this, sliceFrom, sliceTo);
+      return new Runnable() {
+        public void run() { slice.fill(); }
+      };
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= GRID_THRESHOLD) {
+        fill();
+        return;
+      }
+      int mid = (from + to) >>> 1;
+      invokeAll(new GridAction(this, from, mid), new GridAction(this, mid, to));
+    }
+
+    void fill() {
+      long a = origin + from * step;
+      for (int i = from; i < to; i++) {
+        long b = a + step;
+        intervals[i] = new Interval(Math.min(a, b), Math.max(a, b), chronology);
+        a = b;
+      }
+    }
+  }
   
   
   
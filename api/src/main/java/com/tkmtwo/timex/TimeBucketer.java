@@ -0,0 +1,256 @@
+/*
+ *
+ * Copyright 2014 Tom Mahaffey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.tkmtwo.timex;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.joda.time.Chronology;
+import org.joda.time.DateTime;
+import org.joda.time.Interval;
+import org.joda.time.ReadableInstant;
+
+
+
+
+/**
+ *
+ * Maps instants to the buckets of an evenly stepped grid in O(1).
+ * <p>
+ *
+ * A FORWARD bucketer numbers buckets from its origin toward the future:
+ * bucket k is [origin + k * step, origin + (k + 1) * step).  A REVERSE
+ * bucketer numbers them toward the past: bucket k is
+ * [origin - (k + 1) * step, origin - k * step).  Starts are inclusive
+ * and ends exclusive, like Interval.contains().
+ * <p>
+ *
+ * bucketOf() is a single Math.floorDiv() and is defined for every
+ * instant, returning negative buckets on the far side of the origin.
+ * indexOf() is bounded by the size of the grid and returns -1 outside
+ * of it.  A bucketer over an Interval has the same buckets as
+ * Intervals.series() over that Interval, including a truncated last
+ * bucket when the step does not divide the Interval evenly.
+ *
+ *
+ * @author Tom Mahaffey
+ *
+ */
+public final class TimeBucketer {
+
+  private final Chronology chronology;
+  private final boolean forward;
+  private final long origin;
+  private final long step;
+  private final long length;
+  private final int size;
+
+
+  private TimeBucketer(Chronology chronology,
+                       boolean forward,
+                       long origin,
+                       long step,
+                       long length,
+                       int size) {
+    this.chronology = chronology;
+    this.forward = forward;
+    this.origin = origin;
+    this.step = step;
+    this.length = length;
+    this.size = size;
+  }
+
+
+
+  /**
+   * Creates a bucketer over an Interval.
+   *
+   * @param dtDirection a DateTimeDirection value
+   * @param interval an Interval value
+   * @param stepMillis a long value of the length of each bucket
+   * @return a TimeBucketer value
+   */
+  public static TimeBucketer of(DateTimeDirection dtDirection,
+                                Interval interval,
+                                long stepMillis) {
+    checkNotNull(dtDirection, "Need a direction.");
+    checkNotNull(interval, "Need an interval.");
+    checkArgument(stepMillis > 0L, "Step must be positive.");
+
+    long length = interval.toDurationMillis();
+    long size = length / stepMillis + (length % stepMillis == 0L ? 0L : 1L);
+    checkArgument(size <= Integer.MAX_VALUE, "Too many buckets.");
+
+    boolean forward = dtDirection == DateTimeDirection.FORWARD;
+    return new TimeBucketer(interval.getChronology(),
+                            forward,
+                            forward ? interval.getStartMillis() : interval.getEndMillis(),
+                            stepMillis,
+                            length,
+                            (int) size);
+  }
+
+  /**
+   * Creates a bucketer of a number of buckets from an origin.
+   *
+   * @param dtDirection a DateTimeDirection value
+   * @param origin a DateTime value where bucket 0 starts (FORWARD) or ends (REVERSE)
+   * @param size an int number of buckets
+   * @param stepMillis a long value of the length of each bucket
+   * @return a TimeBucketer value
+   */
+  public static TimeBucketer of(DateTimeDirection dtDirection,
+                                DateTime origin,
+                                int size,
+                                long stepMillis) {
+    checkNotNull(dtDirection, "Need a direction.");
+    checkNotNull(origin, "Need an origin.");
+    checkArgument(size >= 0, "Size can not be negative.");
+    checkArgument(stepMillis > 0L, "Step must be positive.");
+    checkArgument(size <= Long.MAX_VALUE / stepMillis, "Too many buckets for the step.");
+
+    return new TimeBucketer(origin.getChronology(),
+                            dtDirection == DateTimeDirection.FORWARD,
+                            origin.getMillis(),
+                            stepMillis,
+                            size * stepMillis,
+                            size);
+  }
+
+
+
+  /**
+   * Gets the direction buckets are numbered in.
+   *
+   * @return a DateTimeDirection value
+   */
+  public DateTimeDirection getDirection() {
+    return forward ? DateTimeDirection.FORWARD : DateTimeDirection.REVERSE;
+  }
+
+  /**
+   * Gets the instant where bucket 0 starts (FORWARD) or ends (REVERSE).
+   *
+   * @return a long value of milliseconds since the epoch
+   */
+  public long getOriginMillis() { return origin; }
+
+  /**
+   * Gets the length of each whole bucket.
+   *
+   * @return a long value of milliseconds
+   */
+  public long getStepMillis() { return step; }
+
+  /**
+   * Gets the number of buckets.
+   *
+   * @return an int value
+   */
+  public int size() { return size; }
+
+
+
+  /**
+   * Gets the bucket of an instant, unbounded.
+   *
+   * @param instantMillis a long value of milliseconds since the epoch
+   * @return a long bucket, negative on the far side of the origin
+   */
+  public long bucketOf(long instantMillis) {
+    return forward
+      ? Math.floorDiv(instantMillis - origin, step)
+      : Math.floorDiv(origin - 1L - instantMillis, step);
+  }
+
+  /**
+   * Gets the index of the bucket containing an instant.
+   *
+   * @param instantMillis a long value of milliseconds since the epoch
+   * @return an int index, or -1 if no bucket contains the instant
+   */
+  public int indexOf(long instantMillis) {
+    long distance = forward ? instantMillis - origin : origin - 1L - instantMillis;
+    if (distance < 0L || distance >= length) { return -1; }
+    return (int) (distance / step);
+  }
+
+  /**
+   * Gets the index of the bucket containing an instant.
+   *
+   * @param instant a ReadableInstant value
+   * @return an int index, or -1 if no bucket contains the instant
+   * @see #indexOf(long)
+   */
+  public int indexOf(ReadableInstant instant) {
+    checkNotNull(instant, "Need an instant.");
+    return indexOf(instant.getMillis());
+  }
+
+
+
+  /**
+   * Gets the start of a bucket.
+   *
+   * @param index an int index
+   * @return a long value of milliseconds since the epoch
+   */
+  public long getStartMillis(int index) {
+    checkElementIndex(index, size);
+    return forward
+      ? origin + index * step
+      : Math.max(origin - (index + 1L) * step, origin - length);
+  }
+
+  /**
+   * Gets the end of a bucket.
+   *
+   * @param index an int index
+   * @return a long value of milliseconds since the epoch
+   */
+  public long getEndMillis(int index) {
+    checkElementIndex(index, size);
+    return forward
+      ? Math.min(origin + (index + 1L) * step, origin + length)
+      : origin - index * step;
+  }
+
+  /**
+   * Gets a bucket as an Interval.
+   *
+   * @param index an int index
+   * @return an Interval value
+   */
+  public Interval getInterval(int index) {
+    return new Interval(getStartMillis(index), getEndMillis(index), chronology);
+  }
+
+
+
+  @Override
+  public String toString() {
+    return "TimeBucketer[" + getDirection()
+      + ", origin=" + new DateTime(origin, chronology)
+      + ", size=" + size
+      + ", step=" + step + "ms"
+      + "]";
+  }
+
+}
@@ -18,17 +18,25 @@
 
 package com.tkmtwo.timex;
 
+import java.io.IOException;
 import java.math.RoundingMode;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkPositionIndexes;
 
 import com.google.common.math.IntMath;
 import com.google.common.math.LongMath;
 import com.google.common.primitives.Ints;
 
+import org.joda.time.DateTimeUtils;
+import org.joda.time.DateTimeZone;
 import org.joda.time.Duration;
 import org.joda.time.Period;
+import org.joda.time.ReadableInstant;
 
 
 /**
@@ -42,6 +50,12 @@ import org.joda.time.Period;
  * field as observed on "the wall clock" as well as the number of seconds
  * since the beginning of the day.  <code>WallClock</code> only supports
  * precision to the second (no milliseconds).
+ * <p>
+ *
+ * There are only 86401 distinct values, so every factory and
+ * arithmetic method returns a canonical instance from a table which is
+ * filled as values are first asked for.  Two <code>WallClock</code>s
+ * are equal exactly when they are the same object.
  *
  *
  *
@@ -51,16 +65,40 @@ import org.joda.time.Period;
 public final class WallClock
   implements Comparable<WallClock> {
 
+  /** Returned by tryParse() for text which is not a wall clock time. */
+  public static final int INVALID_SECONDS = -1;
+
   private static final int SECONDS_PER_MINUTE = 60;
   private static final int SECONDS_PER_HOUR   = SECONDS_PER_MINUTE * 60;
   private static final int SECONDS_PER_DAY    = SECONDS_PER_HOUR   * 24;
 
+  //Canonical instances by seconds of day, about 2MB when full.  Racing
+  //threads may both build one, but only the first is ever handed out.
+  private static final AtomicReferenceArray<WallClock> CACHE =
+    new AtomicReferenceArray<WallClock>(SECONDS_PER_DAY + 1);
+
+  static final int BASIC_LENGTH = 6;
+  static final int EXTENDED_LENGTH = 8;
+
+  private static final char[] DIGIT_TENS = new char[60];
+  private static final char[] DIGIT_ONES = new char[60];
+  static {
+    for (int i = 0; i < 60; i++) {
+      DIGIT_TENS[i] = (char) ('0' + i / 10);
+      DIGIT_ONES[i] = (char) ('0' + i % 10);
+    }
+  }
+
 
   private final int hour;
   private final int minute;
   private final int second;
   private final int seconds;
 
+  //Built on first print; racing threads build equal Strings.
+  private String basic;
+  private String extended;
+
   private WallClock(int sod) {
     checkArgument(sod >= 0 && sod <= 86400, "Seconds of day must be in [0...86400].");
 
@@ -135,7 +173,15 @@ public final class WallClock
    * @return a <code>WallClock</code> value
    */
   public static WallClock valueOf(int sod) {
-    return new WallClock(sod);
+    checkArgument(sod >= 0 && sod <= SECONDS_PER_DAY, "Seconds of day must be in [0...86400].");
+    WallClock wc = CACHE.get(sod);
+    if (wc == null) {
+      wc = new WallClock(sod);
+      if (!CACHE.compareAndSet(sod, null, wc)) {
+        wc = CACHE.get(sod);
+      }
+    }
+    return wc;
   }
 
   /**
@@ -213,6 +259,8 @@ public final class WallClock
    * Creates copy of a <code>WallClock</code>.
    * <p>
    *
+   * Instances are canonical, so this is <code>wc</code> itself.
+   * <p>
    *
    * @param wc a <code>WallClock</code> value
    * @return a <code>WallClock</code> value
@@ -220,7 +268,39 @@ public final class WallClock
    */
   public static WallClock valueOf(WallClock wc) {
     checkNotNull(wc, "Need a WallClock.");
-    return valueOf(wc.getSeconds());
+    return wc;
+  }
+
+
+  /**
+   * Creates a <code>WallClock</code> of an instant as seen on a
+   * wall clock in the instant's own time zone, as JodaTime's
+   * <code>LocalTime</code> does.  Milliseconds are truncated.
+   * <p>
+   *
+   * @param ri a <code>ReadableInstant</code> value
+   * @return a <code>WallClock</code> value
+   * @see #valueOf(ReadableInstant, DateTimeZone)
+   */
+  public static WallClock valueOf(ReadableInstant ri) {
+    checkNotNull(ri, "Need an instant.");
+    return valueOf(ri, DateTimeUtils.getInstantChronology(ri).getZone());
+  }
+
+  /**
+   * Creates a <code>WallClock</code> of an instant as seen on a
+   * wall clock in a time zone.  Milliseconds are truncated.
+   * <p>
+   *
+   * @param ri a <code>ReadableInstant</code> value
+   * @param dtz a <code>DateTimeZone</code> value
+   * @return a <code>WallClock</code> value
+   */
+  public static WallClock valueOf(ReadableInstant ri, DateTimeZone dtz) {
+    checkNotNull(ri, "Need an instant.");
+    checkNotNull(dtz, "Need a time zone.");
+    long millis = ri.getMillis();
+    return valueOf(CivilCalendar.secondOfDay(millis + dtz.getOffset(millis)));
   }
 
 
@@ -246,6 +326,21 @@ public final class WallClock
     throw new IllegalArgumentException("Expecting 6 (HHmmss) or 8 (HH:mm:ss) characters.");
   }
 
+  /**
+   * Creates a <code>WallClock</code> from a range of characters in
+   * basic (HHmmss) or extended (HH:mm:ss) format.
+   * <p>
+   *
+   * @param cs a <code>CharSequence</code> value
+   * @param off an <code>int</code> offset of the first character
+   * @param len an <code>int</code> number of characters, 6 or 8
+   * @return a <code>WallClock</code> value
+   * @see #tryParse(CharSequence, int, int)
+   */
+  public static WallClock parse(CharSequence cs, int off, int len) {
+    return valueOfParsed(tryParse(cs, off, len), cs, off, len);
+  }
+
 
   /**
    * Creates a <code>WallClock</code> on a basic-formatted <code>String</code>.
@@ -262,10 +357,7 @@ public final class WallClock
   public static WallClock parseBasic(String s) {
     checkNotNull(s, "Need a string.");
     checkArgument(s.length() == 6, "Expecting 6 characters (HHmmss).");
-
-    return valueOf(s.substring(0, 2),
-                   s.substring(2, 4),
-                   s.substring(4, 6));
+    return valueOfParsed(tryParse(s, 0, 6), s, 0, 6);
   }
 
 
@@ -274,7 +366,9 @@ public final class WallClock
    * <p>
    *
    * This method expects 'HH:mm:ss' (eight characters) exactly.  No effort is made to
-   * resolve negative field values.
+   * resolve negative field values.  The separators are not checked, so
+   * 'HH-mm-ss' and 'HH.mm.ss' are read the same way; tryParse() is
+   * stricter and wants colons.
    *
    * <p>
    *
@@ -285,10 +379,156 @@ public final class WallClock
   public static WallClock parseExtended(String s) {
     checkNotNull(s, "Need a string.");
     checkArgument(s.length() == 8, "Expecting 8 characters (HH:mm:ss).");
+    int sod = secondsOf(field(s.charAt(0), s.charAt(1)),
+                        field(s.charAt(3), s.charAt(4)),
+                        field(s.charAt(6), s.charAt(7)));
+    return valueOfParsed(sod, s, 0, 8);
+  }
+
+  private static WallClock valueOfParsed(int sod, CharSequence cs, int off, int len) {
+    if (sod == INVALID_SECONDS) {
+      throw new IllegalArgumentException("'" + cs.subSequence(off, off + len)
+                                         + "' is not a valid HHmmss or HH:mm:ss time.");
+    }
+    return valueOf(sod);
+  }
+
+
 
-    return valueOf(s.substring(0, 2),
-                   s.substring(3, 5),
-                   s.substring(6, 8));
+
+
+  /**
+   * Parses the seconds of day of a range of characters in basic
+   * (HHmmss) or extended (HH:mm:ss) format, without throwing on bad
+   * text.
+   * <p>
+   *
+   * Fields are read with digit arithmetic and nothing is allocated,
+   * so this is the method for dirty feeds.  As with
+   * <code>valueOf(int, int, int)</code>, fields are summed and only
+   * the total must be a day or less; a field may also be a minus sign
+   * and one digit.
+   * <p>
+   *
+   * @param cs a <code>CharSequence</code> value
+   * @param off an <code>int</code> offset of the first character
+   * @param len an <code>int</code> number of characters
+   * @return an <code>int</code> seconds of day, or INVALID_SECONDS
+   */
+  public static int tryParse(CharSequence cs, int off, int len) {
+    checkNotNull(cs, "Need characters.");
+    checkPositionIndexes(off, off + len, cs.length());
+    if (len == 6) {
+      return secondsOf(field(cs.charAt(off), cs.charAt(off + 1)),
+                       field(cs.charAt(off + 2), cs.charAt(off + 3)),
+                       field(cs.charAt(off + 4), cs.charAt(off + 5)));
+    }
+    if (len == 8 && cs.charAt(off + 2) == ':' && cs.charAt(off + 5) == ':') {
+      return secondsOf(field(cs.charAt(off), cs.charAt(off + 1)),
+                       field(cs.charAt(off + 3), cs.charAt(off + 4)),
+                       field(cs.charAt(off + 6), cs.charAt(off + 7)));
+    }
+    return INVALID_SECONDS;
+  }
+
+  /**
+   * Parses the seconds of day of a range of characters.
+   * <p>
+   *
+   * @param chars a <code>char[]</code> value
+   * @param off an <code>int</code> offset of the first character
+   * @param len an <code>int</code> number of characters
+   * @return an <code>int</code> seconds of day, or INVALID_SECONDS
+   * @see #tryParse(CharSequence, int, int)
+   */
+  public static int tryParse(char[] chars, int off, int len) {
+    checkNotNull(chars, "Need characters.");
+    checkPositionIndexes(off, off + len, chars.length);
+    if (len == 6) {
+      return secondsOf(field(chars[off], chars[off + 1]),
+                       field(chars[off + 2], chars[off + 3]),
+                       field(chars[off + 4], chars[off + 5]));
+    }
+    if (len == 8 && chars[off + 2] == ':' && chars[off + 5] == ':') {
+      return secondsOf(field(chars[off], chars[off + 1]),
+                       field(chars[off + 3], chars[off + 4]),
+                       field(chars[off + 6], chars[off + 7]));
+    }
+    return INVALID_SECONDS;
+  }
+
+  /**
+   * Parses the seconds of day of a range of ASCII bytes.
+   * <p>
+   *
+   * @param bytes a <code>byte[]</code> value
+   * @param off an <code>int</code> offset of the first byte
+   * @param len an <code>int</code> number of bytes
+   * @return an <code>int</code> seconds of day, or INVALID_SECONDS
+   * @see #tryParse(CharSequence, int, int)
+   */
+  public static int tryParse(byte[] bytes, int off, int len) {
+    checkNotNull(bytes, "Need bytes.");
+    checkPositionIndexes(off, off + len, bytes.length);
+    if (len == 6) {
+      return secondsOf(field(bytes[off], bytes[off + 1]),
+                       field(bytes[off + 2], bytes[off + 3]),
+                       field(bytes[off + 4], bytes[off + 5]));
+    }
+    if (len == 8 && bytes[off + 2] == ':' && bytes[off + 5] == ':') {
+      return secondsOf(field(bytes[off], bytes[off + 1]),
+                       field(bytes[off + 3], bytes[off + 4]),
+                       field(bytes[off + 6], bytes[off + 7]));
+    }
+    return INVALID_SECONDS;
+  }
+
+  /**
+   * Parses the seconds of day of a range of ASCII bytes by absolute
+   * index, leaving the buffer's position alone.
+   * <p>
+   *
+   * @param bytes a <code>ByteBuffer</code> value
+   * @param index an <code>int</code> index of the first byte
+   * @param len an <code>int</code> number of bytes
+   * @return an <code>int</code> seconds of day, or INVALID_SECONDS
+   * @see #tryParse(CharSequence, int, int)
+   */
+  public static int tryParse(ByteBuffer bytes, int index, int len) {
+    checkNotNull(bytes, "Need bytes.");
+    checkPositionIndexes(index, index + len, bytes.limit());
+    if (len == 6) {
+      return secondsOf(field(bytes.get(index), bytes.get(index + 1)),
+                       field(bytes.get(index + 2), bytes.get(index + 3)),
+                       field(bytes.get(index + 4), bytes.get(index + 5)));
+    }
+    if (len == 8 && bytes.get(index + 2) == ':' && bytes.get(index + 5) == ':') {
+      return secondsOf(field(bytes.get(index), bytes.get(index + 1)),
+                       field(bytes.get(index + 3), bytes.get(index + 4)),
+                       field(bytes.get(index + 6), bytes.get(index + 7)));
+    }
+    return INVALID_SECONDS;
+  }
+
+
+  private static final int BAD_FIELD = Integer.MIN_VALUE;
+
+  /*
+   * A two character field: two digits, or a minus sign and a digit as
+   * Ints.tryParse() would read it.
+   */
+  private static int field(int c0, int c1) {
+    int d1 = c1 - '0';
+    if (d1 < 0 || d1 > 9) { return BAD_FIELD; }
+    int d0 = c0 - '0';
+    if (d0 >= 0 && d0 <= 9) { return d0 * 10 + d1; }
+    return c0 == '-' ? -d1 : BAD_FIELD;
+  }
+
+  private static int secondsOf(int hrs, int mins, int secs) {
+    if (hrs == BAD_FIELD || mins == BAD_FIELD || secs == BAD_FIELD) { return INVALID_SECONDS; }
+    int sod = hrs * SECONDS_PER_HOUR + mins * SECONDS_PER_MINUTE + secs;
+    return sod >= 0 && sod <= SECONDS_PER_DAY ? sod : INVALID_SECONDS;
   }
 
 
@@ -304,6 +544,7 @@ public final class WallClock
    * @return a <code>boolean</code> value
    */
   public boolean isEqual(WallClock wc) {
+    if (wc == this) { return true; }
     if (wc == null) { return false; }
     return getSeconds() == wc.getSeconds();
   }
@@ -367,7 +608,7 @@ public final class WallClock
    * <p>
    *
    *
-   * @return a <code>boolean</code> value
+   * @return a <code>String</code> value
    */
   public String print() {
     return printBasic();
@@ -377,14 +618,21 @@ public final class WallClock
    * Prints the wall clock time with format 'HHmmss'.
    * <p>
    *
+   * The String is built from digit tables once per instance and then
+   * cached, so printing a <code>WallClock</code> again allocates nothing.
+   * <p>
    *
-   * @return a <code>boolean</code> value
+   * @return a <code>String</code> value
    */
   public String printBasic() {
-    return String.format("%02d%02d%02d",
-                         getHour(),
-                         getMinute(),
-                         getSecond());
+    String s = basic;
+    if (s == null) {
+      char[] chars = new char[BASIC_LENGTH];
+      printTo(false, chars, 0);
+      s = new String(chars);
+      basic = s;
+    }
+    return s;
   }
 
   /**
@@ -392,13 +640,202 @@ public final class WallClock
    * <p>
    *
    *
-   * @return a <code>boolean</code> value
+   * @return a <code>String</code> value
+   * @see #printBasic()
    */
   public String printExtended() {
-    return String.format("%02d:%02d:%02d",
-                         getHour(),
-                         getMinute(),
-                         getSecond());
+    String s = extended;
+    if (s == null) {
+      char[] chars = new char[EXTENDED_LENGTH];
+      printTo(true, chars, 0);
+      s = new String(chars);
+      extended = s;
+    }
+    return s;
+  }
+
+
+  /**
+   * Prints the wall clock time with format 'HHmmss' into a char array.
+   * <p>
+   *
+   * @param dst a <code>char[]</code> with room for 6 characters at off
+   * @param off an <code>int</code> offset of the first character to write
+   * @return an <code>int</code> offset just past the last character written
+   * @throws IndexOutOfBoundsException if the output does not fit at off
+   */
+  public int printBasicTo(char[] dst, int off) {
+    checkNotNull(dst, "Need a destination.");
+    return printTo(false, dst, off);
+  }
+
+  /**
+   * Prints the wall clock time with format 'HHmmss' into an ASCII
+   * byte array.
+   * <p>
+   *
+   * @param dst a <code>byte[]</code> with room for 6 bytes at off
+   * @param off an <code>int</code> offset of the first byte to write
+   * @return an <code>int</code> offset just past the last byte written
+   * @throws IndexOutOfBoundsException if the output does not fit at off
+   */
+  public int printBasicTo(byte[] dst, int off) {
+    checkNotNull(dst, "Need a destination.");
+    return printTo(false, dst, off);
+  }
+
+  /**
+   * Prints the wall clock time with format 'HHmmss' as ASCII bytes at
+   * the position of a <code>ByteBuffer</code>, advancing the position.
+   * <p>
+   *
+   * @param dst a <code>ByteBuffer</code> value
+   * @return the <code>ByteBuffer</code>
+   * @throws BufferOverflowException if the output does not fit
+   *         between the position and the limit
+   */
+  public ByteBuffer printBasicTo(ByteBuffer dst) {
+    checkNotNull(dst, "Need a destination.");
+    return printTo(false, dst);
+  }
+
+  /**
+   * Appends the wall clock time with format 'HHmmss'.
+   * <p>
+   *
+   * @param sb a <code>StringBuilder</code> value
+   * @return the <code>StringBuilder</code>
+   */
+  public StringBuilder printBasicTo(StringBuilder sb) {
+    checkNotNull(sb, "Need a StringBuilder.");
+    return sb.append(printBasic());
+  }
+
+  /**
+   * Appends the wall clock time with format 'HHmmss'.
+   * <p>
+   *
+   * @param a an <code>Appendable</code> value
+   * @return the <code>Appendable</code>
+   * @throws IOException if the <code>Appendable</code> does
+   */
+  public Appendable printBasicTo(Appendable a)
+    throws IOException {
+    checkNotNull(a, "Need an Appendable.");
+    return a.append(printBasic());
+  }
+
+
+  /**
+   * Prints the wall clock time with format 'HH:mm:ss' into a char array.
+   * <p>
+   *
+   * @param dst a <code>char[]</code> with room for 8 characters at off
+   * @param off an <code>int</code> offset of the first character to write
+   * @return an <code>int</code> offset just past the last character written
+   * @throws IndexOutOfBoundsException if the output does not fit at off
+   */
+  public int printExtendedTo(char[] dst, int off) {
+    checkNotNull(dst, "Need a destination.");
+    return printTo(true, dst, off);
+  }
+
+  /**
+   * Prints the wall clock time with format 'HH:mm:ss' into an ASCII
+   * byte array.
+   * <p>
+   *
+   * @param dst a <code>byte[]</code> with room for 8 bytes at off
+   * @param off an <code>int</code> offset of the first byte to write
+   * @return an <code>int</code> offset just past the last byte written
+   * @throws IndexOutOfBoundsException if the output does not fit at off
+   */
+  public int printExtendedTo(byte[] dst, int off) {
+    checkNotNull(dst, "Need a destination.");
+    return printTo(true, dst, off);
+  }
+
+  /**
+   * Prints the wall clock time with format 'HH:mm:ss' as ASCII bytes
+   * at the position of a <code>ByteBuffer</code>, advancing the position.
+   * <p>
+   *
+   * @param dst a <code>ByteBuffer</code> value
+   * @return the <code>ByteBuffer</code>
+   * @throws BufferOverflowException if the output does not fit
+   *         between the position and the limit
+   */
+  public ByteBuffer printExtendedTo(ByteBuffer dst) {
+    checkNotNull(dst, "Need a destination.");
+    return printTo(true, dst);
+  }
+
+  /**
+   * Appends the wall clock time with format 'HH:mm:ss'.
+   * <p>
+   *
+   * @param sb a <code>StringBuilder</code> value
+   * @return the <code>StringBuilder</code>
+   */
+  public StringBuilder printExtendedTo(StringBuilder sb) {
+    checkNotNull(sb, "Need a StringBuilder.");
+    return sb.append(printExtended());
+  }
+
+  /**
+   * Appends the wall clock time with format 'HH:mm:ss'.
+   * <p>
+   *
+   * @param a an <code>Appendable</code> value
+   * @return the <code>Appendable</code>
+   * @throws IOException if the <code>Appendable</code> does
+   */
+  public Appendable printExtendedTo(Appendable a)
+    throws IOException {
+    checkNotNull(a, "Need an Appendable.");
+    return a.append(printExtended());
+  }
+
+
+  /*
+   * HH [:] mm [:] ss, with the separators only written in extended
+   * format.  Hours run to 24, so sixty entries cover every field.
+   */
+  int printTo(boolean ext, char[] dst, int off) {
+    checkPositionIndexes(off, off + (ext ? EXTENDED_LENGTH : BASIC_LENGTH), dst.length);
+    dst[off++] = DIGIT_TENS[hour];
+    dst[off++] = DIGIT_ONES[hour];
+    if (ext) { dst[off++] = ':'; }
+    dst[off++] = DIGIT_TENS[minute];
+    dst[off++] = DIGIT_ONES[minute];
+    if (ext) { dst[off++] = ':'; }
+    dst[off++] = DIGIT_TENS[second];
+    dst[off++] = DIGIT_ONES[second];
+    return off;
+  }
+
+  int printTo(boolean ext, byte[] dst, int off) {
+    checkPositionIndexes(off, off + (ext ? EXTENDED_LENGTH : BASIC_LENGTH), dst.length);
+    dst[off++] = (byte) DIGIT_TENS[hour];
+    dst[off++] = (byte) DIGIT_ONES[hour];
+    if (ext) { dst[off++] = ':'; }
+    dst[off++] = (byte) DIGIT_TENS[minute];
+    dst[off++] = (byte) DIGIT_ONES[minute];
+    if (ext) { dst[off++] = ':'; }
+    dst[off++] = (byte) DIGIT_TENS[second];
+    dst[off++] = (byte) DIGIT_ONES[second];
+    return off;
+  }
+
+  ByteBuffer printTo(boolean ext, ByteBuffer dst) {
+    if (dst.remaining() < (ext ? EXTENDED_LENGTH : BASIC_LENGTH)) {
+      throw new BufferOverflowException();
+    }
+    dst.put((byte) DIGIT_TENS[hour]).put((byte) DIGIT_ONES[hour]);
+    if (ext) { dst.put((byte) ':'); }
+    dst.put((byte) DIGIT_TENS[minute]).put((byte) DIGIT_ONES[minute]);
+    if (ext) { dst.put((byte) ':'); }
+    return dst.put((byte) DIGIT_TENS[second]).put((byte) DIGIT_ONES[second]);
   }
 
 
@@ -419,7 +856,7 @@ public final class WallClock
    * @return a <code>WallClock</code> value
    */
   public WallClock plus(int secs) {
-    return valueOf(IntMath.checkedAdd(getSeconds(), secs));
+    return valueOf(WallClocks.plus(getSeconds(), secs));
   }
 
   /**
@@ -528,7 +965,7 @@ public final class WallClock
    * @return a <code>WallClock</code> value
    */
   public WallClock minus(int secs) {
-    return valueOf(IntMath.checkedSubtract(getSeconds(), secs));
+    return valueOf(WallClocks.minus(getSeconds(), secs));
   }
 
   /**
@@ -629,6 +1066,7 @@ public final class WallClock
 
   @Override
   public boolean equals(Object obj) {
+    if (obj == this) { return true; }
     if (obj == null) { return false; }
     if (getClass() != obj.getClass()) { return false; }
 
@@ -18,8 +18,13 @@
 
 package com.tkmtwo.timex;
 
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkPositionIndexes;
 
 import com.google.common.base.Objects;
 import com.google.common.collect.ComparisonChain;
@@ -269,13 +274,9 @@ public final class WallClockInterval
    * @return a <code>String</code> value
    */
   public String printBasic() {
-    return String.format("%02d%02d%02d/%02d%02d%02d",
-                         getStart().getHour(),
-                         getStart().getMinute(),
-                         getStart().getSecond(),
-                         getEnd().getHour(),
-                         getEnd().getMinute(),
-                         getEnd().getSecond());
+    char[] chars = new char[2 * WallClock.BASIC_LENGTH + 1];
+    printTo(false, chars, 0);
+    return new String(chars);
   }
 
   /**
@@ -284,13 +285,168 @@ public final class WallClockInterval
    * @return a <code>String</code> value
    */
   public String printExtended() {
-    return String.format("%02d:%02d:%02d/%02d:%02d:%02d",
-                         getStart().getHour(),
-                         getStart().getMinute(),
-                         getStart().getSecond(),
-                         getEnd().getHour(),
-                         getEnd().getMinute(),
-                         getEnd().getSecond());
+    char[] chars = new char[2 * WallClock.EXTENDED_LENGTH + 1];
+    printTo(true, chars, 0);
+    return new String(chars);
+  }
+
+
+  /**
+   * Formats the interval using 'HHmmss/HHmmss' into a char array.
+   *
+   * @param dst a <code>char[]</code> with room for 13 characters at off
+   * @param off an <code>int</code> offset of the first character to write
+   * @return an <code>int</code> offset just past the last character written
+   * @throws IndexOutOfBoundsException if the output does not fit at off
+   */
+  public int printBasicTo(char[] dst, int off) {
+    checkNotNull(dst, "Need a destination.");
+    return printTo(false, dst, off);
+  }
+
+  /**
+   * Formats the interval using 'HHmmss/HHmmss' into an ASCII byte array.
+   *
+   * @param dst a <code>byte[]</code> with room for 13 bytes at off
+   * @param off an <code>int</code> offset of the first byte to write
+   * @return an <code>int</code> offset just past the last byte written
+   * @throws IndexOutOfBoundsException if the output does not fit at off
+   */
+  public int printBasicTo(byte[] dst, int off) {
+    checkNotNull(dst, "Need a destination.");
+    return printTo(false, dst, off);
+  }
+
+  /**
+   * Formats the interval using 'HHmmss/HHmmss' as ASCII bytes at the
+   * position of a <code>ByteBuffer</code>, advancing the position.
+   *
+   * @param dst a <code>ByteBuffer</code> value
+   * @return the <code>ByteBuffer</code>
+   * @throws BufferOverflowException if the output does not fit
+   *         between the position and the limit
+   */
+  public ByteBuffer printBasicTo(ByteBuffer dst) {
+    checkNotNull(dst, "Need a destination.");
+    if (dst.remaining() < length(false)) {
+      throw new BufferOverflowException();
+    }
+    getStart().printTo(false, dst).put((byte) '/');
+    return getEnd().printTo(false, dst);
+  }
+
+  /**
+   * Appends the interval using 'HHmmss/HHmmss'.
+   *
+   * @param sb a <code>StringBuilder</code> value
+   * @return the <code>StringBuilder</code>
+   */
+  public StringBuilder printBasicTo(StringBuilder sb) {
+    checkNotNull(sb, "Need a StringBuilder.");
+    return sb.append(getStart().printBasic()).append('/').append(getEnd().printBasic());
+  }
+
+  /**
+   * Appends the interval using 'HHmmss/HHmmss'.
+   *
+   * @param a an <code>Appendable</code> value
+   * @return the <code>Appendable</code>
+   * @throws IOException if the <code>Appendable</code> does
+   */
+  public Appendable printBasicTo(Appendable a)
+    throws IOException {
+    checkNotNull(a, "Need an Appendable.");
+    return a.append(getStart().printBasic()).append('/').append(getEnd().printBasic());
+  }
+
+
+  /**
+   * Formats the interval using 'HH:mm:ss/HH:mm:ss' into a char array.
+   *
+   * @param dst a <code>char[]</code> with room for 17 characters at off
+   * @param off an <code>int</code> offset of the first character to write
+   * @return an <code>int</code> offset just past the last character written
+   * @throws IndexOutOfBoundsException if the output does not fit at off
+   */
+  public int printExtendedTo(char[] dst, int off) {
+    checkNotNull(dst, "Need a destination.");
+    return printTo(true, dst, off);
+  }
+
+  /**
+   * Formats the interval using 'HH:mm:ss/HH:mm:ss' into an ASCII byte
+   * array.
+   *
+   * @param dst a <code>byte[]</code> with room for 17 bytes at off
+   * @param off an <code>int</code> offset of the first byte to write
+   * @return an <code>int</code> offset just past the last byte written
+   * @throws IndexOutOfBoundsException if the output does not fit at off
+   */
+  public int printExtendedTo(byte[] dst, int off) {
+    checkNotNull(dst, "Need a destination.");
+    return printTo(true, dst, off);
+  }
+
+  /**
+   * Formats the interval using 'HH:mm:ss/HH:mm:ss' as ASCII bytes at
+   * the position of a <code>ByteBuffer</code>, advancing the position.
+   *
+   * @param dst a <code>ByteBuffer</code> value
+   * @return the <code>ByteBuffer</code>
+   * @throws BufferOverflowException if the output does not fit
+   *         between the position and the limit
+   */
+  public ByteBuffer printExtendedTo(ByteBuffer dst) {
+    checkNotNull(dst, "Need a destination.");
+    if (dst.remaining() < length(true)) {
+      throw new BufferOverflowException();
+    }
+    getStart().printTo(true, dst).put((byte) '/');
+    return getEnd().printTo(true, dst);
+  }
+
+  /**
+   * Appends the interval using 'HH:mm:ss/HH:mm:ss'.
+   *
+   * @param sb a <code>StringBuilder</code> value
+   * @return the <code>StringBuilder</code>
+   */
+  public StringBuilder printExtendedTo(StringBuilder sb) {
+    checkNotNull(sb, "Need a StringBuilder.");
+    return sb.append(getStart().printExtended()).append('/').append(getEnd().printExtended());
+  }
+
+  /**
+   * Appends the interval using 'HH:mm:ss/HH:mm:ss'.
+   *
+   * @param a an <code>Appendable</code> value
+   * @return the <code>Appendable</code>
+   * @throws IOException if the <code>Appendable</code> does
+   */
+  public Appendable printExtendedTo(Appendable a)
+    throws IOException {
+    checkNotNull(a, "Need an Appendable.");
+    return a.append(getStart().printExtended()).append('/').append(getEnd().printExtended());
+  }
+
+
+  //Checked up front so a short destination is left untouched.
+  private static int length(boolean extended) {
+    return 2 * (extended ? WallClock.EXTENDED_LENGTH : WallClock.BASIC_LENGTH) + 1;
+  }
+
+  private int printTo(boolean extended, char[] dst, int off) {
+    checkPositionIndexes(off, off + length(extended), dst.length);
+    off = getStart().printTo(extended, dst, off);
+    dst[off++] = '/';
+    return getEnd().printTo(extended, dst, off);
+  }
+
+  private int printTo(boolean extended, byte[] dst, int off) {
+    checkPositionIndexes(off, off + length(extended), dst.length);
+    off = getStart().printTo(extended, dst, off);
+    dst[off++] = '/';
+    return getEnd().printTo(extended, dst, off);
   }
 
 
@@ -0,0 +1,361 @@
+/*
+ *
+ * Copyright 2014 Tom Mahaffey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.tkmtwo.timex;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+
+
+
+/**
+ *
+ * Utilities for wall clock times held as plain int seconds of day,
+ * for hot paths which should create no <code>WallClock</code>s at all.
+ * <p>
+ *
+ * Seconds of day run from 0 to 86400 inclusive, like
+ * <code>WallClock</code>, and every method here gives the same answer
+ * as its <code>WallClock</code> or <code>WallClockInterval</code>
+ * counterpart.  Arithmetic takes an Overflow policy for results
+ * outside of the day.
+ * <p>
+ *
+ * A wall clock interval is packed into a long, start in the high 32
+ * bits and end in the low 32, by interval().  Packed intervals compare
+ * as longs in the same order as WallClockInterval.compareTo(), and
+ * methods which would return a null <code>WallClockInterval</code>
+ * return NO_INTERVAL instead.
+ *
+ *
+ * @author Tom Mahaffey
+ *
+ */
+public final class WallClocks {
+
+  /**
+   * What arithmetic does with a result outside of [0...86400].
+   */
+  public enum Overflow {
+    /** Throw, as <code>WallClock.plus()</code> and <code>minus()</code> do. */
+    REJECT,
+    /** Stop at 0 or 86400. */
+    CLAMP,
+    /** Wrap around midnight, into [0...86399]. */
+    WRAP
+  }
+
+  /** The seconds in a day, and the greatest seconds of day. */
+  public static final int SECONDS_PER_DAY = 86400;
+
+  /** Returned for a null <code>WallClockInterval</code>. */
+  public static final long NO_INTERVAL = -1L;
+
+  private static final int SECONDS_PER_MINUTE = 60;
+  private static final int SECONDS_PER_HOUR = 3600;
+  private static final long LOW_MASK = 0xFFFFFFFFL;
+
+
+  private WallClocks() {}
+
+
+
+  /**
+   * Tells whether an int is a valid seconds of day.
+   *
+   * @param sod an <code>int</code> value
+   * @return a <code>boolean</code> value
+   */
+  public static boolean isValid(int sod) {
+    return sod >= 0 && sod <= SECONDS_PER_DAY;
+  }
+
+  private static int checkSeconds(int sod) {
+    checkArgument(sod >= 0 && sod <= SECONDS_PER_DAY, "Seconds of day must be in [0...86400].");
+    return sod;
+  }
+
+  /**
+   * Gets the seconds of day of hours, minutes and seconds, summed as
+   * <code>WallClock.valueOf(int, int, int)</code> does.
+   *
+   * @param hrs an <code>int</code> number of hours
+   * @param mins an <code>int</code> number of minutes
+   * @param secs an <code>int</code> number of seconds
+   * @return an <code>int</code> seconds of day
+   */
+  public static int of(int hrs, int mins, int secs) {
+    int sod = Math.addExact(Math.addExact(Math.multiplyExact(hrs, SECONDS_PER_HOUR),
+                                          Math.multiplyExact(mins, SECONDS_PER_MINUTE)),
+                            secs);
+    return checkSeconds(sod);
+  }
+
+  /**
+   * Gets the hour of the day.
+   *
+   * @param sod an <code>int</code> seconds of day
+   * @return an <code>int</code> value
+   */
+  public static int getHour(int sod) { return sod / SECONDS_PER_HOUR; }
+
+  /**
+   * Gets the minute of the hour.
+   *
+   * @param sod an <code>int</code> seconds of day
+   * @return an <code>int</code> value
+   */
+  public static int getMinute(int sod) { return sod / SECONDS_PER_MINUTE % 60; }
+
+  /**
+   * Gets the second of the minute.
+   *
+   * @param sod an <code>int</code> seconds of day
+   * @return an <code>int</code> value
+   */
+  public static int getSecond(int sod) { return sod % SECONDS_PER_MINUTE; }
+
+
+
+  /**
+   * Adds seconds, rejecting results outside of the day like
+   * <code>WallClock.plus(int)</code>.
+   *
+   * @param sod an <code>int</code> seconds of day
+   * @param secs an <code>int</code> number of seconds
+   * @return an <code>int</code> seconds of day
+   */
+  public static int plus(int sod, int secs) {
+    return checkSeconds(Math.addExact(checkSeconds(sod), secs));
+  }
+
+  /**
+   * Adds seconds.
+   *
+   * @param sod an <code>int</code> seconds of day
+   * @param secs an <code>int</code> number of seconds
+   * @param overflow an <code>Overflow</code> policy
+   * @return an <code>int</code> seconds of day
+   */
+  public static int plus(int sod, int secs, Overflow overflow) {
+    return resolve((long) checkSeconds(sod) + secs, overflow);
+  }
+
+  /**
+   * Subtracts seconds, rejecting results outside of the day like
+   * <code>WallClock.minus(int)</code>.
+   *
+   * @param sod an <code>int</code> seconds of day
+   * @param secs an <code>int</code> number of seconds
+   * @return an <code>int</code> seconds of day
+   */
+  public static int minus(int sod, int secs) {
+    return checkSeconds(Math.subtractExact(checkSeconds(sod), secs));
+  }
+
+  /**
+   * Subtracts seconds.
+   *
+   * @param sod an <code>int</code> seconds of day
+   * @param secs an <code>int</code> number of seconds
+   * @param overflow an <code>Overflow</code> policy
+   * @return an <code>int</code> seconds of day
+   */
+  public static int minus(int sod, int secs, Overflow overflow) {
+    return resolve((long) checkSeconds(sod) - secs, overflow);
+  }
+
+  private static int resolve(long sod, Overflow overflow) {
+    checkNotNull(overflow, "Need an overflow policy.");
+    if (sod >= 0L && sod <= SECONDS_PER_DAY) { return (int) sod; }
+    switch (overflow) {
+    case CLAMP: return sod < 0L ? 0 : SECONDS_PER_DAY;
+    case WRAP: return (int) Math.floorMod(sod, (long) SECONDS_PER_DAY);
+    default: return checkSeconds(Math.toIntExact(sod));
+    }
+  }
+
+
+
+  /**
+   * Compares two seconds of day.
+   *
+   * @param a an <code>int</code> seconds of day
+   * @param b an <code>int</code> seconds of day
+   * @return an <code>int</code> less than, equal to or greater than zero
+   */
+  public static int compare(int a, int b) { return Integer.compare(a, b); }
+
+  /**
+   * Tells whether one seconds of day is before another.
+   *
+   * @param a an <code>int</code> seconds of day
+   * @param b an <code>int</code> seconds of day
+   * @return a <code>boolean</code> value
+   */
+  public static boolean isBefore(int a, int b) { return a < b; }
+
+  /**
+   * Tells whether one seconds of day is after another.
+   *
+   * @param a an <code>int</code> seconds of day
+   * @param b an <code>int</code> seconds of day
+   * @return a <code>boolean</code> value
+   */
+  public static boolean isAfter(int a, int b) { return a > b; }
+
+
+
+  /**
+   * Packs a wall clock interval.
+   *
+   * @param start an <code>int</code> seconds of day
+   * @param end an <code>int</code> seconds of day, not before start
+   * @return a <code>long</code> packed interval
+   */
+  public static long interval(int start, int end) {
+    checkSeconds(start);
+    checkSeconds(end);
+    checkArgument(end >= start, "End must be greater than or equal to start.");
+    return pack(start, end);
+  }
+
+  /**
+   * Packs a <code>WallClockInterval</code>.
+   *
+   * @param wci a <code>WallClockInterval</code> value
+   * @return a <code>long</code> packed interval
+   */
+  public static long interval(WallClockInterval wci) {
+    checkNotNull(wci, "Need a WallClockInterval.");
+    return pack(wci.getStartSeconds(), wci.getEndSeconds());
+  }
+
+  /**
+   * Unpacks a <code>WallClockInterval</code>.
+   *
+   * @param interval a <code>long</code> packed interval, or NO_INTERVAL
+   * @return a <code>WallClockInterval</code> value, or null for NO_INTERVAL
+   */
+  public static WallClockInterval toWallClockInterval(long interval) {
+    if (interval == NO_INTERVAL) { return null; }
+    return new WallClockInterval(WallClock.valueOf(getStart(interval)),
+                                 WallClock.valueOf(getEnd(interval)));
+  }
+
+  private static long pack(int start, int end) {
+    return ((long) start << 32) | end;
+  }
+
+  /**
+   * Gets the start of a packed interval.
+   *
+   * @param interval a <code>long</code> packed interval
+   * @return an <code>int</code> seconds of day
+   */
+  public static int getStart(long interval) { return (int) (interval >>> 32); }
+
+  /**
+   * Gets the end of a packed interval.
+   *
+   * @param interval a <code>long</code> packed interval
+   * @return an <code>int</code> seconds of day
+   */
+  public static int getEnd(long interval) { return (int) (interval & LOW_MASK); }
+
+  /**
+   * Tells whether a seconds of day falls in a packed interval.
+   *
+   * @param interval a <code>long</code> packed interval
+   * @param sod an <code>int</code> seconds of day
+   * @return a <code>boolean</code> value
+   * @see WallClockInterval#contains(int)
+   */
+  public static boolean contains(long interval, int sod) {
+    return sod >= getStart(interval) && sod < getEnd(interval);
+  }
+
+  /**
+   * Tells whether one packed interval contains another.
+   *
+   * @param interval a <code>long</code> packed interval
+   * @param other a <code>long</code> packed interval
+   * @return a <code>boolean</code> value
+   * @see WallClockInterval#contains(WallClockInterval)
+   */
+  public static boolean contains(long interval, long other) {
+    int otherStart = getStart(other);
+    return getStart(interval) <= otherStart
+      && otherStart < getEnd(interval)
+      && getEnd(other) <= getEnd(interval);
+  }
+
+  /**
+   * Tells whether two packed intervals overlap.
+   *
+   * @param interval a <code>long</code> packed interval
+   * @param other a <code>long</code> packed interval
+   * @return a <code>boolean</code> value
+   * @see WallClockInterval#overlaps(WallClockInterval)
+   */
+  public static boolean overlaps(long interval, long other) {
+    return getStart(interval) < getEnd(other) && getStart(other) < getEnd(interval);
+  }
+
+  /**
+   * Gets the overlap of two packed intervals.
+   *
+   * @param interval a <code>long</code> packed interval
+   * @param other a <code>long</code> packed interval
+   * @return a <code>long</code> packed interval, or NO_INTERVAL
+   * @see WallClockInterval#overlap(WallClockInterval)
+   */
+  public static long overlap(long interval, long other) {
+    if (!overlaps(interval, other)) { return NO_INTERVAL; }
+    return pack(Math.max(getStart(interval), getStart(other)),
+                Math.min(getEnd(interval), getEnd(other)));
+  }
+
+  /**
+   * Tells whether two packed intervals abut.
+   *
+   * @param interval a <code>long</code> packed interval
+   * @param other a <code>long</code> packed interval
+   * @return a <code>boolean</code> value
+   * @see WallClockInterval#abuts(WallClockInterval)
+   */
+  public static boolean abuts(long interval, long other) {
+    return getStart(interval) == getEnd(other) || getEnd(interval) == getStart(other);
+  }
+
+  /**
+   * Gets the gap between two packed intervals.
+   *
+   * @param interval a <code>long</code> packed interval
+   * @param other a <code>long</code> packed interval
+   * @return a <code>long</code> packed interval, or NO_INTERVAL
+   * @see WallClockInterval#gap(WallClockInterval)
+   */
+  public static long gap(long interval, long other) {
+    if (getStart(interval) > getEnd(other)) { return pack(getEnd(other), getStart(interval)); }
+    if (getStart(other) > getEnd(interval)) { return pack(getEnd(interval), getStart(other)); }
+    return NO_INTERVAL;
+  }
+
+}
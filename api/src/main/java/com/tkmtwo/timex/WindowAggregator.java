@@ -0,0 +1,217 @@
+/*
+ *
+ * Copyright 2014 Tom Mahaffey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.tkmtwo.timex;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+
+
+
+/**
+ *
+ * Counts and sums events into the windows of a WindowAssigner and
+ * emits each window once the watermark passes its end.
+ * <p>
+ *
+ * Open windows live in a ring of capacity slots: window k uses slot
+ * k mod capacity.  The oldest open window is the one after the last
+ * window ended by the watermark, so the ring covers windows
+ * [oldest, oldest + capacity).  Events for windows before it are late
+ * and events for windows past it are too early to hold; both are
+ * dropped and counted.  The capacity should cover the windows of an
+ * instant plus the expected lead of event time over the watermark.
+ * <p>
+ *
+ * Until the first watermark, the first event sets the oldest open
+ * window to its own first window.
+ * <p>
+ *
+ * Adding events and advancing the watermark allocate nothing.  A
+ * WindowAggregator is not thread safe; use one per partition of a
+ * stream.
+ *
+ *
+ * @author Tom Mahaffey
+ *
+ */
+public final class WindowAggregator {
+
+  /**
+   * Receives windows as they are emitted.
+   */
+  public interface Listener {
+    /**
+     * Called once for each emitted window, oldest first.
+     *
+     * @param window a long window index of the WindowAssigner
+     * @param count a long number of events in the window
+     * @param sum a long sum of the values of those events
+     */
+    void onWindow(long window, long count, long sum);
+  }
+
+
+  private final WindowAssigner assigner;
+  private final int capacity;
+  private final long[] counts;
+  private final long[] sums;
+
+  private boolean started;
+  private long oldest;
+  private long watermark = Long.MIN_VALUE;
+  private long late;
+  private long early;
+
+
+  private WindowAggregator(WindowAssigner assigner, int capacity) {
+    this.assigner = assigner;
+    this.capacity = capacity;
+    this.counts = new long[capacity];
+    this.sums = new long[capacity];
+  }
+
+
+  /**
+   * Creates an aggregator.
+   *
+   * @param assigner a WindowAssigner value
+   * @param capacity an int number of windows held open at once
+   * @return a WindowAggregator value
+   */
+  public static WindowAggregator of(WindowAssigner assigner, int capacity) {
+    checkNotNull(assigner, "Need an assigner.");
+    checkArgument(capacity >= assigner.getMaxWindowsPerInstant(),
+                  "Capacity must be at least %s windows.", assigner.getMaxWindowsPerInstant());
+    return new WindowAggregator(assigner, capacity);
+  }
+
+
+
+  /**
+   * Gets the assigner.
+   *
+   * @return a WindowAssigner value
+   */
+  public WindowAssigner getAssigner() { return assigner; }
+
+  /**
+   * Gets the number of windows held open at once.
+   *
+   * @return an int value
+   */
+  public int getCapacity() { return capacity; }
+
+  /**
+   * Gets the current watermark.
+   *
+   * @return a long value of milliseconds since the epoch, or Long.MIN_VALUE
+   */
+  public long getWatermarkMillis() { return watermark; }
+
+  /**
+   * Gets the number of window assignments dropped because the window
+   * had already been emitted.
+   *
+   * @return a long value
+   */
+  public long getLate() { return late; }
+
+  /**
+   * Gets the number of window assignments dropped because the window
+   * was past the end of the ring.
+   *
+   * @return a long value
+   */
+  public long getEarly() { return early; }
+
+
+
+  /**
+   * Adds an event with a value to every window containing it.
+   *
+   * @param instantMillis a long value of milliseconds since the epoch
+   * @param value a long value
+   * @return an int number of windows the event was added to
+   */
+  public int add(long instantMillis, long value) {
+    long first = assigner.firstWindow(instantMillis);
+    long last = assigner.lastWindow(instantMillis);
+    if (!started) {
+      if (first > last) { return 0; }
+      oldest = first;
+      started = true;
+    }
+
+    int added = 0;
+    for (long k = first; k <= last; k++) {
+      if (k < oldest) {
+        late++;
+      } else if (k - oldest >= capacity) {
+        early++;
+      } else {
+        int slot = (int) Math.floorMod(k, (long) capacity);
+        counts[slot]++;
+        sums[slot] += value;
+        added++;
+      }
+    }
+    return added;
+  }
+
+  /**
+   * Advances the watermark, emitting every non-empty window which
+   * ends at or before it.
+   * <p>
+   *
+   * A watermark at or behind the current one is ignored.
+   *
+   * @param watermarkMillis a long value of milliseconds since the epoch
+   * @param listener a Listener value
+   * @return an int number of windows emitted
+   */
+  public int advanceWatermark(long watermarkMillis, Listener listener) {
+    checkNotNull(listener, "Need a listener.");
+    if (watermarkMillis <= watermark) { return 0; }
+    watermark = watermarkMillis;
+
+    long closed = assigner.lastWindowEndedBy(watermarkMillis);
+    if (!started) {
+      oldest = closed + 1L;
+      started = true;
+      return 0;
+    }
+    if (closed < oldest) { return 0; }
+
+    long stop = Math.min(closed, oldest + capacity - 1L);
+    int emitted = 0;
+    for (long k = oldest; k <= stop; k++) {
+      int slot = (int) Math.floorMod(k, (long) capacity);
+      if (counts[slot] != 0L) {
+        listener.onWindow(k, counts[slot], sums[slot]);
+        emitted++;
+      }
+      counts[slot] = 0L;
+      sums[slot] = 0L;
+    }
+    oldest = closed + 1L;
+    return emitted;
+  }
+
+}
@@ -0,0 +1,234 @@
+/*
+ *
+ * Copyright 2014 Tom Mahaffey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.tkmtwo.timex;
+
+import java.util.function.LongConsumer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.joda.time.Chronology;
+import org.joda.time.Interval;
+import org.joda.time.ReadableInstant;
+import org.joda.time.chrono.ISOChronology;
+
+
+
+
+/**
+ *
+ * Assigns instants to sliding, hopping or tumbling windows.
+ * <p>
+ *
+ * Window k is [origin + k * slide, origin + k * slide + size).  When
+ * slide is less than size the windows overlap (sliding), when it
+ * equals size they tile (tumbling, the same grid as
+ * Intervals.intervals()) and when it is greater there are gaps between
+ * them (hopping).
+ * <p>
+ *
+ * The windows containing an instant are a contiguous range of indexes,
+ * found with two Math.floorDiv() calls.  Nothing is allocated per
+ * instant: assign() hands each index to a LongConsumer.
+ *
+ *
+ * @author Tom Mahaffey
+ *
+ */
+public final class WindowAssigner {
+
+  private final Chronology chronology;
+  private final long origin;
+  private final long size;
+  private final long slide;
+
+
+  private WindowAssigner(Chronology chronology, long origin, long size, long slide) {
+    this.chronology = chronology;
+    this.origin = origin;
+    this.size = size;
+    this.slide = slide;
+  }
+
+
+
+  /**
+   * Creates windows aligned to the epoch.
+   *
+   * @param sizeMillis a long value of the length of each window
+   * @param slideMillis a long value of the distance between window starts
+   * @return a WindowAssigner value
+   */
+  public static WindowAssigner of(long sizeMillis, long slideMillis) {
+    checkArgument(sizeMillis > 0L, "Size must be positive.");
+    checkArgument(slideMillis > 0L, "Slide must be positive.");
+    return new WindowAssigner(ISOChronology.getInstanceUTC(), 0L, sizeMillis, slideMillis);
+  }
+
+  /**
+   * Creates windows aligned to an origin, where window 0 starts.
+   *
+   * @param origin a ReadableInstant value
+   * @param sizeMillis a long value of the length of each window
+   * @param slideMillis a long value of the distance between window starts
+   * @return a WindowAssigner value
+   */
+  public static WindowAssigner of(ReadableInstant origin, long sizeMillis, long slideMillis) {
+    checkNotNull(origin, "Need an origin.");
+    checkArgument(sizeMillis > 0L, "Size must be positive.");
+    checkArgument(slideMillis > 0L, "Slide must be positive.");
+    return new WindowAssigner(origin.getChronology(), origin.getMillis(), sizeMillis, slideMillis);
+  }
+
+  /**
+   * Creates tumbling windows aligned to the epoch.
+   *
+   * @param sizeMillis a long value of the length of each window
+   * @return a WindowAssigner value
+   */
+  public static WindowAssigner tumbling(long sizeMillis) {
+    return of(sizeMillis, sizeMillis);
+  }
+
+
+
+  /**
+   * Gets the start of window 0.
+   *
+   * @return a long value of milliseconds since the epoch
+   */
+  public long getOriginMillis() { return origin; }
+
+  /**
+   * Gets the length of each window.
+   *
+   * @return a long value of milliseconds
+   */
+  public long getSizeMillis() { return size; }
+
+  /**
+   * Gets the distance between window starts.
+   *
+   * @return a long value of milliseconds
+   */
+  public long getSlideMillis() { return slide; }
+
+  /**
+   * Gets the most windows any one instant is in.
+   *
+   * @return an int value
+   */
+  public int getMaxWindowsPerInstant() {
+    return (int) Math.min(Integer.MAX_VALUE, (size + slide - 1L) / slide);
+  }
+
+
+
+  /**
+   * Gets the first (earliest) window containing an instant.
+   * <p>
+   *
+   * When slide is greater than size an instant may be in no window,
+   * and then firstWindow() is greater than lastWindow().
+   *
+   * @param instantMillis a long value of milliseconds since the epoch
+   * @return a long window index
+   */
+  public long firstWindow(long instantMillis) {
+    return Math.floorDiv(instantMillis - origin - size, slide) + 1L;
+  }
+
+  /**
+   * Gets the last (latest) window containing an instant.
+   *
+   * @param instantMillis a long value of milliseconds since the epoch
+   * @return a long window index
+   */
+  public long lastWindow(long instantMillis) {
+    return Math.floorDiv(instantMillis - origin, slide);
+  }
+
+  /**
+   * Gets the last window which ends at or before a watermark.
+   *
+   * @param watermarkMillis a long value of milliseconds since the epoch
+   * @return a long window index
+   */
+  public long lastWindowEndedBy(long watermarkMillis) {
+    return Math.floorDiv(watermarkMillis - origin - size, slide);
+  }
+
+  /**
+   * Hands every window containing an instant, earliest first, to a
+   * consumer.
+   *
+   * @param instantMillis a long value of milliseconds since the epoch
+   * @param consumer a LongConsumer of window indexes
+   * @return an int number of windows
+   */
+  public int assign(long instantMillis, LongConsumer consumer) {
+    checkNotNull(consumer, "Need a consumer.");
+    long last = lastWindow(instantMillis);
+    int n = 0;
+    for (long k = firstWindow(instantMillis); k <= last; k++) {
+      consumer.accept(k);
+      n++;
+    }
+    return n;
+  }
+
+
+
+  /**
+   * Gets the start of a window.
+   *
+   * @param window a long window index
+   * @return a long value of milliseconds since the epoch
+   */
+  public long getStartMillis(long window) { return origin + window * slide; }
+
+  /**
+   * Gets the end of a window.
+   *
+   * @param window a long window index
+   * @return a long value of milliseconds since the epoch
+   */
+  public long getEndMillis(long window) { return getStartMillis(window) + size; }
+
+  /**
+   * Gets a window as an Interval.
+   *
+   * @param window a long window index
+   * @return an Interval value
+   */
+  public Interval getInterval(long window) {
+    return new Interval(getStartMillis(window), getEndMillis(window), chronology);
+  }
+
+
+
+  @Override
+  public String toString() {
+    return "WindowAssigner[origin=" + origin + "ms"
+      + ", size=" + size + "ms"
+      + ", slide=" + slide + "ms"
+      + "]";
+  }
+
+}
@@ -0,0 +1,119 @@
+/*
+ *
+ * Copyright 2014 Tom Mahaffey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.tkmtwo.timex;
+
+import java.util.Arrays;
+
+import org.joda.time.DateTimeZone;
+
+
+
+
+/**
+ *
+ * A zone's offsets over a window [lo, hi] with the transitions between
+ * them, looked up once so that each later question is a binary search.
+ * Instants outside of the window are answered by the zone itself.
+ *
+ *
+ * @author Tom Mahaffey
+ *
+ */
+final class ZoneTransitions {
+  private final DateTimeZone zone;
+  private final long lo;
+  private final long hi;
+  private final int loOffset;
+  private final long[] instants;
+  private final int[] offsets;
+
+  ZoneTransitions(DateTimeZone zone, long lo, long hi) {
+    this.zone = zone;
+    this.lo = lo;
+    this.hi = hi;
+    this.loOffset = zone.getOffset(lo);
+
+    long[] ts = new long[8];
+    int n = 0;
+    if (!zone.isFixed()) {
+      for (long t = zone.nextTransition(lo); t > lo && t <= hi; t = zone.nextTransition(t)) {
+        if (n == ts.length) { ts = Arrays.copyOf(ts, n * 2); }
+        ts[n++] = t;
+      }
+    }
+    this.instants = Arrays.copyOf(ts, n);
+    this.offsets = new int[n];
+    for (int i = 0; i < n; i++) {
+      offsets[i] = zone.getOffset(instants[i]);
+    }
+  }
+
+  /*
+   * Number of transitions at or before millis.
+   */
+  private int countAtOrBefore(long millis) {
+    int i = Arrays.binarySearch(instants, millis);
+    return i >= 0 ? i + 1 : -i - 1;
+  }
+
+  int getOffset(long millis) {
+    if (millis < lo || millis > hi) { return zone.getOffset(millis); }
+    int k = countAtOrBefore(millis);
+    return k == 0 ? loOffset : offsets[k - 1];
+  }
+
+  long nextTransition(long millis) {
+    if (millis < lo || millis >= hi) { return zone.nextTransition(millis); }
+    int k = countAtOrBefore(millis);
+    return k < instants.length ? instants[k] : zone.nextTransition(millis);
+  }
+
+  long previousTransition(long millis) {
+    if (millis <= lo || millis > hi) { return zone.previousTransition(millis); }
+    int k = countAtOrBefore(millis);
+    return k > 0 ? instants[k - 1] - 1L : zone.previousTransition(millis);
+  }
+
+  /*
+   * DateTimeZone.getOffsetFromLocal() over the cached transitions.
+   */
+  int getOffsetFromLocal(long local) {
+    int offsetLocal = getOffset(local);
+    long adjusted = local - offsetLocal;
+    int offsetAdjusted = getOffset(adjusted);
+    if (offsetLocal != offsetAdjusted) {
+      //Times in a gap are pushed after it, which needs care for
+      //negative offsets.
+      if (offsetLocal - offsetAdjusted < 0
+          && nextTransition(adjusted) != nextTransition(local - offsetAdjusted)) {
+        return offsetLocal;
+      }
+    } else if (offsetLocal >= 0) {
+      //Ambiguous times in an overlap take the earlier offset.
+      long prev = previousTransition(adjusted);
+      if (prev < adjusted) {
+        int offsetPrev = getOffset(prev);
+        if (adjusted - prev <= offsetPrev - offsetLocal) {
+          return offsetPrev;
+        }
+      }
+    }
+    return offsetAdjusted;
+  }
+}
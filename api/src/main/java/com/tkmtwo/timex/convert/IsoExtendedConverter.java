@@ -25,7 +25,8 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Strings.isNullOrEmpty;
 
 import org.joda.time.DateTime;
-import org.joda.time.format.ISODateTimeFormat;
+
+import com.tkmtwo.timex.DateTimes;
 
 
 
@@ -34,8 +35,10 @@ import org.joda.time.format.ISODateTimeFormat;
  * consistent with Spring's <code>Converter</code> facility.
  *
  * <p>
- * This converter uses JodaTime's <code>ISODateTimeFormat.dateTimeNoMillis()</code>.
- * It expects format <code>yyyy-MM-dd'T'HH:mm:ssZZ</code>.
+ * This converter uses <code>DateTimes.parseExtendedMillis()</code>, which
+ * falls back to JodaTime's <code>ISODateTimeFormat.dateTimeNoMillis()</code>.
+ * It expects format <code>yyyy-MM-dd'T'HH:mm:ssZZ</code>, optionally with
+ * fractional seconds.
  *
  * @author Tom Mahaffey
  * @see org.springframework.core.convert.converter.Converter
@@ -47,6 +50,6 @@ public final class IsoExtendedConverter
   @Override
   public DateTime convert(String s) {
     checkArgument(!isNullOrEmpty(s), "DateTime string is empty.");
-    return ISODateTimeFormat.dateTimeNoMillis().parseDateTime(s);
+    return new DateTime(DateTimes.parseExtendedMillis(s));
   }
 }
@@ -35,6 +35,9 @@ import com.tkmtwo.timex.WallClock;
  * Handles <code>WallClock</code> to <code>VARCHAR</code> using
  * the basic format <code>HHMMSS</code>.
  *
+ * Values are read with <code>WallClock.tryParse()</code>, which also
+ * accepts the extended format <code>HH:MM:SS</code>.
+ *
  */
 public class WallClockBasicTypeHandler
   extends BaseTypeHandler<WallClock> {
@@ -66,7 +69,7 @@ public class WallClockBasicTypeHandler
                    columnName,
                    wcString);
     } else {
-      wc = WallClock.parseBasic(wcString);
+      wc = parse(wcString, columnName);
       logger.debug("ResultSet column {} returned {}, returning {}.",
                    columnName,
                    wcString,
@@ -89,7 +92,7 @@ public class WallClockBasicTypeHandler
                    String.valueOf(columnIndex),
                    wcString);
     } else {
-      wc = WallClock.parseBasic(wcString);
+      wc = parse(wcString, String.valueOf(columnIndex));
       logger.debug("ResultSet column {} returned {}, returning {}.",
                    String.valueOf(columnIndex),
                    wcString,
@@ -111,7 +114,7 @@ public class WallClockBasicTypeHandler
                    String.valueOf(columnIndex),
                    wcString);
     } else {
-      wc = WallClock.parseBasic(wcString);
+      wc = parse(wcString, String.valueOf(columnIndex));
       logger.debug("CallableStatement column {} returned {}, returning {}.",
                    String.valueOf(columnIndex),
                    wcString,
@@ -120,6 +123,17 @@ public class WallClockBasicTypeHandler
     
     return wc;
   }
-  
-  
+
+
+  private WallClock parse(String wcString, String column)
+    throws SQLException {
+    int sod = WallClock.tryParse(wcString, 0, wcString.length());
+    if (sod == WallClock.INVALID_SECONDS) {
+      throw new SQLException("Column " + column + " returned '" + wcString
+                             + "', which is not a valid HHMMSS or HH:MM:SS WallClock.");
+    }
+    return WallClock.valueOf(sod);
+  }
+
+
 }
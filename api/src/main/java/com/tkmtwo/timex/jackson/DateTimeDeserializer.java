@@ -67,6 +67,9 @@ public final class DateTimeDeserializer
         return null;
       }
       //return getDateTimeFormatter().parseDateTime(jsonParser.getText());
+      if (getDateTimeFormatter() == DateTimes.getExtendedFormatter()) {
+        return DateTimes.parseExtended(dtText);
+      }
       return getDateTimeFormatter().parseDateTime(dtText);
     }
     
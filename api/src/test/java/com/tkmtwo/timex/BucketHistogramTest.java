@@ -0,0 +1,119 @@
+/*
+ *
+ * Copyright 2014 Tom Mahaffey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.tkmtwo.timex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.joda.time.DateTime;
+import org.joda.time.Interval;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+
+public class BucketHistogramTest
+{
+
+  private static final TimeBucketer MINUTES =
+    TimeBucketer.of(DateTimeDirection.FORWARD, new Interval(new DateTime(0L), new DateTime(3600000L)), 60000L);
+
+
+  @Test
+  public void testRecord()
+  {
+    BucketHistogram histogram = BucketHistogram.of(MINUTES, 2);
+    assertEquals(60, histogram.size());
+    assertTrue(histogram.record(0L, 5L));
+    assertTrue(histogram.record(59999L, 7L));
+    assertTrue(histogram.record(60000L));
+    assertFalse(histogram.record(3600000L));
+    assertFalse(histogram.record(-1L, 100L));
+    histogram.addAt(59, 10L, 20L);
+
+    assertEquals(2L, histogram.getCount(0));
+    assertEquals(12L, histogram.getSum(0));
+    assertEquals(1L, histogram.getCount(1));
+    assertEquals(0L, histogram.getSum(1));
+    assertEquals(10L, histogram.getCount(59));
+    assertEquals(2L, histogram.getDropped());
+
+    long[] counts = histogram.getCounts();
+    long[] sums = histogram.getSums();
+    assertEquals(60, counts.length);
+    assertEquals(2L, counts[0]);
+    assertEquals(20L, sums[59]);
+
+    histogram.reset();
+    assertEquals(0L, histogram.getCount(0));
+    assertEquals(0L, histogram.getDropped());
+
+    for (int stripes : new int[] { 0, 3, 128 }) {
+      try {
+        BucketHistogram.of(MINUTES, stripes);
+        fail("Expected failure for " + stripes + " stripes.");
+      } catch (IllegalArgumentException iae) {
+        //expected
+      }
+    }
+  }
+
+
+  @Test
+  public void testConcurrent()
+    throws Exception
+  {
+    final BucketHistogram histogram = BucketHistogram.of(MINUTES);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<?>> futures = new ArrayList<Future<?>>();
+      for (int t = 0; t < 4; t++) {
+        futures.add(executor.submit(new Callable<Void>() {
+            public Void call() {
+              for (long m = -60000L; m < 3660000L; m += 100L) {
+                histogram.record(m, 1L);
+              }
+              return null;
+            }
+          }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    long[] counts = histogram.getCounts();
+    long[] sums = histogram.getSums();
+    for (int i = 0; i < counts.length; i++) {
+      assertEquals(4L * 600L, counts[i]);
+      assertEquals(4L * 600L, sums[i]);
+    }
+    assertEquals(4L * 1200L, histogram.getDropped());
+  }
+
+}
@@ -0,0 +1,105 @@
+/*
+ *
+ * Copyright 2014 Tom Mahaffey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.tkmtwo.timex;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+
+public class CivilCalendarTest
+{
+
+  private static void assertDay(long epochDay)
+  {
+    DateTime dt = new DateTime(epochDay * CivilCalendar.MILLIS_PER_DAY, DateTimeZone.UTC);
+    int ymd = CivilCalendar.fromEpochDay(epochDay);
+    assertEquals(dt.toString(), dt.getYear(), CivilCalendar.year(ymd));
+    assertEquals(dt.toString(), dt.getMonthOfYear(), CivilCalendar.month(ymd));
+    assertEquals(dt.toString(), dt.getDayOfMonth(), CivilCalendar.dayOfMonth(ymd));
+    assertEquals(dt.toString(), dt.getDayOfWeek(), CivilCalendar.dayOfWeek(ymd));
+    assertEquals(epochDay, CivilCalendar.toEpochDay(dt.getYear(), dt.getMonthOfYear(), dt.getDayOfMonth()));
+  }
+
+
+  @Test
+  public void testTable()
+  {
+    long first = CivilCalendar.toEpochDay(CivilCalendar.MIN_TABLE_YEAR, 1, 1);
+    long last = CivilCalendar.toEpochDay(CivilCalendar.MAX_TABLE_YEAR, 12, 31);
+    for (long d = first - 10L; d <= last + 10L; d++) {
+      assertDay(d);
+    }
+  }
+
+
+  @Test
+  public void testFallback()
+  {
+    for (long d = -800000L; d < 3000000L; d += 97L) {
+      assertDay(d);
+    }
+    assertDay(CivilCalendar.toEpochDay(0, 1, 1));
+    assertDay(CivilCalendar.toEpochDay(-1, 12, 31));
+    assertDay(CivilCalendar.toEpochDay(10000, 1, 1));
+  }
+
+
+  @Test
+  public void testMillis()
+  {
+    assertEquals(0L, CivilCalendar.epochDay(0L));
+    assertEquals(-1L, CivilCalendar.epochDay(-1L));
+    assertEquals(86399999, CivilCalendar.millisOfDay(-1L));
+    assertEquals(86399, CivilCalendar.secondOfDay(-1L));
+    assertEquals(1, CivilCalendar.secondOfDay(1999L));
+
+    int ymd = CivilCalendar.fromEpochMillis(-1L);
+    assertEquals(1969, CivilCalendar.year(ymd));
+    assertEquals(12, CivilCalendar.month(ymd));
+    assertEquals(31, CivilCalendar.dayOfMonth(ymd));
+    assertEquals(3, CivilCalendar.dayOfWeek(ymd));
+  }
+
+
+  @Test
+  public void testFields()
+  {
+    assertTrue(CivilCalendar.isLeapYear(2000));
+    assertFalse(CivilCalendar.isLeapYear(1900));
+    assertTrue(CivilCalendar.isLeapYear(2024));
+    assertEquals(29, CivilCalendar.lengthOfMonth(2024, 2));
+    assertEquals(28, CivilCalendar.lengthOfMonth(2100, 2));
+    assertTrue(CivilCalendar.isValidDate(2024, 2, 29));
+    assertFalse(CivilCalendar.isValidDate(2023, 2, 29));
+    assertFalse(CivilCalendar.isValidDate(2023, 13, 1));
+    assertFalse(CivilCalendar.isValidDate(2023, 4, 31));
+
+    int packed = CivilCalendar.pack(-44, 3, 15, 5);
+    assertEquals(-44, CivilCalendar.year(packed));
+    assertEquals(3, CivilCalendar.month(packed));
+    assertEquals(15, CivilCalendar.dayOfMonth(packed));
+    assertEquals(5, CivilCalendar.dayOfWeek(packed));
+  }
+
+}
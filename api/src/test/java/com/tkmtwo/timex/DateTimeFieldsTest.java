@@ -1,6 +1,7 @@
 package com.tkmtwo.timex;
 
 import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
 import org.joda.time.format.DateTimeFormatter;
 import org.joda.time.format.ISODateTimeFormat;
 
@@ -192,5 +193,61 @@ public class DateTimeFieldsTest
 
 
 
-}
+  @Test
+  public void testRoundStrings()
+  {
+    assertEquals("19690724T165035Z", DateTimeFields.SECOND.roundFloorString(dt));
+    assertEquals("19690724T000000Z", DateTimeFields.DAY.roundFloorString(dt));
+    assertEquals("19690725T000000Z", DateTimeFields.DAY.roundFloorAddString(dt, 1));
+    assertEquals("19690724T170000Z", DateTimeFields.HOUR.roundCeilingString(dt));
+    assertEquals("19690724T180000Z", DateTimeFields.HOUR.roundCeilingAddString(dt, 1));
+    assertEquals("19690724T170000Z", DateTimeFields.HOUR.roundCeilingString(DateTimes.parseBasic("19690724T170000Z")));
+  }
+
+
+
+  @Test
+  public void testRoundUtcMatchesProperty()
+  {
+    java.util.Random random = new java.util.Random(8L);
+    DateTimeZone ny = DateTimeZone.forID("America/New_York");
+    for (int i = 0; i < 5000; i++) {
+      long millis = (random.nextLong() % 8000000000000L) + (i % 5 == 0 ? 0L : random.nextInt(3) * 86400000L);
+      if (i % 7 == 0) { millis -= Math.floorMod(millis, 86400000L); }
+      DateTime utc = new DateTime(millis, DateTimeZone.UTC);
+      for (DateTimeFields field : DateTimeFields.values()) {
+        assertEquals(field + " " + utc,
+                     field.getProperty(utc).roundFloorCopy(), field.roundFloor(utc));
+        assertEquals(field + " " + utc,
+                     field.getProperty(utc).roundCeilingCopy(), field.roundCeiling(utc));
+        DateTime local = utc.withZone(ny);
+        assertEquals(field.getProperty(local).roundFloorCopy(), field.roundFloor(local));
+      }
+    }
+  }
 
+
+
+  @Test
+  public void testRoundUtcPastPackedYears()
+  {
+    int max = CivilCalendar.MAX_PACKED_YEAR;
+    for (int year : new int[] { max - 1, max, max + 1, 600000 }) {
+      DateTime utc = new DateTime(year, 5, 17, 13, 45, 12, 345, DateTimeZone.UTC);
+      for (DateTimeFields field : DateTimeFields.values()) {
+        assertEquals(field + " " + utc,
+                     field.getProperty(utc).roundFloorCopy(), field.roundFloor(utc));
+        assertEquals(field + " " + utc,
+                     field.getProperty(utc).roundCeilingCopy(), field.roundCeiling(utc));
+      }
+      //The first and last instants of the year.
+      DateTime first = new DateTime(year, 1, 1, 0, 0, 0, 0, DateTimeZone.UTC);
+      DateTime last = first.plusYears(1).minusMillis(1);
+      assertEquals(first, DateTimeFields.YEAR.roundFloor(last));
+      assertEquals(first, DateTimeFields.MONTH.roundFloor(first));
+    }
+  }
+
+
+
+}
@@ -0,0 +1,121 @@
+/*
+ *
+ * Copyright 2014 Tom Mahaffey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.tkmtwo.timex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.joda.time.DateTime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+
+public class DateTimePrintCacheTest
+{
+
+  @Test
+  public void testPrint()
+  {
+    DateTimePrintCache basic = DateTimePrintCache.basic(4);
+    DateTimePrintCache extended = DateTimePrintCache.extended(4);
+    assertEquals(4, basic.getSize());
+
+    String first = basic.print(3000L);
+    assertEquals("19700101T000003Z", first);
+    assertSame(first, basic.print(3999L));
+    assertEquals(1L, basic.getHits());
+    assertEquals(1L, basic.getMisses());
+
+    //Same slot, different second.
+    assertEquals("19700101T000007Z", basic.print(7000L));
+    assertEquals("19700101T000003Z", basic.print(3000L));
+    assertEquals(1L, basic.getHits());
+    assertEquals(3L, basic.getMisses());
+
+    assertEquals("1969-12-31T23:59:59Z", extended.print(-1L));
+    assertEquals("1969-12-31T23:59:59Z", extended.print(new DateTime(-1000L)));
+    assertEquals("", extended.print(null));
+    assertEquals(1L, extended.getHits());
+
+    basic.resetCounts();
+    assertEquals(0L, basic.getHits());
+    assertEquals(0L, basic.getMisses());
+  }
+
+
+  @Test
+  public void testSize()
+  {
+    for (int size : new int[] { 0, -1, 3, 1000 }) {
+      try {
+        DateTimePrintCache.basic(size);
+        fail("Expected failure for size " + size + ".");
+      } catch (IllegalArgumentException iae) {
+        //expected
+      }
+    }
+  }
+
+
+  @Test
+  public void testConcurrent()
+    throws Exception
+  {
+    final DateTimePrintCache cache = DateTimePrintCache.extended(8);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+      for (int t = 0; t < 4; t++) {
+        futures.add(executor.submit(new Callable<Boolean>() {
+            public Boolean call() {
+              for (long l = 0L; l < 200000L; l += 37L) {
+                if (!DateTimes.printExtended(l).equals(cache.print(l))) { return false; }
+              }
+              return true;
+            }
+          }));
+      }
+      for (Future<Boolean> future : futures) {
+        assertEquals(Boolean.TRUE, future.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+
+  @Test
+  public void testDateTimes()
+  {
+    long hits = DateTimes.getBasicPrintCache().getHits();
+    assertEquals("19700101T000003Z", DateTimes.printBasicCached(new DateTime(3000L)));
+    assertEquals("19700101T000003Z", DateTimes.printBasicCached(3001L));
+    assertEquals("1970-01-01T00:00:03Z", DateTimes.printExtendedCached(new DateTime(3000L)));
+    assertEquals("1970-01-01T00:00:03Z", DateTimes.printExtendedCached(3001L));
+    assertEquals(hits + 1L, DateTimes.getBasicPrintCache().getHits());
+  }
+
+}
@@ -0,0 +1,208 @@
+/*
+ *
+ * Copyright 2014 Tom Mahaffey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.tkmtwo.timex;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongConsumer;
+import java.util.regex.Matcher;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+
+public class DateTimeScannerTest
+{
+
+  private static List<Long> regexSecs(String s)
+  {
+    List<Long> secs = new ArrayList<Long>();
+    Matcher m = DateTimes.BASIC_DATETIME_NOMILLIS_PATTERN.matcher(s);
+    while (m.find()) {
+      secs.add(DateTimes.getBasicFormatter().parseMillis(m.group()) / 1000L);
+    }
+    return secs;
+  }
+
+  private static List<Long> scannerSecs(String s)
+  {
+    final List<Long> secs = new ArrayList<Long>();
+    int found = DateTimeScanner.scan(s, new LongConsumer() {
+        public void accept(long l) { secs.add(l); }
+      });
+    assertEquals(secs.size(), found);
+    return secs;
+  }
+
+
+  @Test
+  public void testScan()
+  {
+    String s = "My dob is 19691102T033333Z and today is 20130427T000345Z which makes me over 40!";
+    assertEquals(regexSecs(s), scannerSecs(s));
+    assertEquals(2, scannerSecs(s).size());
+
+    long[] secs = new long[3];
+    assertEquals(2, DateTimeScanner.scan(s, secs, 1));
+    assertArrayEquals(new long[] { 0L, -5171187L, 1367021025L }, secs);
+
+    long[] small = new long[1];
+    assertEquals(2, DateTimeScanner.scan(s, small, 0));
+    assertEquals(-5171187L, small[0]);
+
+    assertEquals(1367021025L, DateTimeScanner.scanLast(s));
+  }
+
+
+  @Test
+  public void testScanEdges()
+  {
+    String[] samples = {
+      "", "Z", "T", "19700101T000000Z", "x19700101T000000Zx",
+      "119700101T000000Z", "1970010T000000Z", "19700101T00000Z", "19700101T0000000Z",
+      "19700101T000000Z19700101T000001Z", "12345678T19700101T000000Z",
+      "19700101T123456719700101T000001Z", "19700101T000000", "19700101T00000aZ",
+      "20000229T000000ZT000000Z", "file-20130427T000345Z.20130428T000345Z.gz"
+    };
+    for (String s : samples) {
+      assertEquals(s, regexSecs(s), scannerSecs(s));
+      List<Long> secs = regexSecs(s);
+      long last = secs.isEmpty() ? DateTimeScanner.NOT_FOUND : secs.get(secs.size() - 1);
+      assertEquals(s, last, DateTimeScanner.scanLast(s));
+    }
+  }
+
+
+  @Test
+  public void testScanRandom()
+  {
+    Random random = new Random(42L);
+    char[] alphabet = "0123456789TZ-x".toCharArray();
+    for (int n = 0; n < 2000; n++) {
+      StringBuilder sb = new StringBuilder();
+      while (sb.length() < 200) {
+        if (random.nextInt(8) == 0) {
+          sb.append(DateTimes.printBasic(random.nextLong() % 4000000000000L));
+        } else {
+          sb.append(alphabet[random.nextInt(alphabet.length)]);
+        }
+      }
+      String s = sb.toString();
+      List<Long> secs = regexSecs(s);
+      assertEquals(s, secs, scannerSecs(s));
+      long last = secs.isEmpty() ? DateTimeScanner.NOT_FOUND : secs.get(secs.size() - 1);
+      assertEquals(s, last, DateTimeScanner.scanLast(s));
+    }
+  }
+
+
+  @Test
+  public void testScanInvalidDate()
+  {
+    try {
+      DateTimeScanner.scan("at 20131301T000000Z", new long[1], 0);
+      fail("Expected failure for a 13th month.");
+    } catch (IllegalArgumentException iae) {
+      //expected
+    }
+  }
+
+
+  @Test
+  public void testScanByteBuffer()
+  {
+    String s = "xx My dob is 19691102T033333Z and today is 20130427T000345Z";
+    ByteBuffer bb = ByteBuffer.wrap(s.getBytes(StandardCharsets.US_ASCII));
+    bb.position(3);
+    final List<Long> secs = new ArrayList<Long>();
+    assertEquals(2, DateTimeScanner.scan(bb, new LongConsumer() {
+        public void accept(long l) { secs.add(l); }
+      }));
+    assertEquals(regexSecs(s), secs);
+    assertEquals(3, bb.position());
+  }
+
+
+  @Test
+  public void testScanFile()
+    throws Exception
+  {
+    Random random = new Random(7L);
+    StringBuilder sb = new StringBuilder();
+    for (int line = 0; line < 500; line++) {
+      int tokens = random.nextInt(4);
+      for (int t = 0; t < tokens; t++) {
+        sb.append("event-").append(random.nextInt(1000)).append(' ');
+        sb.append(DateTimes.printBasic(random.nextLong() % 4000000000000L)).append(' ');
+      }
+      sb.append(line).append('\n');
+    }
+    sb.append("no newline at the end 20130427T000345Z");
+    String text = sb.toString();
+    List<Long> expected = regexSecs(text);
+
+    File file = File.createTempFile("DateTimeScannerTest", ".log");
+    file.deleteOnExit();
+    Files.write(file.toPath(), text.getBytes(StandardCharsets.US_ASCII));
+
+    ForkJoinPool pool = new ForkJoinPool(3);
+    try {
+      for (int chunkSize : new int[] { 16, 100, 4096, DateTimeScanner.DEFAULT_CHUNK_SIZE }) {
+        final List<Long> secs = new ArrayList<Long>();
+        long found = DateTimeScanner.scan(file.toPath(), new LongConsumer() {
+            public void accept(long l) { secs.add(l); }
+          }, pool, chunkSize);
+        assertEquals(expected.size(), found);
+        assertEquals(expected, secs);
+      }
+    } finally {
+      pool.shutdown();
+    }
+
+    final List<Long> secs = new ArrayList<Long>();
+    DateTimeScanner.scan(file.toPath(), new LongConsumer() {
+        public void accept(long l) { secs.add(l); }
+      });
+    assertEquals(expected, secs);
+    file.delete();
+  }
+
+
+  @Test
+  public void testGetDateTimes()
+  {
+    String s = "19700101T000003Z and 19700101T000004Z";
+    assertEquals(new DateTime(3000L, DateTimeZone.UTC), DateTimes.getDateTimes(s).get(0));
+    assertEquals(new DateTime(4000L, DateTimeZone.UTC), DateTimes.getDateTimes(s).get(1));
+    assertEquals(new DateTime(4000L, DateTimeZone.UTC), DateTimes.getDateTime(s));
+    assertEquals(null, DateTimes.getDateTime("nothing here"));
+  }
+
+}
@@ -1,12 +1,20 @@
 package com.tkmtwo.timex;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
 import org.joda.time.Duration;
 import org.joda.time.Period;
 import org.joda.time.Interval;
+import org.joda.time.LocalDateTime;
 //import org.joda.time.Hours;
 //import org.joda.time.LocalTime;
 import org.joda.time.format.DateTimeFormatter;
@@ -56,6 +64,53 @@ public class DateTimesTest
 
 
 
+  @Test
+  public void testParseBasicMillis()
+  {
+    assertEquals(3000L, DateTimes.parseBasicMillis("19700101T000003Z"));
+    assertEquals(3000L, DateTimes.parseBasicMillis("xx19700101T000003Zxx", 2, 16));
+    assertEquals(3000L, DateTimes.parseBasicMillis("19700101T000003Z".toCharArray(), 0, 16));
+    assertEquals(3000L, DateTimes.parseBasicMillis("19700101T000003Z".getBytes(), 0, 16));
+
+    String[] samples = {
+      "00000101T000000Z", "15821015T120000Z", "19691231T235959Z", "20000229T123456Z",
+      "20130427T000345Z", "21000228T235959Z", "99991231T235959Z"
+    };
+    for (String sample : samples) {
+      assertEquals(sample,
+                   DateTimes.getBasicFormatter().parseMillis(sample),
+                   DateTimes.parseBasicMillis(sample));
+    }
+    for (long l = -5000000000000L; l < 5000000000000L; l += 7777777777L) {
+      String sample = DateTimes.printBasic(new DateTime(l));
+      assertEquals(sample,
+                   DateTimes.getBasicFormatter().parseMillis(sample),
+                   DateTimes.parseBasicMillis(sample));
+    }
+  }
+
+
+  @Test
+  public void testParseBasicMillisInvalid()
+  {
+    String[] samples = {
+      "", "19700101T000003", "19700101T000003Z0", "19700101 000003Z", "19700101T000003z",
+      "1970010aT000003Z", "19701301T000000Z", "19700001T000000Z", "19700100T000000Z",
+      "19700132T000000Z", "19000229T000000Z", "19700101T240000Z", "19700101T006000Z",
+      "19700101T000060Z", "19700101T000003+0000"
+    };
+    for (String sample : samples) {
+      try {
+        DateTimes.parseBasicMillis(sample);
+        fail("Expected failure for '" + sample + "'.");
+      } catch (IllegalArgumentException iae) {
+        //expected
+      }
+    }
+  }
+
+
+
   @Test
   public void testExtendedFormat()
   {
@@ -74,6 +129,160 @@ public class DateTimesTest
 
 
 
+  @Test
+  public void testPrintMillis()
+    throws Exception
+  {
+    DateTimeFormatter basic = ISODateTimeFormat.basicDateTimeNoMillis().withZoneUTC();
+    for (long l = -70000000000000L; l < 260000000000000L; l += 77777777777L) {
+      String b = basic.print(l);
+      String e = dtf.print(l);
+      assertEquals(b, DateTimes.printBasic(l));
+      assertEquals(e, DateTimes.printExtended(l));
+      assertEquals(b, DateTimes.printBasic(new DateTime(l)));
+      assertEquals(e, DateTimes.printExtended(new DateTime(l)));
+    }
+    for (long l : new long[] { Long.MIN_VALUE / 2, -62167219200001L, 253402300800000L, Long.MAX_VALUE / 2 }) {
+      assertEquals(basic.print(l), DateTimes.printBasic(l));
+      assertEquals(dtf.print(l), DateTimes.printExtended(l));
+    }
+  }
+
+
+  @Test
+  public void testPrintMillisTo()
+    throws Exception
+  {
+    long l = dtf.parseMillis("2013-04-27T00:03:45Z") + 999L;
+
+    char[] chars = new char[40];
+    assertEquals(18, DateTimes.printBasicTo(l, chars, 2));
+    assertEquals(38, DateTimes.printExtendedTo(l, chars, 18));
+    assertEquals("20130427T000345Z2013-04-27T00:03:45Z", new String(chars, 2, 36));
+
+    byte[] bytes = new byte[40];
+    assertEquals(16, DateTimes.printBasicTo(l, bytes, 0));
+    assertEquals(36, DateTimes.printExtendedTo(l, bytes, 16));
+    assertEquals("20130427T000345Z2013-04-27T00:03:45Z", new String(bytes, 0, 36, "US-ASCII"));
+
+    for (ByteBuffer bb : new ByteBuffer[] { ByteBuffer.allocate(40), ByteBuffer.allocateDirect(40) }) {
+      bb.put((byte) '>');
+      DateTimes.printBasicTo(l, bb);
+      DateTimes.printExtendedTo(l, bb);
+      assertEquals(37, bb.position());
+      bb.flip();
+      byte[] read = new byte[bb.remaining()];
+      bb.get(read);
+      assertEquals(">20130427T000345Z2013-04-27T00:03:45Z", new String(read, "US-ASCII"));
+    }
+
+    //A short or sliced heap buffer fails like put, leaving its neighbours alone.
+    byte[] backing = new byte[40];
+    Arrays.fill(backing, (byte) '.');
+    ByteBuffer window = ByteBuffer.wrap(backing, 10, 19).slice();
+    for (ByteBuffer bb : new ByteBuffer[] { window, ByteBuffer.allocate(15), ByteBuffer.allocateDirect(15) }) {
+      try {
+        DateTimes.printExtendedTo(l, bb);
+        fail("Expected overflow for " + bb + ".");
+      } catch (BufferOverflowException boe) {
+        assertEquals(0, bb.position());
+      }
+    }
+    try {
+      DateTimes.printBasicTo(l, ByteBuffer.wrap(backing, 30, 10));
+      fail("Expected overflow.");
+    } catch (BufferOverflowException boe) {
+      //expected
+    }
+    DateTimes.printBasicTo(l, window);
+    assertEquals("..........20130427T000345Z..............", new String(backing, "US-ASCII"));
+
+    StringBuilder sb = new StringBuilder("at ");
+    DateTimes.printBasicTo(l, sb).append(' ');
+    DateTimes.printExtendedTo(l, (Appendable) sb);
+    assertEquals("at 20130427T000345Z 2013-04-27T00:03:45Z", sb.toString());
+  }
+
+
+
+  @Test
+  public void testParseExtendedMillis()
+  {
+    DateTimeFormatter parser = ISODateTimeFormat.dateTimeParser().withZoneUTC();
+    String[] samples = {
+      "1970-01-01T00:00:03Z", "2026-10-18T12:34:56.789+02:00", "2026-10-18T12:34:56.789Z",
+      "2026-10-18T12:34:56.7Z", "2026-10-18T12:34:56.78-0330", "2026-10-18T12:34:56.123456789-11:45",
+      "2026-10-18T12:34:56+0000", "2026-10-18T00:00:00-00:00", "2000-02-29T23:59:59.999+23:59",
+      "0001-01-01T00:00:00.001Z", "9999-12-31T23:59:59Z"
+    };
+    for (String sample : samples) {
+      long expected = parser.parseMillis(sample);
+      assertEquals(sample, expected, DateTimes.parseExtendedMillis(sample));
+      assertEquals(sample, expected, DateTimes.parseExtendedMillis("[" + sample + "]", 1, sample.length()));
+      assertEquals(sample, expected, DateTimes.parseExtendedMillis(sample.getBytes(), 0, sample.length()));
+      assertEquals(sample, expected, DateTimes.parseExtended(sample).getMillis());
+    }
+
+    //Falls back to the JodaTime formatter.
+    assertEquals(7200000L, DateTimes.parseExtendedMillis("1970-01-01T00:00:00-02"));
+
+    String[] invalid = {
+      "", "1970-01-01T00:00:03", "1970-01-01 00:00:03Z", "1970-01-01T00:00:03.Z",
+      "1970-01-01T00:00:03.1234567890Z", "1970-01-01T00:00:03+2:00", "1970-01-01T00:00:03+02:60",
+      "1970-02-30T00:00:03Z", "1970-01-01T00:00:03Zx", "1970-01-01T00:00:03*02:00"
+    };
+    for (String sample : invalid) {
+      try {
+        DateTimes.parseExtendedMillis(sample);
+        fail("Expected failure for '" + sample + "'.");
+      } catch (IllegalArgumentException iae) {
+        //expected
+      }
+    }
+  }
+
+
+  @Test
+  public void testBulk()
+  {
+    for (int size : new int[] { 0, 1, 100, DateTimes.BULK_THRESHOLD * 4 + 3 }) {
+      long[] secs = new long[size];
+      for (int i = 0; i < size; i++) {
+        secs[i] = (i * 7777777L) % 20000000000L - 5000000000L;
+      }
+
+      String[] strings = new String[size];
+      DateTimes.printBasic(secs, strings);
+      byte[] bytes = new byte[size * 16];
+      DateTimes.printBasic(secs, bytes);
+      for (int i = 0; i < size; i++) {
+        assertEquals(DateTimes.printBasic(secs[i] * 1000L), strings[i]);
+        assertEquals(strings[i], new String(bytes, i * 16, 16));
+      }
+
+      long[] fromStrings = new long[size];
+      DateTimes.parseBasic(strings, fromStrings);
+      long[] fromBytes = new long[size];
+      DateTimes.parseBasic(bytes, fromBytes);
+      for (int i = 0; i < size; i++) {
+        assertEquals(secs[i], fromStrings[i]);
+        assertEquals(secs[i], fromBytes[i]);
+      }
+    }
+  }
+
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBulkInvalid()
+  {
+    String[] strings = new String[DateTimes.BULK_THRESHOLD * 2];
+    Arrays.fill(strings, "19700101T000000Z");
+    strings[strings.length - 1] = "19700101T000000";
+    DateTimes.parseBasic(strings, new long[strings.length]);
+  }
+
+
+
   @Test
   public void testFromSecs()
   {
@@ -345,4 +554,152 @@ public class DateTimesTest
   
 
 
+  @Test
+  public void testSplitStream()
+  {
+    Interval interval = new Interval(new DateTime(0L), new DateTime(240010L));
+    for (DateTimeDirection dir : DateTimeDirection.values()) {
+      for (long dura : new long[] { 1000L, 60000L, 60001L, 80000L, 120005L }) {
+        List<DateTime> expected = DateTimes.splits(dir, interval, dura);
+        assertEquals(expected, DateTimes.splitStream(dir, interval, dura).collect(Collectors.toList()));
+        assertEquals(expected, DateTimes.splitStream(dir, interval, dura).parallel().collect(Collectors.toList()));
+
+        List<DateTime> iterated = new ArrayList<DateTime>();
+        for (Iterator<DateTime> it = DateTimes.splitIterator(dir, interval, dura); it.hasNext(); ) {
+          iterated.add(it.next());
+        }
+        assertEquals(expected, iterated);
+      }
+    }
+    assertEquals(DateTimes.splits(interval, Period.minutes(1)),
+                 DateTimes.splitStream(DateTimeDirection.FORWARD, interval, Period.minutes(1))
+                 .collect(Collectors.toList()));
+
+    Spliterator<DateTime> spliterator = DateTimes.splitStream(interval, 1000L).spliterator();
+    assertEquals(242L, spliterator.getExactSizeIfKnown());
+    assertTrue(spliterator.hasCharacteristics(Spliterator.SUBSIZED));
+    Spliterator<DateTime> prefix = spliterator.trySplit();
+    assertEquals(121L, prefix.estimateSize());
+    assertEquals(121L, spliterator.estimateSize());
+
+    try {
+      DateTimes.splitStream(interval, 0L);
+      fail("Expected failure for zero duraMillis.");
+    } catch (IllegalArgumentException iae) {
+      //expected
+    }
+  }
+
+
+
+  @Test
+  public void testSplitMillis()
+  {
+    Interval interval = new Interval(new DateTime(-10L), new DateTime(240010L));
+    for (DateTimeDirection dir : DateTimeDirection.values()) {
+      for (long dura : new long[] { 1L, 1000L, 60000L, 60001L, 80005L, 120009L }) {
+        List<DateTime> expected = DateTimes.splits(dir, interval, dura);
+        long[] millis = DateTimes.splitMillis(dir, interval, dura);
+        assertEquals(expected.size(), millis.length);
+        for (int i = 0; i < millis.length; i++) {
+          assertEquals(expected.get(i).getMillis(), millis[i]);
+        }
+      }
+    }
+
+    assertTrue(Arrays.equals(new long[] { 0L, 100L, 200L, 250L },
+                             DateTimes.splitMillis(DateTimeDirection.FORWARD, 0L, 250L, 100L)));
+    try {
+      DateTimes.splitMillis(DateTimeDirection.FORWARD, 0L, 250L, -100L);
+      fail("Expected failure for a negative step.");
+    } catch (IllegalArgumentException iae) {
+      //expected
+    }
+    try {
+      DateTimes.splitMillis(DateTimeDirection.FORWARD, 250L, 0L, 100L);
+      fail("Expected failure for end before start.");
+    } catch (IllegalArgumentException iae) {
+      //expected
+    }
+  }
+
+
+  @Test
+  public void testSplitsByPeriod()
+  {
+    String[] zones = { "UTC", "America/New_York", "Europe/London",
+                       "Australia/Lord_Howe", "Asia/Kolkata" };
+    String[] starts = { "2014-01-31T00:00:00", "2012-02-29T12:00:00",
+                        "2014-03-09T02:30:00", "2014-11-02T01:30:00",
+                        "2014-10-05T01:45:00" };
+    Period[] periods = { Period.days(1), Period.weeks(1), Period.months(1), Period.years(1),
+                         Period.hours(1), Period.minutes(30), new Period(0, 0, 0, 1, 1, 0, 0, 0),
+                         new Period(0, 1, 0, 2, 3, 0, 0, 0) };
+
+    for (String zone : zones) {
+      DateTimeZone dtz = DateTimeZone.forID(zone);
+      for (String start : starts) {
+        long local = new LocalDateTime(start).toDateTime(DateTimeZone.UTC).getMillis();
+        DateTime dtStart = new DateTime(local - dtz.getOffsetFromLocal(local), dtz);
+        for (Period period : periods) {
+          Interval interval = new Interval(dtStart, dtStart.plus(period.multipliedBy(40)).plusMinutes(7));
+          for (DateTimeDirection dir : DateTimeDirection.values()) {
+            List<DateTime> expected = new ArrayList<DateTime>();
+            for (int i = 0; ; i++) {
+              DateTime dt = dir == DateTimeDirection.FORWARD
+                ? interval.getStart().plus(period.multipliedBy(i))
+                : interval.getEnd().minus(period.multipliedBy(i));
+              if (!interval.contains(dt) && !dt.equals(interval.getEnd())) { break; }
+              expected.add(dt);
+            }
+            DateTime farEnd = dir.getEnd(interval);
+            if (!expected.get(expected.size() - 1).equals(farEnd)) { expected.add(farEnd); }
+
+            String msg = zone + " " + start + " " + period + " " + dir;
+            assertEquals(msg, expected, DateTimes.splitsByPeriod(dir, interval, period));
+            assertEquals(msg, expected,
+                         DateTimes.splitStreamByPeriod(dir, interval, period).collect(Collectors.toList()));
+            long[] millis = DateTimes.splitMillisByPeriod(dir, interval, period);
+            assertEquals(msg, expected.size(), millis.length);
+            for (int i = 0; i < millis.length; i++) {
+              assertEquals(msg, expected.get(i).getMillis(), millis[i]);
+            }
+          }
+        }
+      }
+    }
+
+    //Month ends come back.
+    DateTimeZone ny = DateTimeZone.forID("America/New_York");
+    Interval months = new Interval(new DateTime(2014, 1, 31, 0, 0, ny), new DateTime(2014, 4, 1, 0, 0, ny));
+    List<DateTime> monthly = DateTimes.splitsByPeriod(months, Period.months(1));
+    assertEquals(4, monthly.size());
+    assertEquals(new DateTime(2014, 2, 28, 0, 0, ny), monthly.get(1));
+    assertEquals(new DateTime(2014, 3, 31, 0, 0, ny), monthly.get(2));
+
+    //An endpoint on the later side of an overlap is kept as the first split.
+    DateTime overlap = new DateTime("2014-11-02T01:30:00-05:00").withZone(ny);
+    Interval after = new Interval(overlap, overlap.plusDays(3));
+    List<DateTime> daily = DateTimes.splitsByPeriod(after, Period.days(1));
+    assertEquals(overlap.getMillis(), daily.get(0).getMillis());
+    for (int i = 1; i < daily.size() - 1; i++) {
+      assertEquals(overlap.plus(Period.days(i)), daily.get(i));
+    }
+    Interval before = new Interval(overlap.minusDays(3), overlap);
+    long[] reverse = DateTimes.splitMillisByPeriod(DateTimeDirection.REVERSE, before, Period.days(1));
+    assertEquals(overlap.getMillis(), reverse[0]);
+    assertEquals(overlap.minus(Period.days(1)).getMillis(), reverse[1]);
+
+    for (Period bad : new Period[] { Period.ZERO, Period.days(-1), Period.months(1).withHours(-1) }) {
+      try {
+        DateTimes.splitsByPeriod(months, bad);
+        fail("Expected failure for period " + bad + ".");
+      } catch (IllegalArgumentException iae) {
+        //expected
+      }
+    }
+  }
+
+
+
 }
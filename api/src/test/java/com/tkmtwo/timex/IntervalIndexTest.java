@@ -0,0 +1,129 @@
+/*
+ *
+ * Copyright 2014 Tom Mahaffey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.tkmtwo.timex;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntConsumer;
+
+import org.joda.time.DateTime;
+import org.joda.time.Interval;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+
+public class IntervalIndexTest
+{
+
+  private static BitSet hits(IntervalIndex index, long start, long end)
+  {
+    final BitSet hits = new BitSet();
+    int n = index.forEachOverlapping(start, end, new IntConsumer() {
+        public void accept(int id) {
+          assertEquals(false, hits.get(id));
+          hits.set(id);
+        }
+      });
+    assertEquals(hits.cardinality(), n);
+    return hits;
+  }
+
+  private static void assertQueries(Random random, long[] starts, long[] ends, IntervalIndex index, int queries)
+  {
+    for (int q = 0; q < queries; q++) {
+      long a = random.nextInt(110000) - 5000;
+      long b = a + (q % 3 == 0 ? 0 : random.nextInt(3000));
+      BitSet expected = new BitSet();
+      for (int i = 0; i < starts.length; i++) {
+        if (starts[i] < b && ends[i] > a) { expected.set(i); }
+      }
+      assertEquals(a + "/" + b, expected, hits(index, a, b));
+
+      final BitSet containing = new BitSet();
+      index.forEachContaining(a, new IntConsumer() {
+          public void accept(int id) { containing.set(id); }
+        });
+      BitSet contains = new BitSet();
+      for (int i = 0; i < starts.length; i++) {
+        if (starts[i] <= a && ends[i] > a) { contains.set(i); }
+      }
+      assertEquals(Long.toString(a), contains, containing);
+    }
+  }
+
+
+  @Test
+  public void testQueries()
+  {
+    Random random = new Random(17L);
+    for (int n : new int[] { 0, 1, 2, 7, 100, 1000, IntervalIndex.PARALLEL_THRESHOLD * 3 + 5 }) {
+      long[] starts = new long[n];
+      long[] ends = new long[n];
+      for (int i = 0; i < n; i++) {
+        starts[i] = random.nextInt(100000);
+        ends[i] = starts[i] + (i % 10 == 0 ? random.nextInt(20000) : random.nextInt(200));
+      }
+      IntervalIndex index = IntervalIndex.ofMillis(starts, ends);
+      assertEquals(n, index.size());
+      for (int i = 0; i < n; i++) {
+        assertEquals(starts[i], index.getStartMillis(i));
+        assertEquals(ends[i], index.getEndMillis(i));
+      }
+      assertQueries(random, starts, ends, index, n > 10000 ? 50 : 500);
+    }
+  }
+
+
+  @Test
+  public void testIntervals()
+  {
+    List<Interval> intervals = new ArrayList<Interval>();
+    intervals.add(new Interval(100L, 200L));
+    intervals.add(new Interval(150L, 160L));
+    intervals.add(new Interval(0L, 100L));
+    intervals.add(new Interval(300L, 300L));
+    IntervalIndex index = IntervalIndex.of(intervals);
+    assertEquals(intervals.get(2), index.get(2));
+
+    final List<Integer> ids = new ArrayList<Integer>();
+    IntConsumer collect = new IntConsumer() {
+        public void accept(int id) { ids.add(id); }
+      };
+    assertEquals(1, index.forEachContaining(new DateTime(100L), collect));
+    assertEquals(Integer.valueOf(0), ids.get(0));
+    ids.clear();
+    assertEquals(3, index.forEachOverlapping(new Interval(99L, 151L), collect));
+    assertEquals(0, index.forEachContaining(200L, new IntConsumer() {
+        public void accept(int id) { fail("Nothing contains 200."); }
+      }));
+    assertEquals(0, index.forEachContaining(Long.MAX_VALUE, collect));
+
+    try {
+      IntervalIndex.ofMillis(new long[] { 5L }, new long[] { 4L });
+      fail("Expected failure for an end before its start.");
+    } catch (IllegalArgumentException iae) {
+      //expected
+    }
+  }
+
+}
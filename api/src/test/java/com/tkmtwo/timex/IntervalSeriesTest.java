@@ -0,0 +1,168 @@
+/*
+ *
+ * Copyright 2014 Tom Mahaffey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.tkmtwo.timex;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.joda.time.DateTime;
+import org.joda.time.Interval;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+
+public class IntervalSeriesTest
+{
+
+  private static final Interval RANGE = new Interval(new DateTime(-10L), new DateTime(240010L));
+
+
+  /*
+   * Every instant in and around the series maps to the Interval
+   * which contains it.
+   */
+  private static void assertIndexes(IntervalSeries series)
+  {
+    List<Interval> copy = new ArrayList<Interval>(series);
+    assertEquals(copy.size(), series.size());
+    if (copy.isEmpty()) { return; }
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
+    for (int i = 0; i < copy.size(); i++) {
+      Interval interval = copy.get(i);
+      assertEquals(interval.getStartMillis(), series.getStartMillis(i));
+      assertEquals(interval.getEndMillis(), series.getEndMillis(i));
+      assertEquals(i, series.indexOf(interval));
+      assertEquals(i, series.indexOf(interval.getStart()));
+      assertEquals(i, series.indexOf(interval.getEndMillis() - 1L));
+      min = Math.min(min, interval.getStartMillis());
+      max = Math.max(max, interval.getEndMillis());
+    }
+    assertEquals(-1, series.indexOf(min - 1L));
+    assertEquals(-1, series.indexOf(max));
+  }
+
+
+  @Test
+  public void testForward()
+  {
+    for (long step : new long[] { 1000L, 60000L, 60001L, 80005L, 120009L }) {
+      IntervalSeries series = IntervalSeries.of(DateTimeDirection.FORWARD, RANGE, step);
+      assertEquals(Intervals.intervals(DateTimeDirection.FORWARD, RANGE, step), series);
+      assertEquals(Intervals.series(DateTimeDirection.FORWARD, RANGE, step), series);
+      assertIndexes(series);
+    }
+  }
+
+
+  @Test
+  public void testReverse()
+  {
+    //Evenly divided, so the same as intervals().
+    Interval even = new Interval(new DateTime(0L), new DateTime(240000L));
+    IntervalSeries series = IntervalSeries.of(DateTimeDirection.REVERSE, even, 60000L);
+    assertEquals(Intervals.intervals(DateTimeDirection.REVERSE, even, 60000L), series);
+    assertIndexes(series);
+
+    //Truncated remainder at the start of the range.
+    series = IntervalSeries.of(DateTimeDirection.REVERSE, RANGE, 60000L);
+    assertEquals(5, series.size());
+    assertEquals(new Interval(180010L, 240010L), series.get(0));
+    assertEquals(new Interval(10L, 60010L), series.get(3));
+    assertEquals(new Interval(-10L, 10L), series.get(4));
+    assertTrue(series.hasTruncatedTail());
+    assertIndexes(series);
+  }
+
+
+  @Test
+  public void testReverseShiftSubList()
+  {
+    IntervalSeries series = IntervalSeries.of(DateTimeDirection.FORWARD, RANGE, 60001L);
+    List<Interval> expected = new ArrayList<Interval>(series);
+
+    IntervalSeries reversed = series.reverse();
+    assertEquals(DateTimeDirection.REVERSE, reversed.getDirection());
+    assertTrue(reversed.hasTruncatedHead());
+    assertFalse(reversed.hasTruncatedTail());
+    List<Interval> backwards = new ArrayList<Interval>(expected);
+    Collections.reverse(backwards);
+    assertEquals(backwards, reversed);
+    assertIndexes(reversed);
+    assertEquals(series, reversed.reverse());
+
+    for (int from = 0; from <= series.size(); from++) {
+      for (int to = from; to <= series.size(); to++) {
+        assertEquals(expected.subList(from, to), series.subList(from, to));
+        assertIndexes(series.subList(from, to));
+        assertEquals(backwards.subList(from, to), reversed.subList(from, to));
+        assertIndexes(reversed.subList(from, to));
+      }
+    }
+
+    IntervalSeries shifted = series.shift(1000L);
+    for (int i = 0; i < series.size(); i++) {
+      assertEquals(series.getStartMillis(i) + 1000L, shifted.getStartMillis(i));
+      assertEquals(series.getEndMillis(i) + 1000L, shifted.getEndMillis(i));
+    }
+    assertIndexes(shifted);
+  }
+
+
+  @Test
+  public void testBySize()
+  {
+    DateTime start = new DateTime(240000L);
+    assertEquals(Intervals.intervals(DateTimeDirection.REVERSE, start, 4L, 60000L),
+                 IntervalSeries.of(DateTimeDirection.REVERSE, start, 4, 60000L));
+    assertEquals(Intervals.intervals(DateTimeDirection.FORWARD, start, 4L, 60000L),
+                 IntervalSeries.of(DateTimeDirection.FORWARD, start, 4, 60000L));
+
+    //A year of seconds in a handful of fields.
+    IntervalSeries huge = IntervalSeries.of(DateTimeDirection.FORWARD, start, 31536000, 1000L);
+    assertEquals(31536000, huge.size());
+    assertEquals(31535999, huge.indexOf(start.getMillis() + 31535999500L));
+    assertEquals(new Interval(start.getMillis() + 1000L, start.getMillis() + 2000L), huge.get(1));
+  }
+
+
+  @Test
+  public void testImmutable()
+  {
+    IntervalSeries series = IntervalSeries.of(DateTimeDirection.FORWARD, RANGE, 60000L);
+    try {
+      series.add(RANGE);
+      fail("Expected an immutable series.");
+    } catch (UnsupportedOperationException uoe) {
+      //expected
+    }
+    try {
+      series.get(series.size());
+      fail("Expected an index failure.");
+    } catch (IndexOutOfBoundsException ioobe) {
+      //expected
+    }
+  }
+
+}
@@ -0,0 +1,141 @@
+/*
+ *
+ * Copyright 2014 Tom Mahaffey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.tkmtwo.timex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.joda.time.DateTime;
+import org.joda.time.Interval;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+
+public class IntervalSetTest
+{
+
+  private static final int DOMAIN = 64;
+
+
+  private static IntervalSet randomSet(Random random, boolean[] covered)
+  {
+    List<Interval> intervals = new ArrayList<Interval>();
+    int n = random.nextInt(6);
+    for (int i = 0; i < n; i++) {
+      int start = random.nextInt(DOMAIN);
+      int end = start + random.nextInt(Math.min(12, DOMAIN - start) + 1);
+      intervals.add(new Interval(start, end));
+      for (int m = start; m < end; m++) { covered[m] = true; }
+    }
+    return IntervalSet.of(intervals);
+  }
+
+  /*
+   * The set is normalized and holds exactly the covered instants.
+   */
+  private static void assertCovers(boolean[] covered, IntervalSet set)
+  {
+    long[] bounds = set.toMillisArray();
+    for (int i = 1; i < bounds.length; i++) {
+      assertTrue(bounds[i - 1] < bounds[i]);
+    }
+    long total = 0L;
+    for (int m = -2; m < DOMAIN + 2; m++) {
+      boolean expected = m >= 0 && m < DOMAIN && covered[m];
+      assertEquals(set + " " + m, expected, set.contains((long) m));
+      if (expected) { total++; }
+    }
+    assertEquals(total, set.totalDurationMillis());
+  }
+
+
+  @Test
+  public void testAlgebra()
+  {
+    Random random = new Random(16L);
+    for (int trial = 0; trial < 2000; trial++) {
+      boolean[] a = new boolean[DOMAIN];
+      boolean[] b = new boolean[DOMAIN];
+      IntervalSet sa = randomSet(random, a);
+      IntervalSet sb = randomSet(random, b);
+      assertCovers(a, sa);
+
+      boolean[] union = new boolean[DOMAIN];
+      boolean[] intersect = new boolean[DOMAIN];
+      boolean[] subtract = new boolean[DOMAIN];
+      boolean[] complement = new boolean[DOMAIN];
+      for (int m = 0; m < DOMAIN; m++) {
+        union[m] = a[m] || b[m];
+        intersect[m] = a[m] && b[m];
+        subtract[m] = a[m] && !b[m];
+        complement[m] = m >= 10 && m < 50 && !a[m];
+      }
+      assertCovers(union, sa.union(sb));
+      assertCovers(intersect, sa.intersect(sb));
+      assertCovers(subtract, sa.subtract(sb));
+      assertCovers(complement, sa.complement(new Interval(10L, 50L)));
+      assertEquals(sa.union(sb), sb.union(sa));
+    }
+  }
+
+
+  @Test
+  public void testNormalized()
+  {
+    IntervalSet set = IntervalSet.ofMillis(30L, 40L, 0L, 10L, 10L, 20L, 5L, 5L, 35L, 38L);
+    assertEquals(2, set.size());
+    assertEquals(new Interval(0L, 20L), set.get(0));
+    assertEquals(new Interval(30L, 40L), set.get(1));
+    assertEquals(30L, set.totalDurationMillis());
+    assertEquals(IntervalSet.of(new Interval(0L, 20L), new Interval(30L, 40L)), set);
+
+    List<Interval> list = new ArrayList<Interval>();
+    for (Interval interval : set) { list.add(interval); }
+    assertEquals(2, list.size());
+
+    assertTrue(set.contains(new Interval(0L, 20L)));
+    assertTrue(set.contains(new Interval(32L, 32L)));
+    assertFalse(set.contains(new Interval(15L, 31L)));
+    assertFalse(set.contains(new Interval(20L, 20L)));
+    assertTrue(set.contains(new DateTime(35L)));
+
+    assertTrue(IntervalSet.empty().isEmpty());
+    assertTrue(IntervalSet.ofMillis(5L, 5L).isEmpty());
+    assertEquals(IntervalSet.empty(), set.intersect(IntervalSet.ofMillis(20L, 30L)));
+
+    try {
+      IntervalSet.ofMillis(10L, 5L);
+      fail("Expected failure for an end before its start.");
+    } catch (IllegalArgumentException iae) {
+      //expected
+    }
+    try {
+      IntervalSet.ofMillis(10L);
+      fail("Expected failure for an odd number of millis.");
+    } catch (IllegalArgumentException iae) {
+      //expected
+    }
+  }
+
+}
@@ -0,0 +1,137 @@
+/*
+ *
+ * Copyright 2014 Tom Mahaffey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.tkmtwo.timex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.joda.time.Interval;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+
+public class IntervalTimelineAuditorTest
+{
+
+  private static class Recorder
+    implements IntervalTimelineAuditor.Listener
+  {
+    List<String> events = new ArrayList<String>();
+    public void onGap(long startMillis, long endMillis) { events.add("gap " + startMillis + "-" + endMillis); }
+    public void onOverlap(long startMillis, long endMillis) { events.add("overlap " + startMillis + "-" + endMillis); }
+    public void onLate(long startMillis, long endMillis) { events.add("late " + startMillis + "-" + endMillis); }
+  }
+
+
+  @Test
+  public void testEvents()
+  {
+    Recorder recorder = new Recorder();
+    IntervalTimelineAuditor auditor = IntervalTimelineAuditor.of(recorder, 0, 0L);
+    auditor.accept(new Interval(5L, 10L));
+    auditor.accept(new Interval(10L, 20L));
+    auditor.accept(15L, 30L);
+    auditor.accept(16L, 18L);
+    auditor.accept(40L, 50L);
+    auditor.accept(39L, 41L);
+    auditor.flush(60L);
+
+    List<String> expected = new ArrayList<String>();
+    expected.add("gap 0-5");
+    expected.add("overlap 15-20");
+    expected.add("overlap 16-18");
+    expected.add("gap 30-40");
+    expected.add("late 39-41");
+    expected.add("gap 50-60");
+    assertEquals(expected, recorder.events);
+    assertEquals(3L, auditor.getGaps());
+    assertEquals(25L, auditor.getGapMillis());
+    assertEquals(2L, auditor.getOverlaps());
+    assertEquals(7L, auditor.getOverlapMillis());
+    assertEquals(1L, auditor.getLate());
+    assertEquals(60L, auditor.getCoveredUntilMillis());
+
+    try {
+      auditor.accept(5L, 4L);
+      fail("Expected failure for an end before its start.");
+    } catch (IllegalArgumentException iae) {
+      //expected
+    }
+  }
+
+
+  @Test
+  public void testReorder()
+  {
+    Random random = new Random(20L);
+    for (int trial = 0; trial < 200; trial++) {
+      int n = 1 + random.nextInt(40);
+      long[][] intervals = new long[n][];
+      long start = 0L;
+      for (int i = 0; i < n; i++) {
+        start += random.nextInt(10);
+        intervals[i] = new long[] { start, start + random.nextInt(15) };
+      }
+
+      Recorder sortedRecorder = new Recorder();
+      IntervalTimelineAuditor sorted = IntervalTimelineAuditor.of(sortedRecorder, 0);
+      for (long[] interval : intervals) { sorted.accept(interval[0], interval[1]); }
+      sorted.flush();
+
+      //Brute force totals over the covered range.
+      long max = 0L;
+      for (long[] interval : intervals) { max = Math.max(max, interval[1]); }
+      long gapMillis = 0L;
+      long overlapMillis = 0L;
+      for (long m = intervals[0][0]; m < max; m++) {
+        int depth = 0;
+        for (long[] interval : intervals) {
+          if (interval[0] <= m && m < interval[1]) { depth++; }
+        }
+        if (depth == 0) { gapMillis++; }
+        overlapMillis += Math.max(0, depth - 1);
+      }
+      assertEquals(gapMillis, sorted.getGapMillis());
+      assertEquals(overlapMillis, sorted.getOverlapMillis());
+
+      //Shuffle within blocks one longer than the reorder capacity.
+      int capacity = 4;
+      for (int block = 0; block < n; block += capacity + 1) {
+        int end = Math.min(n, block + capacity + 1);
+        for (int i = end - 1; i > block; i--) {
+          int j = block + random.nextInt(i - block + 1);
+          long[] t = intervals[i];
+          intervals[i] = intervals[j];
+          intervals[j] = t;
+        }
+      }
+      Recorder shuffledRecorder = new Recorder();
+      IntervalTimelineAuditor shuffled = IntervalTimelineAuditor.of(shuffledRecorder, capacity);
+      for (long[] interval : intervals) { shuffled.accept(interval[0], interval[1]); }
+      shuffled.flush();
+      assertEquals(0L, shuffled.getLate());
+      assertEquals(gapMillis, shuffled.getGapMillis());
+      assertEquals(overlapMillis, shuffled.getOverlapMillis());
+    }
+  }
+
+}
@@ -1,9 +1,18 @@
 package com.tkmtwo.timex;
 
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongUnaryOperator;
 
 import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
 import org.joda.time.Duration;
 import org.joda.time.Period;
 import org.joda.time.Interval;
@@ -283,4 +292,267 @@ public class IntervalsTest
 
 
 
+  @Test
+  public void testBoundaryMillis()
+  {
+    Interval interval = new Interval(new DateTime(-10L), new DateTime(240010L));
+    for (DateTimeDirection dir : DateTimeDirection.values()) {
+      for (long dura : new long[] { 1000L, 60000L, 60001L, 80005L, 120009L }) {
+        List<Interval> expected = Intervals.intervals(dir, interval, dura);
+        long[] millis = Intervals.boundaryMillis(dir, interval, dura);
+        assertEquals(2 * expected.size(), millis.length);
+        for (int i = 0; i < expected.size(); i++) {
+          assertEquals(expected.get(i).getStartMillis(), millis[2 * i]);
+          assertEquals(expected.get(i).getEndMillis(), millis[2 * i + 1]);
+        }
+      }
+    }
+
+    try {
+      Intervals.boundaryMillis(DateTimeDirection.FORWARD, 0L, 1000L, 1000L);
+      fail("Expected failure for an interval no longer than the step.");
+    } catch (IllegalArgumentException iae) {
+      //expected
+    }
+  }
+
+
+  @Test
+  public void testParallelIntervals()
+    throws Exception
+  {
+    DateTime start = new DateTime(2014, 3, 9, 1, 0, 0, DateTimeZone.forID("America/New_York"));
+    ForkJoinPool pool = new ForkJoinPool(3);
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      for (DateTimeDirection dir : DateTimeDirection.values()) {
+        for (long size : new long[] { 1L, 100L, Intervals.GRID_THRESHOLD * 5L + 3L }) {
+          for (long dura : new long[] { 1000L, -60000L }) {
+            List<Interval> expected = Intervals.intervals(dir, start, size, dura);
+            assertEquals(expected, Intervals.intervals(dir, start, size, dura, pool));
+            assertEquals(expected, Intervals.intervals(dir, start, size, dura, executor));
+          }
+        }
+      }
+
+      try {
+        Intervals.intervals(DateTimeDirection.FORWARD, start, 0L, 1000L, pool);
+        fail("Expected failure for a size of zero.");
+      } catch (IllegalArgumentException iae) {
+        //expected
+      }
+    } finally {
+      pool.shutdown();
+      executor.shutdown();
+    }
+  }
+
+
+  @Test
+  public void testParseAndWrite()
+    throws Exception
+  {
+    Interval interval = new Interval(new DateTime(3000L), new DateTime(4000L));
+    assertEquals(3000L, Intervals.parseBasic("19700101T000003Z/19700101T000004Z").getStartMillis());
+    assertTrue(interval.isEqual(Intervals.parseBasic(Intervals.printBasic(interval))));
+    assertTrue(interval.isEqual(Intervals.parseExtended(Intervals.printExtended(interval))));
+    assertTrue(interval.isEqual(Intervals.parseExtended("1970-01-01T00:00:03.000Z/1970-01-01T01:00:04+01:00")));
+    assertTrue(interval.isEqual(Intervals.parseBasic("x19700101T000003Z/19700101T000004Zx", 1, 33)));
+
+    long[] millis = new long[3];
+    Intervals.parseExtendedMillis("1970-01-01T00:00:03Z/1970-01-01T00:00:04Z", 0, 41, millis, 1);
+    assertEquals(3000L, millis[1]);
+    assertEquals(4000L, millis[2]);
+
+    for (String bad : new String[] { "19700101T000003Z", "19700101T000004Z/19700101T000003Z",
+                                     "19700101T000003Z/1970-01-01T00:00:04Z" }) {
+      try {
+        Intervals.parseBasic(bad);
+        fail("Expected failure for " + bad + ".");
+      } catch (IllegalArgumentException iae) {
+        //expected
+      }
+    }
+
+    List<Interval> intervals = Intervals.intervals(DateTimeDirection.FORWARD,
+                                                   new DateTime(0L), 1000L, 3600000L);
+    intervals.set(7, new Interval(new DateTime(-62198755200000L), new DateTime(253402300800000L)));
+    long[] pairs = new long[2 * intervals.size()];
+    StringBuilder basic = new StringBuilder();
+    StringBuilder extended = new StringBuilder();
+    for (int i = 0; i < intervals.size(); i++) {
+      pairs[2 * i] = intervals.get(i).getStartMillis();
+      pairs[2 * i + 1] = intervals.get(i).getEndMillis();
+      basic.append(Intervals.printBasic(intervals.get(i))).append('\n');
+      extended.append(Intervals.printExtended(intervals.get(i))).append('\n');
+    }
+
+    StringWriter writer = new StringWriter();
+    Intervals.writeBasic(intervals, writer);
+    assertEquals(basic.toString(), writer.toString());
+    writer = new StringWriter();
+    Intervals.writeExtended(pairs, writer);
+    assertEquals(extended.toString(), writer.toString());
+
+    //Small buffers, drained between calls.
+    ByteBuffer bb = ByteBuffer.allocate(200);
+    StringBuilder drained = new StringBuilder();
+    int next = 0;
+    while (next < intervals.size()) {
+      bb.clear();
+      next = Intervals.writeExtended(intervals, next, bb);
+      bb.flip();
+      drained.append(StandardCharsets.US_ASCII.decode(bb));
+    }
+    assertEquals(extended.toString(), drained.toString());
+
+    bb = ByteBuffer.allocate(1 << 16);
+    assertEquals(intervals.size(), Intervals.writeBasic(pairs, 0, bb));
+    bb.flip();
+    assertEquals(basic.toString(), StandardCharsets.US_ASCII.decode(bb).toString());
+  }
+
+
+
+  @Test
+  public void testAligned()
+  {
+    DateTimeZone ny = DateTimeZone.forID("America/New_York");
+    DateTimeZone kolkata = DateTimeZone.forID("Asia/Kolkata");
+    DateTimeZone london = DateTimeZone.forID("Europe/London");
+    DateTimeZone apia = DateTimeZone.forID("Pacific/Apia");
+
+    //Quarter hours and hours through both of New York's 2014 changes.
+    for (String s : new String[] { "2014-03-08T22:07:00Z/2014-03-10T01:00:00Z",
+                                   "2014-11-01T22:52:00Z/2014-11-03T01:00:00Z" }) {
+      Interval interval = Interval.parse(s);
+      assertAligned(interval, DateTimeFields.MINUTE, 15, ny, 60000L, new LongUnaryOperator() {
+          public long applyAsLong(long t) {
+            DateTime dt = new DateTime(t, ny).minuteOfHour().roundFloorCopy();
+            return dt.minusMinutes(dt.getMinuteOfHour() % 15).getMillis();
+          }
+        });
+      assertAligned(interval, DateTimeFields.HOUR, 1, ny, 60000L, new LongUnaryOperator() {
+          public long applyAsLong(long t) {
+            return new DateTime(t, ny).hourOfDay().roundFloorCopy().getMillis();
+          }
+        });
+    }
+    //The repeated hour is two buckets.
+    long[] bounds = Intervals.alignedMillis(Interval.parse("2014-11-02T05:00:00Z/2014-11-02T07:00:00Z"),
+                                            DateTimeFields.HOUR, 1, ny);
+    assertEquals(3, bounds.length);
+    assertEquals(3600000L, bounds[1] - bounds[0]);
+
+    //Six hour buckets start on local 00, 06, 12 and 18, half past in UTC.
+    List<Interval> sixes = Intervals.aligned(Interval.parse("2014-06-01T00:00:00Z/2014-06-03T00:00:00Z"),
+                                             DateTimeFields.HOUR, 6, kolkata);
+    assertEquals("2014-05-31T18:30:00.000Z", sixes.get(0).getStart().toDateTime(DateTimeZone.UTC).toString());
+    assertEquals(kolkata, sixes.get(0).getChronology().getZone());
+    for (Interval i : sixes) {
+      assertEquals(0, i.getStart().getHourOfDay() % 6);
+      assertEquals(0, i.getStart().getMinuteOfHour());
+    }
+
+    //Local days of 23 and 25 hours.
+    for (String s : new String[] { "2014-03-01T12:00:00Z/2014-03-31T12:00:00Z",
+                                   "2014-10-20T00:00:00Z/2014-11-20T00:00:00Z" }) {
+      assertAligned(Interval.parse(s), DateTimeFields.DAY, 1, ny, 3600000L, new LongUnaryOperator() {
+          public long applyAsLong(long t) {
+            return new DateTime(t, ny).withTimeAtStartOfDay().getMillis();
+          }
+        });
+    }
+    List<Interval> days = Intervals.aligned(Interval.parse("2014-03-08T12:00:00Z/2014-03-10T12:00:00Z"),
+                                            DateTimeFields.DAY, 1, ny);
+    assertEquals(3, days.size());
+    assertEquals(23L * 3600000L, days.get(1).toDurationMillis());
+    days = Intervals.aligned(Interval.parse("2014-11-02T12:00:00Z/2014-11-02T13:00:00Z"),
+                             DateTimeFields.DAY, 1, ny);
+    assertEquals(1, days.size());
+    assertEquals(25L * 3600000L, days.get(0).toDurationMillis());
+
+    //Samoa skipped 2011-12-30 entirely.
+    assertAligned(Interval.parse("2011-12-27T00:00:00Z/2012-01-03T00:00:00Z"),
+                  DateTimeFields.DAY, 1, apia, 3600000L, new LongUnaryOperator() {
+        public long applyAsLong(long t) {
+          return new DateTime(t, apia).withTimeAtStartOfDay().getMillis();
+        }
+      });
+
+    //Quarters.
+    assertAligned(Interval.parse("2013-02-11T00:00:00Z/2015-11-17T00:00:00Z"),
+                  DateTimeFields.MONTH, 3, london, 6L * 3600000L, new LongUnaryOperator() {
+        public long applyAsLong(long t) {
+          DateTime dt = new DateTime(t, london).withTimeAtStartOfDay().withDayOfMonth(1);
+          return dt.minusMonths((dt.getMonthOfYear() - 1) % 3).getMillis();
+        }
+      });
+
+    //Decades and centuries.
+    Interval nineties = Interval.parse("1995-06-01T00:00:00Z/2014-06-01T00:00:00Z");
+    assertEquals("[1990-01-01T00:00:00Z/2000-01-01T00:00:00Z, "
+                 + "2000-01-01T00:00:00Z/2010-01-01T00:00:00Z, "
+                 + "2010-01-01T00:00:00Z/2020-01-01T00:00:00Z]",
+                 extended(Intervals.aligned(nineties, DateTimeFields.YEAR, 10, DateTimeZone.UTC)));
+    assertEquals("[1900-01-01T00:00:00Z/2000-01-01T00:00:00Z, "
+                 + "2000-01-01T00:00:00Z/2100-01-01T00:00:00Z]",
+                 extended(Intervals.aligned(nineties, DateTimeFields.CENTURY, 1, DateTimeZone.UTC)));
+
+    //Lord Howe moves its clocks by half an hour, so hours on either
+    //side of a change are aligned under their own offsets.
+    DateTimeZone lordHowe = DateTimeZone.forID("Australia/Lord_Howe");
+    bounds = Intervals.alignedMillis(Interval.parse("2014-04-04T00:00:00Z/2014-04-08T00:00:00Z"),
+                                     DateTimeFields.HOUR, 1, lordHowe);
+    for (int i = 0; i < bounds.length; i++) {
+      assertEquals(0L, (bounds[i] + lordHowe.getOffset(bounds[i])) % 3600000L);
+      if (i > 0) { assertTrue(bounds[i] > bounds[i - 1]); }
+    }
+
+    try {
+      Intervals.aligned(Interval.parse("2014-01-01T00:00:00Z/2014-01-01T00:00:00Z"),
+                        DateTimeFields.DAY, 1, ny);
+      fail("Empty interval should throw.");
+    } catch (IllegalArgumentException expected) {
+    }
+    try {
+      Intervals.aligned(Interval.parse("2014-01-01T00:00:00Z/2014-01-02T00:00:00Z"),
+                        DateTimeFields.DAY, 0, ny);
+      fail("Zero multiple should throw.");
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  /*
+   * Checks that every sampled instant falls in the bucket starting at
+   * its JodaTime floor, and that the buckets cover the interval.
+   */
+  private static void assertAligned(Interval interval, DateTimeFields unit, int multiple, DateTimeZone zone,
+                                    long sampleMillis, LongUnaryOperator floor) {
+    long[] bounds = Intervals.alignedMillis(interval, unit, multiple, zone);
+    assertEquals(floor.applyAsLong(interval.getStartMillis()), bounds[0]);
+    assertTrue(bounds[bounds.length - 1] >= interval.getEndMillis());
+    assertTrue(bounds[bounds.length - 2] < interval.getEndMillis());
+    for (long t = interval.getStartMillis(); t < interval.getEndMillis(); t += sampleMillis) {
+      int i = Arrays.binarySearch(bounds, t);
+      i = i >= 0 ? i : -i - 2;
+      assertEquals(new DateTime(t, zone).toString(), floor.applyAsLong(t), bounds[i]);
+    }
+    for (int i = 1; i < bounds.length; i++) {
+      assertTrue(bounds[i] > bounds[i - 1]);
+      assertEquals(floor.applyAsLong(bounds[i]), bounds[i]);
+    }
+  }
+
+  private static String extended(List<Interval> intervals)
+  {
+    List<String> strings = new ArrayList<String>();
+    for (Interval i : intervals) {
+      strings.add(Intervals.printExtended(i));
+    }
+    return strings.toString();
+  }
+
+
+
 }
@@ -0,0 +1,90 @@
+/*
+ *
+ * Copyright 2014 Tom Mahaffey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.tkmtwo.timex;
+
+import org.joda.time.DateTime;
+import org.joda.time.Interval;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+
+public class TimeBucketerTest
+{
+
+  private static final Interval RANGE = new Interval(new DateTime(-10L), new DateTime(240010L));
+
+
+  @Test
+  public void testMatchesSeries()
+  {
+    for (DateTimeDirection dir : DateTimeDirection.values()) {
+      for (long step : new long[] { 1000L, 60000L, 60001L, 80005L, 240020L, 300000L }) {
+        TimeBucketer bucketer = TimeBucketer.of(dir, RANGE, step);
+        if (step < RANGE.toDurationMillis()) {
+          IntervalSeries series = Intervals.series(dir, RANGE, step);
+          assertEquals(series.size(), bucketer.size());
+          for (int i = 0; i < series.size(); i++) {
+            assertEquals(series.get(i), bucketer.getInterval(i));
+          }
+        }
+        for (long m = RANGE.getStartMillis() - 2000L; m < RANGE.getEndMillis() + 2000L; m += 7L) {
+          int index = bucketer.indexOf(m);
+          if (RANGE.contains(m)) {
+            assertEquals(dir + " " + step + " " + m, true, bucketer.getInterval(index).contains(m));
+          } else {
+            assertEquals(dir + " " + step + " " + m, -1, index);
+          }
+        }
+      }
+    }
+  }
+
+
+  @Test
+  public void testBucketOf()
+  {
+    TimeBucketer forward = TimeBucketer.of(DateTimeDirection.FORWARD, new DateTime(1000L), 4, 100L);
+    assertEquals(0L, forward.bucketOf(1000L));
+    assertEquals(0L, forward.bucketOf(1099L));
+    assertEquals(1L, forward.bucketOf(1100L));
+    assertEquals(-1L, forward.bucketOf(999L));
+    assertEquals(-10L, forward.bucketOf(0L));
+    assertEquals(3, forward.indexOf(1399L));
+    assertEquals(-1, forward.indexOf(1400L));
+
+    TimeBucketer reverse = TimeBucketer.of(DateTimeDirection.REVERSE, new DateTime(1000L), 4, 100L);
+    assertEquals(-1L, reverse.bucketOf(1000L));
+    assertEquals(0L, reverse.bucketOf(999L));
+    assertEquals(0L, reverse.bucketOf(900L));
+    assertEquals(1L, reverse.bucketOf(899L));
+    assertEquals(3, reverse.indexOf(600L));
+    assertEquals(-1, reverse.indexOf(599L));
+    assertEquals(new Interval(600L, 700L, forward.getInterval(0).getChronology()), reverse.getInterval(3));
+
+    try {
+      TimeBucketer.of(DateTimeDirection.FORWARD, RANGE, 0L);
+      fail("Expected failure for a zero step.");
+    } catch (IllegalArgumentException iae) {
+      //expected
+    }
+  }
+
+}
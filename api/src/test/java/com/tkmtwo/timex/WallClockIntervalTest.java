@@ -3,6 +3,11 @@ package com.tkmtwo.timex;
 
 
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
 import org.joda.time.DateTime;
 import org.joda.time.Duration;
 import org.joda.time.Period;
@@ -15,6 +20,7 @@ import org.joda.time.format.ISODateTimeFormat;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -1264,8 +1270,65 @@ public class WallClockIntervalTest
   }
 
 
+  @Test
+  public void testPrint()
+    throws Exception
+  {
+    assertEquals("100000/140000", wci1014.printBasic());
+    assertEquals("100000/140000", wci1014.print());
+    assertEquals("10:00:00/14:00:00", wci1014.printExtended());
+    assertEquals("00:00:00/24:00:00", wci0024.printExtended());
+
+    WallClockInterval wci = new WallClockInterval(WallClock.valueOf(3723), WallClock.valueOf(86399));
+    char[] chars = new char[20];
+    assertEquals(15, wci.printBasicTo(chars, 2));
+    assertEquals("010203/235959", new String(chars, 2, 13));
+    byte[] bytes = new byte[20];
+    assertEquals(18, wci.printExtendedTo(bytes, 1));
+    assertEquals("01:02:03/23:59:59", new String(bytes, 1, 17, StandardCharsets.US_ASCII));
+
+    ByteBuffer bb = ByteBuffer.allocate(64);
+    wci.printExtendedTo(wci.printBasicTo(bb).put((byte) ','));
+    bb.flip();
+    assertEquals("010203/235959,01:02:03/23:59:59", StandardCharsets.US_ASCII.decode(bb).toString());
+
+    StringBuilder sb = new StringBuilder();
+    wci.printBasicTo(sb).append(',');
+    wci.printExtendedTo((Appendable) sb);
+    assertEquals("010203/235959,01:02:03/23:59:59", sb.toString());
+
+    //A short destination is left as it was.
+    char[] shortChars = new char[20];
+    Arrays.fill(shortChars, '.');
+    try {
+      wci.printExtendedTo(shortChars, 4);
+      fail("Short destination should throw.");
+    } catch (IndexOutOfBoundsException expected) {
+      assertEquals("....................", new String(shortChars));
+    }
+    byte[] shortBytes = new byte[12];
+    Arrays.fill(shortBytes, (byte) '.');
+    try {
+      wci.printBasicTo(shortBytes, 0);
+      fail("Short destination should throw.");
+    } catch (IndexOutOfBoundsException expected) {
+      assertEquals("............", new String(shortBytes, StandardCharsets.US_ASCII));
+    }
+    for (ByteBuffer shortBuffer : new ByteBuffer[] { ByteBuffer.allocate(12), ByteBuffer.allocateDirect(16) }) {
+      try {
+        wci.printExtendedTo(shortBuffer);
+        fail("Short destination should throw.");
+      } catch (BufferOverflowException expected) {
+        assertEquals(0, shortBuffer.position());
+      }
+    }
+    try {
+      wci.printBasicTo(ByteBuffer.allocate(12));
+      fail("Short destination should throw.");
+    } catch (BufferOverflowException expected) {
+    }
+  }
 
 
 
 }
-
@@ -1,12 +1,16 @@
 package com.tkmtwo.timex;
 
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.ArrayList;
 
 import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
 import org.joda.time.Duration;
 import org.joda.time.Period;
 import org.joda.time.Interval;
@@ -17,6 +21,7 @@ import org.joda.time.format.ISODateTimeFormat;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import org.junit.Before;
@@ -166,6 +171,22 @@ public class WallClockTest
     assertEquals(wc86400.hashCode(), WallClock.valueOf(wc86400).hashCode());
   }
 
+
+  @Test
+  public void testValueOfInstant()
+  {
+    assertEquals(wc00010, WallClock.valueOf(new DateTime(10999L, DateTimeZone.UTC)));
+    assertEquals(wc86300, WallClock.valueOf(new DateTime(-100000L, DateTimeZone.UTC)));
+    DateTime nine = new DateTime(2014, 1, 1, 9, 0, 0, DateTimeZone.forID("America/New_York"));
+    assertEquals(WallClock.valueOf(9, 0, 0), WallClock.valueOf(nine));
+    assertEquals(WallClock.valueOf(14, 0, 0), WallClock.valueOf(nine, DateTimeZone.UTC));
+    assertEquals(WallClock.valueOf(16, 50, 35),
+                 WallClock.valueOf(ISODateTimeFormat.dateTime().parseDateTime("1969-07-24T16:50:35.730Z")));
+    assertEquals(WallClock.valueOf(12, 50, 35),
+                 WallClock.valueOf(ISODateTimeFormat.dateTime().parseDateTime("1969-07-24T16:50:35.730Z"),
+                                   DateTimeZone.forID("America/New_York")));
+  }
+
   @Test
   public void testEqualsBeforesAndAfters()
   {
@@ -392,10 +413,157 @@ public class WallClockTest
   }
 
 
+  @Test
+  public void testCanonical()
+    throws Exception
+  {
+    assertSame(wc86300, WallClock.valueOf(86300));
+    assertSame(wc86300, WallClock.valueOf(23, 58, 20));
+    assertSame(wc86300, WallClock.parse("23:58:20"));
+    assertSame(wc86300, WallClock.valueOf(wc86300));
+    assertSame(wc86400, wc86300.plus(100));
+    assertSame(wc86300, wc86400.minus(Periods.parse("PT1M40S")));
+
+    try {
+      WallClock.valueOf(86401);
+      fail("86401 seconds should throw.");
+    } catch (IllegalArgumentException expected) {
+    }
+    try {
+      WallClock.valueOf(-1);
+      fail("Negative seconds should throw.");
+    } catch (IllegalArgumentException expected) {
+    }
+
+    //Threads racing to fill the same values all see one instance.
+    final WallClock[][] seen = new WallClock[4][];
+    Thread[] threads = new Thread[seen.length];
+    for (int t = 0; t < threads.length; t++) {
+      final int id = t;
+      threads[t] = new Thread(new Runnable() {
+          public void run() {
+            WallClock[] wcs = new WallClock[86401];
+            for (int i = 0; i < wcs.length; i++) {
+              wcs[(i * 11 + id * 13) % wcs.length] = WallClock.valueOf((i * 11 + id * 13) % wcs.length);
+            }
+            seen[id] = wcs;
+          }
+        });
+      threads[t].start();
+    }
+    for (Thread thread : threads) { thread.join(); }
+    for (int i = 0; i < 86401; i++) {
+      assertEquals(i, seen[0][i].getSeconds());
+      for (int t = 1; t < seen.length; t++) {
+        assertSame(seen[0][i], seen[t][i]);
+      }
+    }
+  }
 
 
+  @Test
+  public void testTryParse()
+  {
+    for (int sod = 0; sod <= 86400; sod++) {
+      int h = sod / 3600;
+      int m = sod / 60 % 60;
+      int sec = sod % 60;
+      String basic = String.format("%02d%02d%02d", h, m, sec);
+      String extended = String.format("%02d:%02d:%02d", h, m, sec);
+      String line = "x," + basic + "," + extended + ",y";
+      byte[] bytes = line.getBytes(StandardCharsets.US_ASCII);
+
+      assertEquals(sod, WallClock.tryParse(basic, 0, 6));
+      assertEquals(sod, WallClock.tryParse(line, 2, 6));
+      assertEquals(sod, WallClock.tryParse(line, 9, 8));
+      assertEquals(sod, WallClock.tryParse(line.toCharArray(), 2, 6));
+      assertEquals(sod, WallClock.tryParse(line.toCharArray(), 9, 8));
+      assertEquals(sod, WallClock.tryParse(bytes, 2, 6));
+      assertEquals(sod, WallClock.tryParse(bytes, 9, 8));
+      assertEquals(sod, WallClock.tryParse(ByteBuffer.wrap(bytes), 9, 8));
+      assertSame(WallClock.valueOf(sod), WallClock.parse(line, 9, 8));
+      assertSame(WallClock.valueOf(sod), WallClock.parseBasic(basic));
+      assertSame(WallClock.valueOf(sod), WallClock.parseExtended(extended));
+    }
+
+    //Fields are summed like valueOf(int, int, int).
+    assertEquals(WallClock.valueOf(0, 99, 0).getSeconds(), WallClock.tryParse("009900", 0, 6));
+    assertEquals(WallClock.valueOf("01", "-1", "00").getSeconds(), WallClock.tryParse("01-100", 0, 6));
+
+    //Like the substring parse before it, parseExtended() skips the
+    //separators; tryParse() wants colons.
+    for (String lenient : new String[] { "10-00-00", "10.00.00", "10:00-00", "10 00 00" }) {
+      assertSame(lenient, WallClock.valueOf(10, 0, 0), WallClock.parseExtended(lenient));
+      assertSame(lenient, WallClock.valueOf(10, 0, 0), WallClock.parse(lenient));
+      assertEquals(lenient, WallClock.INVALID_SECONDS, WallClock.tryParse(lenient, 0, 8));
+    }
+
+    for (String bad : new String[] { "", "12345", "1234567", "12a456", "12:34:5x", "1x-34-56",
+                                     "240001", "24:00:01", "99:99:99", "-10000", " 12345", "12 345" }) {
+      assertEquals(bad, WallClock.INVALID_SECONDS, WallClock.tryParse(bad, 0, bad.length()));
+      assertEquals(bad, WallClock.INVALID_SECONDS, WallClock.tryParse(bad.toCharArray(), 0, bad.length()));
+      assertEquals(bad, WallClock.INVALID_SECONDS,
+                   WallClock.tryParse(bad.getBytes(StandardCharsets.US_ASCII), 0, bad.length()));
+      try {
+        WallClock.parse(bad);
+        fail("'" + bad + "' should throw.");
+      } catch (IllegalArgumentException expected) {
+      }
+    }
+    try {
+      WallClock.tryParse("123456", 2, 6);
+      fail("Range past the end should throw.");
+    } catch (IndexOutOfBoundsException expected) {
+    }
+  }
 
 
+  @Test
+  public void testPrintTo()
+    throws Exception
+  {
+    char[] chars = new char[12];
+    byte[] bytes = new byte[12];
+    ByteBuffer bb = ByteBuffer.allocate(16);
+    for (int sod = 0; sod <= 86400; sod++) {
+      WallClock wc = WallClock.valueOf(sod);
+      String basic = String.format("%02d%02d%02d", wc.getHour(), wc.getMinute(), wc.getSecond());
+      String extended = String.format("%02d:%02d:%02d", wc.getHour(), wc.getMinute(), wc.getSecond());
+      assertEquals(basic, wc.printBasic());
+      assertEquals(extended, wc.printExtended());
+      assertSame(wc.printBasic(), wc.printBasic());
+
+      assertEquals(8, wc.printBasicTo(chars, 2));
+      assertEquals(basic, new String(chars, 2, 6));
+      assertEquals(11, wc.printExtendedTo(bytes, 3));
+      assertEquals(extended, new String(bytes, 3, 8, StandardCharsets.US_ASCII));
+      bb.clear();
+      wc.printExtendedTo(wc.printBasicTo(bb));
+      bb.flip();
+      assertEquals(basic + extended, StandardCharsets.US_ASCII.decode(bb).toString());
+      assertEquals("x" + extended, wc.printExtendedTo(new StringBuilder("x")).toString());
+    }
+    Arrays.fill(chars, '.');
+    try {
+      wc86400.printExtendedTo(chars, 5);
+      fail("Short destination should throw.");
+    } catch (IndexOutOfBoundsException expected) {
+      assertEquals("............", new String(chars));
+    }
+    for (ByteBuffer shortBuffer : new ByteBuffer[] { ByteBuffer.allocate(5), ByteBuffer.allocateDirect(5) }) {
+      try {
+        wc86400.printBasicTo(shortBuffer);
+        fail("Short destination should throw.");
+      } catch (BufferOverflowException expected) {
+        assertEquals(0, shortBuffer.position());
+      }
+    }
+    try {
+      wc86400.printExtendedTo(ByteBuffer.allocate(7));
+      fail("Short destination should throw.");
+    } catch (BufferOverflowException expected) {
+    }
+  }
 
 
 
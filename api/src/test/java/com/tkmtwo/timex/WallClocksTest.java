@@ -0,0 +1,142 @@
+package com.tkmtwo.timex;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+import com.tkmtwo.timex.WallClocks.Overflow;
+
+
+public class WallClocksTest
+{
+
+  @Test
+  public void testFields()
+  {
+    for (int sod = 0; sod <= 86400; sod++) {
+      WallClock wc = WallClock.valueOf(sod);
+      assertEquals(wc.getHour(), WallClocks.getHour(sod));
+      assertEquals(wc.getMinute(), WallClocks.getMinute(sod));
+      assertEquals(wc.getSecond(), WallClocks.getSecond(sod));
+      assertEquals(sod, WallClocks.of(wc.getHour(), wc.getMinute(), wc.getSecond()));
+    }
+    assertEquals(WallClock.valueOf(0, 2, -60).getSeconds(), WallClocks.of(0, 2, -60));
+    assertTrue(WallClocks.isValid(86400));
+    assertTrue(!WallClocks.isValid(86401));
+    assertTrue(!WallClocks.isValid(-1));
+    try {
+      WallClocks.of(24, 0, 1);
+      fail("A day and a second should throw.");
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  @Test
+  public void testPlusMinus()
+  {
+    Random random = new Random(21L);
+    for (int n = 0; n < 100000; n++) {
+      int sod = random.nextInt(86401);
+      int secs = random.nextInt(3 * 86400) - 3 * 43200;
+      WallClock wc = WallClock.valueOf(sod);
+
+      long sum = (long) sod + secs;
+      if (sum >= 0L && sum <= 86400L) {
+        assertEquals(wc.plus(secs).getSeconds(), WallClocks.plus(sod, secs));
+        assertEquals(wc.minus(-secs).getSeconds(), WallClocks.minus(sod, -secs));
+        for (Overflow overflow : Overflow.values()) {
+          assertEquals((int) sum, WallClocks.plus(sod, secs, overflow));
+          assertEquals((int) sum, WallClocks.minus(sod, -secs, overflow));
+        }
+      } else {
+        try {
+          WallClocks.plus(sod, secs);
+          fail("Overflow should throw.");
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+          WallClocks.minus(sod, -secs, Overflow.REJECT);
+          fail("Overflow should throw.");
+        } catch (IllegalArgumentException expected) {
+        }
+        assertEquals(sum < 0L ? 0 : 86400, WallClocks.plus(sod, secs, Overflow.CLAMP));
+        assertEquals((int) Math.floorMod(sum, 86400L), WallClocks.plus(sod, secs, Overflow.WRAP));
+        assertEquals((int) Math.floorMod(sum, 86400L), WallClocks.minus(sod, -secs, Overflow.WRAP));
+      }
+    }
+
+    //Midnight at the end of the day is in range, so it is not wrapped.
+    assertEquals(86400, WallClocks.plus(86400, 0, Overflow.WRAP));
+    assertEquals(86399, WallClocks.minus(0, 1, Overflow.WRAP));
+    assertEquals(1, WallClocks.plus(86400, 1, Overflow.WRAP));
+    assertEquals(86400, WallClocks.plus(86000, Integer.MAX_VALUE, Overflow.CLAMP));
+    assertEquals((int) Math.floorMod(10L - (Integer.MIN_VALUE + 1L), 86400L),
+                 WallClocks.minus(10, Integer.MIN_VALUE + 1, Overflow.WRAP));
+    try {
+      WallClocks.plus(10, Integer.MAX_VALUE);
+      fail("Int overflow should throw.");
+    } catch (ArithmeticException expected) {
+    }
+  }
+
+  @Test
+  public void testCompare()
+  {
+    Random random = new Random(25L);
+    for (int n = 0; n < 10000; n++) {
+      int a = random.nextInt(86401);
+      int b = random.nextInt(86401);
+      WallClock wa = WallClock.valueOf(a);
+      WallClock wb = WallClock.valueOf(b);
+      assertEquals(Integer.signum(wa.compareTo(wb)), Integer.signum(WallClocks.compare(a, b)));
+      assertEquals(wa.isBefore(wb), WallClocks.isBefore(a, b));
+      assertEquals(wa.isAfter(wb), WallClocks.isAfter(a, b));
+    }
+  }
+
+  @Test
+  public void testIntervals()
+  {
+    //Small values so that touching, nested and equal intervals are common.
+    int[] points = { 0, 1, 2, 3, 5, 8, 86399, 86400 };
+    for (int a0 = 0; a0 < points.length; a0++) {
+      for (int a1 = a0; a1 < points.length; a1++) {
+        WallClockInterval a = new WallClockInterval(WallClock.valueOf(points[a0]), WallClock.valueOf(points[a1]));
+        long pa = WallClocks.interval(points[a0], points[a1]);
+        assertEquals(pa, WallClocks.interval(a));
+        assertEquals(a, WallClocks.toWallClockInterval(pa));
+        assertEquals(points[a0], WallClocks.getStart(pa));
+        assertEquals(points[a1], WallClocks.getEnd(pa));
+        for (int p : points) {
+          assertEquals(a.contains(p), WallClocks.contains(pa, p));
+        }
+
+        for (int b0 = 0; b0 < points.length; b0++) {
+          for (int b1 = b0; b1 < points.length; b1++) {
+            WallClockInterval b = new WallClockInterval(WallClock.valueOf(points[b0]), WallClock.valueOf(points[b1]));
+            long pb = WallClocks.interval(b);
+            String msg = a.printExtended() + " " + b.printExtended();
+            assertEquals(msg, a.overlaps(b), WallClocks.overlaps(pa, pb));
+            assertEquals(msg, a.abuts(b), WallClocks.abuts(pa, pb));
+            assertEquals(msg, a.contains(b), WallClocks.contains(pa, pb));
+            assertEquals(msg, a.overlap(b), WallClocks.toWallClockInterval(WallClocks.overlap(pa, pb)));
+            assertEquals(msg, a.gap(b), WallClocks.toWallClockInterval(WallClocks.gap(pa, pb)));
+            assertEquals(msg, Integer.signum(a.compareTo(b)), Long.signum(Long.compare(pa, pb)));
+          }
+        }
+      }
+    }
+    assertNull(WallClocks.toWallClockInterval(WallClocks.NO_INTERVAL));
+
+    try {
+      WallClocks.interval(10, 9);
+      fail("End before start should throw.");
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+}
@@ -0,0 +1,110 @@
+/*
+ *
+ * Copyright 2014 Tom Mahaffey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.tkmtwo.timex;
+
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+
+public class WindowAggregatorTest
+{
+
+  private static class Collector
+    implements WindowAggregator.Listener
+  {
+    TreeMap<Long, long[]> windows = new TreeMap<Long, long[]>();
+    long lastWindow = Long.MIN_VALUE;
+
+    public void onWindow(long window, long count, long sum) {
+      assertEquals(true, window > lastWindow);
+      lastWindow = window;
+      windows.put(window, new long[] { count, sum });
+    }
+  }
+
+
+  @Test
+  public void testInOrder()
+  {
+    WindowAssigner assigner = WindowAssigner.of(300000L, 30000L);
+    WindowAggregator aggregator = WindowAggregator.of(assigner, 12);
+    Collector collector = new Collector();
+    TreeMap<Long, long[]> expected = new TreeMap<Long, long[]>();
+
+    Random random = new Random(15L);
+    long t = 1000000L;
+    for (int i = 0; i < 5000; i++) {
+      t += random.nextInt(2000);
+      long value = random.nextInt(100);
+      assertEquals(10, aggregator.add(t, value));
+      for (long k = assigner.firstWindow(t); k <= assigner.lastWindow(t); k++) {
+        long[] cs = expected.get(k);
+        if (cs == null) { cs = new long[2]; expected.put(k, cs); }
+        cs[0]++;
+        cs[1] += value;
+      }
+      if (i % 50 == 0) { aggregator.advanceWatermark(t, collector); }
+    }
+    aggregator.advanceWatermark(Long.MAX_VALUE - 300000L, collector);
+
+    assertEquals(expected.keySet(), collector.windows.keySet());
+    for (Long k : expected.keySet()) {
+      assertEquals(expected.get(k)[0], collector.windows.get(k)[0]);
+      assertEquals(expected.get(k)[1], collector.windows.get(k)[1]);
+    }
+    assertEquals(0L, aggregator.getLate());
+    assertEquals(0L, aggregator.getEarly());
+  }
+
+
+  @Test
+  public void testLateAndEarly()
+  {
+    WindowAssigner assigner = WindowAssigner.tumbling(1000L);
+    WindowAggregator aggregator = WindowAggregator.of(assigner, 4);
+    Collector collector = new Collector();
+
+    assertEquals(0, aggregator.advanceWatermark(5000L, collector));
+    assertEquals(1, aggregator.add(5500L, 1L));
+    assertEquals(1, aggregator.add(8999L, 1L));
+    assertEquals(0, aggregator.add(9000L, 1L));
+    assertEquals(0, aggregator.add(4999L, 1L));
+    assertEquals(1L, aggregator.getEarly());
+    assertEquals(1L, aggregator.getLate());
+
+    assertEquals(0, aggregator.advanceWatermark(4000L, collector));
+    assertEquals(1, aggregator.advanceWatermark(6000L, collector));
+    assertEquals(1L, collector.windows.get(5L)[0]);
+    assertEquals(1, aggregator.add(9000L, 1L));
+    assertEquals(2, aggregator.advanceWatermark(100000L, collector));
+    assertEquals(3, collector.windows.size());
+
+    try {
+      WindowAggregator.of(WindowAssigner.of(300000L, 30000L), 9);
+      fail("Expected failure for a small capacity.");
+    } catch (IllegalArgumentException iae) {
+      //expected
+    }
+  }
+
+}
@@ -0,0 +1,95 @@
+/*
+ *
+ * Copyright 2014 Tom Mahaffey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.tkmtwo.timex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.Interval;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+
+public class WindowAssignerTest
+{
+
+  @Test
+  public void testAssign()
+  {
+    long[][] shapes = { { 300000L, 30000L }, { 300000L, 300000L }, { 60000L, 90000L }, { 7L, 3L } };
+    for (long[] shape : shapes) {
+      WindowAssigner assigner = WindowAssigner.of(new DateTime(12345L), shape[0], shape[1]);
+      for (long m = -700000L; m < 700000L; m += 997L) {
+        final List<Long> windows = new ArrayList<Long>();
+        int n = assigner.assign(m, new LongConsumer() {
+            public void accept(long window) { windows.add(window); }
+          });
+        assertEquals(windows.size(), n);
+
+        //Brute force around the instant.
+        List<Long> expected = new ArrayList<Long>();
+        long near = Math.floorDiv(m - 12345L, shape[1]);
+        for (long k = near - shape[0] / shape[1] - 2L; k <= near + 2L; k++) {
+          if (assigner.getInterval(k).contains(m)) { expected.add(k); }
+        }
+        assertEquals(shape[0] + "/" + shape[1] + " " + m, expected, windows);
+        if (!expected.isEmpty()) {
+          assertEquals(expected.get(0).longValue(), assigner.firstWindow(m));
+          assertEquals(expected.get(expected.size() - 1).longValue(), assigner.lastWindow(m));
+        }
+      }
+    }
+  }
+
+
+  @Test
+  public void testWindows()
+  {
+    WindowAssigner assigner = WindowAssigner.of(300000L, 30000L);
+    assertEquals(10, assigner.getMaxWindowsPerInstant());
+    assertEquals(new Interval(30000L, 330000L, assigner.getInterval(0L).getChronology()),
+                 assigner.getInterval(1L));
+    assertEquals(-1L, assigner.lastWindowEndedBy(299999L));
+    assertEquals(0L, assigner.lastWindowEndedBy(329999L));
+    assertEquals(0L, assigner.lastWindowEndedBy(300000L));
+    assertEquals(1L, assigner.lastWindowEndedBy(330000L));
+
+    WindowAssigner tumbling = WindowAssigner.tumbling(60000L);
+    assertEquals(1, tumbling.getMaxWindowsPerInstant());
+    DateTime start = new DateTime(0L, DateTimeZone.UTC);
+    List<Interval> grid = Intervals.intervals(DateTimeDirection.FORWARD,
+                                              new Interval(start, start.plusHours(1)), 60000L);
+    for (int i = 0; i < grid.size(); i++) {
+      assertEquals(grid.get(i), tumbling.getInterval(i));
+    }
+
+    try {
+      WindowAssigner.of(300000L, 0L);
+      fail("Expected failure for a zero slide.");
+    } catch (IllegalArgumentException iae) {
+      //expected
+    }
+  }
+
+}
@@ -40,6 +40,9 @@ public class IsoExtendedConverterTest
   public void testPass()
   {
     assertTrue(new DateTime(0L).isEqual(dtConverter.convert("1970-01-01T00:00:00Z")));
+    assertTrue(new DateTime(0L).isEqual(dtConverter.convert("1970-01-01T02:00:00+02:00")));
+    assertTrue(new DateTime(789L).isEqual(dtConverter.convert("1970-01-01T00:00:00.789Z")));
+    assertTrue(new DateTime(789L).isEqual(dtConverter.convert("1970-01-01T02:00:00.789123+0200")));
   }
 
 
@@ -1,5 +1,6 @@
 package com.tkmtwo.timex.ibatis;
 
+import java.sql.SQLException;
 
 import org.apache.ibatis.type.JdbcType;
 import org.apache.ibatis.type.TypeHandler;
@@ -74,6 +75,30 @@ public class WallClockBasicTypeHandlerTest
     assertNull(TYPE_HANDLER.getResult(cs, 1));
   }
 
+  @Test
+  public void shouldGetExtendedResultFromResultSet()
+    throws Exception {
+
+    when(rs.getString("column")).thenReturn("00:01:13");
+    when(rs.wasNull()).thenReturn(false);
+    assertEquals(wallClock, TYPE_HANDLER.getResult(rs, "column"));
+  }
+
+  @Test
+  public void shouldFailOnBadResultFromResultSet()
+    throws Exception {
+
+    when(rs.getString("column")).thenReturn("0001x3");
+    when(rs.wasNull()).thenReturn(false);
+    try {
+      TYPE_HANDLER.getResult(rs, "column");
+      fail("Bad WallClock should throw.");
+    } catch (SQLException expected) {
+      assertTrue(expected.getMessage(), expected.getMessage().contains("'0001x3'"));
+      assertTrue(expected.getMessage(), expected.getMessage().contains("HHMMSS or HH:MM:SS"));
+    }
+  }
+
 
 
 }
@@ -50,6 +50,8 @@ public class DateTimeTest {
                  om.readValue(quoted("1970-01-01T00:00:00Z"), DateTime.class));
     assertEquals(DateTimes.noMillis(3000L),
                  om.readValue(quoted("1970-01-01T00:00:03Z"), DateTime.class));
+    assertEquals(new DateTime(3456L),
+                 om.readValue(quoted("1970-01-01T01:00:03.456+01:00"), DateTime.class));
     assertNull(om.readValue(quoted(""), DateTime.class));
 
     
@@ -0,0 +1,102 @@
+/*
+ *
+ * Copyright 2014 Tom Mahaffey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.tkmtwo.timex.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.Interval;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tkmtwo.timex.DateTimeFields;
+import com.tkmtwo.timex.Intervals;
+
+
+/**
+ *
+ * Zone aligned bucket boundaries over a year with
+ * Intervals.alignedMillis(), against stepping JodaTime DateTimes.
+ *
+ *
+ * @author Tom Mahaffey
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AlignedIntervalsBenchmark {
+
+  @Param({ "UTC", "America/New_York" })
+  public String zoneId;
+
+  private DateTimeZone zone;
+  private Interval year;
+
+  @Setup
+  public void setUp() {
+    zone = DateTimeZone.forID(zoneId);
+    DateTime start = new DateTime(2014, 1, 1, 0, 0, 0, zone);
+    year = new Interval(start, start.plusYears(1));
+  }
+
+
+  @Benchmark
+  public long[] quarterHours() {
+    return Intervals.alignedMillis(year, DateTimeFields.MINUTE, 15, zone);
+  }
+
+  @Benchmark
+  public long quarterHoursJoda() {
+    long sum = 0L;
+    for (DateTime dt = year.getStart(); dt.isBefore(year.getEnd()); dt = dt.plusMinutes(15)) {
+      sum += dt.getMillis();
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public long[] days() {
+    return Intervals.alignedMillis(year, DateTimeFields.DAY, 1, zone);
+  }
+
+  @Benchmark
+  public long daysJoda() {
+    long sum = 0L;
+    for (DateTime dt = year.getStart(); dt.isBefore(year.getEnd()); dt = dt.plusDays(1).withTimeAtStartOfDay()) {
+      sum += dt.getMillis();
+    }
+    return sum;
+  }
+
+}
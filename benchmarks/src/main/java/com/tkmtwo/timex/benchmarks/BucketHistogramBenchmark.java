@@ -0,0 +1,129 @@
+/*
+ *
+ * Copyright 2014 Tom Mahaffey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.tkmtwo.timex.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.Interval;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tkmtwo.timex.BucketHistogram;
+import com.tkmtwo.timex.DateTimeDirection;
+import com.tkmtwo.timex.Intervals;
+import com.tkmtwo.timex.TimeBucketer;
+
+
+/**
+ *
+ * Recording events into a day of minute buckets from several threads.
+ *
+ *
+ * @author Tom Mahaffey
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class BucketHistogramBenchmark {
+
+  private static final long STEP = 60000L;
+
+  private long dayStart;
+  private List<Interval> intervals;
+  private TimeBucketer bucketer;
+  private BucketHistogram striped;
+  private BucketHistogram single;
+  private AtomicLongArray shared;
+
+  @Setup
+  public void setUp() {
+    DateTime start = new DateTime(2014, 1, 26, 0, 0, 0, DateTimeZone.UTC);
+    Interval day = new Interval(start, start.plusDays(1));
+    dayStart = start.getMillis();
+    intervals = Intervals.intervals(DateTimeDirection.FORWARD, day, STEP);
+    bucketer = TimeBucketer.of(DateTimeDirection.FORWARD, day, STEP);
+    striped = BucketHistogram.of(bucketer);
+    single = BucketHistogram.of(bucketer, 1);
+    shared = new AtomicLongArray(bucketer.size());
+  }
+
+
+  /*
+   * Per thread event times, walking the day in prime sized strides.
+   */
+  @State(Scope.Thread)
+  public static class Events {
+    private long offset;
+
+    long next() {
+      offset = (offset + 7919L) % 86400000L;
+      return offset;
+    }
+  }
+
+
+  @Benchmark
+  public boolean recordStriped(Events events) {
+    return striped.record(dayStart + events.next(), 1L);
+  }
+
+  @Benchmark
+  public boolean recordSingleStripe(Events events) {
+    return single.record(dayStart + events.next(), 1L);
+  }
+
+  @Benchmark
+  public long recordBinarySearch(Events events) {
+    long millis = dayStart + events.next();
+    int lo = 0;
+    int hi = intervals.size() - 1;
+    while (lo <= hi) {
+      int mid = (lo + hi) >>> 1;
+      Interval interval = intervals.get(mid);
+      if (millis < interval.getStartMillis()) {
+        hi = mid - 1;
+      } else if (millis >= interval.getEndMillis()) {
+        lo = mid + 1;
+      } else {
+        return shared.incrementAndGet(mid);
+      }
+    }
+    return -1L;
+  }
+
+}
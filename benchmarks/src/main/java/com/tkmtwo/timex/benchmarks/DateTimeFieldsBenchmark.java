@@ -0,0 +1,90 @@
+/*
+ *
+ * Copyright 2014 Tom Mahaffey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.tkmtwo.timex.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tkmtwo.timex.DateTimeFields;
+
+
+/**
+ *
+ * Rounding with DateTimeFields, in UTC and in a zone with DST.
+ *
+ *
+ * @author Tom Mahaffey
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DateTimeFieldsBenchmark {
+
+  @Param({ "SECOND", "HOUR", "DAY", "MONTH", "YEAR" })
+  public DateTimeFields field;
+
+  private DateTime utc;
+  private DateTime zoned;
+
+  @Setup
+  public void setUp() {
+    utc = new DateTime(1969, 7, 24, 16, 50, 35, 730, DateTimeZone.UTC);
+    zoned = utc.withZone(DateTimeZone.forID("America/New_York"));
+  }
+
+
+  @Benchmark
+  public DateTime roundFloorUtc() {
+    return field.roundFloor(utc);
+  }
+
+  @Benchmark
+  public DateTime roundCeilingUtc() {
+    return field.roundCeiling(utc);
+  }
+
+  @Benchmark
+  public DateTime roundFloorZoned() {
+    return field.roundFloor(zoned);
+  }
+
+  @Benchmark
+  public String roundFloorString() {
+    return field.roundFloorString(utc);
+  }
+
+}
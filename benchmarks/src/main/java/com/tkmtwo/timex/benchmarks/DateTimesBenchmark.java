@@ -0,0 +1,178 @@
+/*
+ *
+ * Copyright 2014 Tom Mahaffey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.tkmtwo.timex.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.Interval;
+import org.joda.time.Period;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.tkmtwo.timex.DateTimeDirection;
+import com.tkmtwo.timex.DateTimes;
+
+
+/**
+ *
+ * Parsing, printing and splitting with DateTimes.
+ *
+ *
+ * @author Tom Mahaffey
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DateTimesBenchmark {
+
+  private String basic;
+  private String extended;
+  private String extendedOffset;
+  private DateTime dateTime;
+  private long millis;
+  private char[] chars;
+  private Interval day;
+  private Period minute;
+  private Interval nyYear;
+  private Period oneDay;
+
+  @Setup
+  public void setUp() {
+    basic = "20140126T023642Z";
+    extended = "2014-01-26T02:36:42Z";
+    extendedOffset = "2014-01-26T02:36:42.123-05:00";
+    dateTime = new DateTime(2014, 1, 26, 2, 36, 42, DateTimeZone.UTC);
+    millis = dateTime.getMillis();
+    chars = new char[32];
+    day = new Interval(dateTime.withTimeAtStartOfDay(), dateTime.withTimeAtStartOfDay().plusDays(1));
+    minute = Period.minutes(1);
+    DateTimeZone ny = DateTimeZone.forID("America/New_York");
+    nyYear = new Interval(new DateTime(2014, 1, 1, 0, 0, ny), new DateTime(2015, 1, 1, 0, 0, ny));
+    oneDay = Period.days(1);
+  }
+
+
+  @Benchmark
+  public DateTime parseBasic() {
+    return DateTimes.parseBasic(basic);
+  }
+
+  @Benchmark
+  public long parseBasicMillis() {
+    return DateTimes.parseBasicMillis(basic);
+  }
+
+  @Benchmark
+  public DateTime parseExtended() {
+    return DateTimes.parseExtended(extended);
+  }
+
+  @Benchmark
+  public long parseExtendedMillisOffset() {
+    return DateTimes.parseExtendedMillis(extendedOffset);
+  }
+
+  @Benchmark
+  public DateTime parseBasicJoda() {
+    return DateTimes.getBasicFormatter().parseDateTime(basic);
+  }
+
+
+  @Benchmark
+  public String printBasic() {
+    return DateTimes.printBasic(dateTime);
+  }
+
+  @Benchmark
+  public String printExtended() {
+    return DateTimes.printExtended(dateTime);
+  }
+
+  @Benchmark
+  public int printBasicTo() {
+    return DateTimes.printBasicTo(millis, chars, 0);
+  }
+
+  @Benchmark
+  public String printBasicCached() {
+    return DateTimes.printBasicCached(millis);
+  }
+
+  @Benchmark
+  public String printBasicJoda() {
+    return DateTimes.getBasicFormatter().print(dateTime);
+  }
+
+
+  @Benchmark
+  public List<DateTime> splitsDayByMinute() {
+    return DateTimes.splits(day, minute);
+  }
+
+  @Benchmark
+  public long[] splitMillisDayByMinute() {
+    return DateTimes.splitMillis(DateTimeDirection.FORWARD, day, 60000L);
+  }
+
+  @Benchmark
+  public void splitStreamDayByMinute(final Blackhole bh) {
+    DateTimes.splitStream(DateTimeDirection.FORWARD, day, minute).forEach(new Consumer<DateTime>() {
+        public void accept(DateTime dt) { bh.consume(dt); }
+      });
+  }
+
+
+  @Benchmark
+  public List<DateTime> splitsByPeriodYearByDay() {
+    return DateTimes.splitsByPeriod(nyYear, oneDay);
+  }
+
+  @Benchmark
+  public long[] splitMillisByPeriodYearByDay() {
+    return DateTimes.splitMillisByPeriod(DateTimeDirection.FORWARD, nyYear, oneDay);
+  }
+
+  @Benchmark
+  public DateTime splitsYearByDayJoda() {
+    DateTime last = null;
+    for (DateTime dt = nyYear.getStart(); !dt.isAfter(nyYear.getEnd()); dt = dt.plus(oneDay)) {
+      last = dt;
+    }
+    return last;
+  }
+
+}
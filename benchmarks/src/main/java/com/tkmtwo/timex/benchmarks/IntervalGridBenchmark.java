@@ -0,0 +1,105 @@
+/*
+ *
+ * Copyright 2014 Tom Mahaffey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.tkmtwo.timex.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.Interval;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tkmtwo.timex.DateTimeDirection;
+import com.tkmtwo.timex.Intervals;
+
+
+/**
+ *
+ * Building a million one second Intervals sequentially and on pools
+ * of increasing parallelism.  Compare each pool's score against the
+ * sequential score for the speedup curve.
+ *
+ *
+ * @author Tom Mahaffey
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IntervalGridBenchmark {
+
+  private static final long SIZE = 1000000L;
+  private static final long SECOND = 1000L;
+
+  @Param({ "1", "2", "4", "8" })
+  public int parallelism;
+
+  private DateTime start;
+  private ForkJoinPool pool;
+  private ExecutorService executor;
+
+  @Setup
+  public void setUp() {
+    start = new DateTime(2014, 1, 1, 0, 0, 0, DateTimeZone.UTC);
+    pool = new ForkJoinPool(parallelism);
+    executor = Executors.newFixedThreadPool(parallelism);
+  }
+
+  @TearDown
+  public void tearDown() {
+    pool.shutdown();
+    executor.shutdown();
+  }
+
+
+  @Benchmark
+  public List<Interval> sequential() {
+    return Intervals.intervals(DateTimeDirection.FORWARD, start, SIZE, SECOND);
+  }
+
+  @Benchmark
+  public List<Interval> forkJoin() {
+    return Intervals.intervals(DateTimeDirection.FORWARD, start, SIZE, SECOND, pool);
+  }
+
+  @Benchmark
+  public List<Interval> executor() {
+    return Intervals.intervals(DateTimeDirection.FORWARD, start, SIZE, SECOND, executor);
+  }
+
+}
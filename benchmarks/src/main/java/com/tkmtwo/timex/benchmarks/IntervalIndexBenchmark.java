@@ -0,0 +1,116 @@
+/*
+ *
+ * Copyright 2014 Tom Mahaffey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.tkmtwo.timex.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+import org.joda.time.Interval;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tkmtwo.timex.IntervalIndex;
+
+
+/**
+ *
+ * Stabbing queries over a year of one hour-ish bookings, against a
+ * linear scan.
+ *
+ *
+ * @author Tom Mahaffey
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IntervalIndexBenchmark {
+
+  private static final long YEAR = 365L * 86400000L;
+
+  @Param({ "100000", "1000000" })
+  public int size;
+
+  private long[] starts;
+  private long[] ends;
+  private List<Interval> intervals;
+  private IntervalIndex index;
+  private Random random;
+  private Counter counter;
+
+  static final class Counter
+    implements IntConsumer {
+    long hits;
+    public void accept(int id) { hits++; }
+  }
+
+  @Setup
+  public void setUp() {
+    Random r = new Random(17L);
+    starts = new long[size];
+    ends = new long[size];
+    intervals = new ArrayList<Interval>(size);
+    for (int i = 0; i < size; i++) {
+      starts[i] = (long) (r.nextDouble() * YEAR);
+      ends[i] = starts[i] + 1800000L + r.nextInt(3600000);
+      intervals.add(new Interval(starts[i], ends[i]));
+    }
+    index = IntervalIndex.ofMillis(starts, ends);
+    random = new Random(18L);
+    counter = new Counter();
+  }
+
+
+  @Benchmark
+  public int containing() {
+    return index.forEachContaining((long) (random.nextDouble() * YEAR), counter);
+  }
+
+  @Benchmark
+  public int containingScan() {
+    long t = (long) (random.nextDouble() * YEAR);
+    int n = 0;
+    for (int i = 0; i < intervals.size(); i++) {
+      if (intervals.get(i).contains(t)) { n++; }
+    }
+    return n;
+  }
+
+  @Benchmark
+  public IntervalIndex build() {
+    return IntervalIndex.ofMillis(starts, ends);
+  }
+
+}
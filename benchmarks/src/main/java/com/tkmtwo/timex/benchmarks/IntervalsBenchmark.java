@@ -0,0 +1,140 @@
+/*
+ *
+ * Copyright 2014 Tom Mahaffey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.tkmtwo.timex.benchmarks;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.Interval;
+import org.joda.time.Period;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tkmtwo.timex.DateTimeDirection;
+import com.tkmtwo.timex.DateTimes;
+import com.tkmtwo.timex.IntervalSeries;
+import com.tkmtwo.timex.Intervals;
+
+
+/**
+ *
+ * Building interval grids with Intervals.intervals().
+ *
+ *
+ * @author Tom Mahaffey
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IntervalsBenchmark {
+
+  @Param({ "PT1M", "PT1H" })
+  public String step;
+
+  private Interval day;
+  private Period period;
+  private long stepMillis;
+  private List<Interval> grid;
+  private String basic;
+  private ByteBuffer buffer;
+
+  @Setup
+  public void setUp() {
+    DateTime start = new DateTime(2014, 1, 26, 0, 0, 0, DateTimeZone.UTC);
+    day = new Interval(start, start.plusDays(1));
+    period = Period.parse(step);
+    stepMillis = period.toStandardDuration().getMillis();
+    grid = Intervals.intervals(DateTimeDirection.FORWARD, day, stepMillis);
+    basic = Intervals.printBasic(day);
+    buffer = ByteBuffer.allocate(1 << 20);
+  }
+
+
+  @Benchmark
+  public List<Interval> forward() {
+    return Intervals.intervals(DateTimeDirection.FORWARD, day, period);
+  }
+
+  @Benchmark
+  public List<Interval> reverse() {
+    return Intervals.intervals(DateTimeDirection.REVERSE, day, period);
+  }
+
+  @Benchmark
+  public long series() {
+    IntervalSeries series = Intervals.series(DateTimeDirection.FORWARD, day, stepMillis);
+    long sum = 0L;
+    for (Interval interval : series) {
+      sum += interval.getEndMillis();
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public long[] boundaryMillis() {
+    return Intervals.boundaryMillis(DateTimeDirection.FORWARD, day, stepMillis);
+  }
+
+  @Benchmark
+  public String printExtended() {
+    return Intervals.printExtended(day);
+  }
+
+  @Benchmark
+  public Interval parseBasic() {
+    return Intervals.parseBasic(basic);
+  }
+
+  @Benchmark
+  public int writeBasic() {
+    buffer.clear();
+    return Intervals.writeBasic(grid, 0, buffer);
+  }
+
+  @Benchmark
+  public int writeBasicConcat() {
+    buffer.clear();
+    for (Interval interval : grid) {
+      buffer.put((DateTimes.getBasicFormatter().print(interval.getStart())
+                  + "/"
+                  + DateTimes.getBasicFormatter().print(interval.getEnd())
+                  + "\n").getBytes(StandardCharsets.US_ASCII));
+    }
+    return buffer.position();
+  }
+
+}
@@ -0,0 +1,120 @@
+/*
+ *
+ * Copyright 2014 Tom Mahaffey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.tkmtwo.timex.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tkmtwo.timex.DateTimes;
+import com.tkmtwo.timex.jackson.JodaMapper;
+
+
+/**
+ *
+ * Serializing and deserializing DateTime values with JodaMapper.
+ *
+ *
+ * @author Tom Mahaffey
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JodaMapperBenchmark {
+
+  private JodaMapper extendedMapper;
+  private JodaMapper basicMapper;
+  private Event event;
+  private String extendedJson;
+
+  @Setup
+  public void setUp()
+    throws IOException {
+    extendedMapper = new JodaMapper();
+    basicMapper = new JodaMapper(DateTimes.getBasicFormatter());
+
+    event = new Event();
+    event.setName("landing");
+    event.setStart(new DateTime(1969, 7, 20, 20, 17, 40, DateTimeZone.UTC));
+    event.setEnd(new DateTime(1969, 7, 21, 17, 54, 0, DateTimeZone.UTC));
+
+    extendedJson = extendedMapper.writeValueAsString(event);
+  }
+
+
+  @Benchmark
+  public String writeExtended()
+    throws IOException {
+    return extendedMapper.writeValueAsString(event);
+  }
+
+  @Benchmark
+  public Event readExtended()
+    throws IOException {
+    return extendedMapper.readValue(extendedJson, Event.class);
+  }
+
+  @Benchmark
+  public Event roundTripExtended()
+    throws IOException {
+    return extendedMapper.readValue(extendedMapper.writeValueAsString(event), Event.class);
+  }
+
+  @Benchmark
+  public Event roundTripBasic()
+    throws IOException {
+    return basicMapper.readValue(basicMapper.writeValueAsString(event), Event.class);
+  }
+
+
+
+  /**
+   * A bean with two DateTime properties.
+   */
+  public static class Event {
+    private String name;
+    private DateTime start;
+    private DateTime end;
+
+    public String getName() { return name; }
+    public void setName(String s) { name = s; }
+    public DateTime getStart() { return start; }
+    public void setStart(DateTime dt) { start = dt; }
+    public DateTime getEnd() { return end; }
+    public void setEnd(DateTime dt) { end = dt; }
+  }
+
+}
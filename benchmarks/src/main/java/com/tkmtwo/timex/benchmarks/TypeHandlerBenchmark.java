@@ -0,0 +1,201 @@
+/*
+ *
+ * Copyright 2014 Tom Mahaffey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.tkmtwo.timex.benchmarks;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.type.JdbcType;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.Period;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tkmtwo.timex.WallClock;
+import com.tkmtwo.timex.ibatis.DateTimeIntSecsTypeHandler;
+import com.tkmtwo.timex.ibatis.DateTimeIsoBasicTypeHandler;
+import com.tkmtwo.timex.ibatis.DateTimeLongMillisTypeHandler;
+import com.tkmtwo.timex.ibatis.PeriodIsoTypeHandler;
+import com.tkmtwo.timex.ibatis.WallClockBasicTypeHandler;
+import com.tkmtwo.timex.ibatis.WallClockIntSecsTypeHandler;
+
+
+/**
+ *
+ * Reading and writing through the MyBatis type handlers.
+ * <p>
+ *
+ * The ResultSet and PreparedStatement are stubs which answer every
+ * getter with a fixed column value and ignore every setter, so only
+ * the handler's own conversion is measured.
+ *
+ *
+ * @author Tom Mahaffey
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TypeHandlerBenchmark {
+
+  private static final String COLUMN = "value";
+
+  private final DateTimeIsoBasicTypeHandler isoBasicHandler = new DateTimeIsoBasicTypeHandler();
+  private final DateTimeIntSecsTypeHandler intSecsHandler = new DateTimeIntSecsTypeHandler();
+  private final DateTimeLongMillisTypeHandler longMillisHandler = new DateTimeLongMillisTypeHandler();
+  private final PeriodIsoTypeHandler periodHandler = new PeriodIsoTypeHandler();
+  private final WallClockBasicTypeHandler wcBasicHandler = new WallClockBasicTypeHandler();
+  private final WallClockIntSecsTypeHandler wcIntSecsHandler = new WallClockIntSecsTypeHandler();
+
+  private ResultSet isoBasicRs;
+  private ResultSet intSecsRs;
+  private ResultSet longMillisRs;
+  private ResultSet periodRs;
+  private ResultSet wcBasicRs;
+  private ResultSet wcIntSecsRs;
+  private PreparedStatement ps;
+
+  private DateTime dateTime;
+  private Period period;
+  private WallClock wallClock;
+
+  @Setup
+  public void setUp() {
+    dateTime = new DateTime(2014, 1, 26, 2, 36, 42, DateTimeZone.UTC);
+    period = Period.parse("P1DT2H");
+    wallClock = WallClock.valueOf(12, 34, 56);
+
+    isoBasicRs = resultSet("20140126T023642Z");
+    intSecsRs = resultSet(Long.valueOf(dateTime.getMillis() / 1000L));
+    longMillisRs = resultSet(Long.valueOf(dateTime.getMillis()));
+    periodRs = resultSet("P1DT2H");
+    wcBasicRs = resultSet("123456");
+    wcIntSecsRs = resultSet(Long.valueOf(wallClock.getSeconds()));
+    ps = stub(PreparedStatement.class, null);
+  }
+
+
+  @Benchmark
+  public DateTime getIsoBasic()
+    throws SQLException {
+    return isoBasicHandler.getResult(isoBasicRs, COLUMN);
+  }
+
+  @Benchmark
+  public DateTime getIntSecs()
+    throws SQLException {
+    return intSecsHandler.getResult(intSecsRs, COLUMN);
+  }
+
+  @Benchmark
+  public DateTime getLongMillis()
+    throws SQLException {
+    return longMillisHandler.getResult(longMillisRs, COLUMN);
+  }
+
+  @Benchmark
+  public Period getPeriodIso()
+    throws SQLException {
+    return periodHandler.getResult(periodRs, COLUMN);
+  }
+
+  @Benchmark
+  public WallClock getWallClockBasic()
+    throws SQLException {
+    return wcBasicHandler.getResult(wcBasicRs, COLUMN);
+  }
+
+  @Benchmark
+  public WallClock getWallClockIntSecs()
+    throws SQLException {
+    return wcIntSecsHandler.getResult(wcIntSecsRs, COLUMN);
+  }
+
+
+  @Benchmark
+  public void setIsoBasic()
+    throws SQLException {
+    isoBasicHandler.setParameter(ps, 1, dateTime, JdbcType.VARCHAR);
+  }
+
+  @Benchmark
+  public void setIntSecs()
+    throws SQLException {
+    intSecsHandler.setParameter(ps, 1, dateTime, JdbcType.INTEGER);
+  }
+
+  @Benchmark
+  public void setPeriodIso()
+    throws SQLException {
+    periodHandler.setParameter(ps, 1, period, JdbcType.VARCHAR);
+  }
+
+  @Benchmark
+  public void setWallClockBasic()
+    throws SQLException {
+    wcBasicHandler.setParameter(ps, 1, wallClock, JdbcType.VARCHAR);
+  }
+
+
+
+
+  private static ResultSet resultSet(Object value) {
+    return stub(ResultSet.class, value);
+  }
+
+  /*
+   * A JDBC stub: getString/getInt/getLong answer the value, everything
+   * else answers null, false or zero.
+   */
+  private static <T> T stub(Class<T> type, final Object value) {
+    InvocationHandler handler = new InvocationHandler() {
+        public Object invoke(Object proxy, Method method, Object[] args) {
+          String name = method.getName();
+          Class<?> rt = method.getReturnType();
+          if ("getString".equals(name)) { return value == null ? null : value.toString(); }
+          if ("getInt".equals(name)) { return Integer.valueOf(((Number) value).intValue()); }
+          if ("getLong".equals(name)) { return Long.valueOf(((Number) value).longValue()); }
+          if (rt == boolean.class) { return Boolean.FALSE; }
+          if (rt == int.class) { return Integer.valueOf(0); }
+          if (rt == long.class) { return Long.valueOf(0L); }
+          return null;
+        }
+      };
+    return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler));
+  }
+
+}
@@ -0,0 +1,192 @@
+/*
+ *
+ * Copyright 2014 Tom Mahaffey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.tkmtwo.timex.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.Period;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tkmtwo.timex.WallClock;
+import com.tkmtwo.timex.WallClockInterval;
+import com.tkmtwo.timex.WallClocks;
+
+
+/**
+ *
+ * Parsing, printing and arithmetic with WallClock and
+ * WallClockInterval.
+ *
+ *
+ * @author Tom Mahaffey
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WallClockBenchmark {
+
+  private String basic;
+  private String extended;
+  private byte[] extendedBytes;
+  private byte[] printBytes;
+  private WallClock wallClock;
+  private Period period;
+
+  private WallClockInterval morning;
+  private WallClockInterval noon;
+  private WallClockInterval evening;
+
+  private int sod;
+  private long packedMorning;
+  private long packedNoon;
+  private long packedEvening;
+
+  @Setup
+  public void setUp() {
+    basic = "123456";
+    extended = "12:34:56";
+    extendedBytes = extended.getBytes(StandardCharsets.US_ASCII);
+    printBytes = new byte[64];
+    wallClock = WallClock.valueOf(12, 34, 56);
+    period = Period.minutes(90);
+
+    morning = new WallClockInterval(WallClock.valueOf(6, 0, 0), WallClock.valueOf(12, 0, 0));
+    noon = new WallClockInterval(WallClock.valueOf(11, 0, 0), WallClock.valueOf(13, 0, 0));
+    evening = new WallClockInterval(WallClock.valueOf(18, 0, 0), WallClock.valueOf(23, 0, 0));
+
+    sod = wallClock.getSeconds();
+    packedMorning = WallClocks.interval(morning);
+    packedNoon = WallClocks.interval(noon);
+    packedEvening = WallClocks.interval(evening);
+  }
+
+
+  @Benchmark
+  public WallClock valueOf() {
+    return WallClock.valueOf(wallClock.getSeconds() + 1);
+  }
+
+  @Benchmark
+  public WallClock parseBasic() {
+    return WallClock.parseBasic(basic);
+  }
+
+  @Benchmark
+  public WallClock parseExtended() {
+    return WallClock.parseExtended(extended);
+  }
+
+  @Benchmark
+  public int tryParse() {
+    return WallClock.tryParse(extended, 0, extended.length());
+  }
+
+  @Benchmark
+  public int tryParseBytes() {
+    return WallClock.tryParse(extendedBytes, 0, extendedBytes.length);
+  }
+
+  @Benchmark
+  public String printBasic() {
+    return wallClock.printBasic();
+  }
+
+  @Benchmark
+  public String printExtended() {
+    return wallClock.printExtended();
+  }
+
+  @Benchmark
+  public String printExtendedFormat() {
+    return String.format("%02d:%02d:%02d",
+                         wallClock.getHour(), wallClock.getMinute(), wallClock.getSecond());
+  }
+
+  @Benchmark
+  public int printExtendedToBytes() {
+    return wallClock.printExtendedTo(printBytes, 0);
+  }
+
+  @Benchmark
+  public WallClock plusSeconds() {
+    return wallClock.plus(3600);
+  }
+
+  @Benchmark
+  public int plusSecondsPrimitive() {
+    return WallClocks.plus(sod, 3600);
+  }
+
+  @Benchmark
+  public int plusSecondsWrap() {
+    return WallClocks.plus(sod, 43200, WallClocks.Overflow.WRAP);
+  }
+
+  @Benchmark
+  public WallClock plusPeriod() {
+    return wallClock.plus(period);
+  }
+
+
+  @Benchmark
+  public boolean intervalOverlaps() {
+    return morning.overlaps(noon) ^ morning.overlaps(evening);
+  }
+
+  @Benchmark
+  public boolean intervalOverlapsPrimitive() {
+    return WallClocks.overlaps(packedMorning, packedNoon) ^ WallClocks.overlaps(packedMorning, packedEvening);
+  }
+
+  @Benchmark
+  public WallClockInterval intervalOverlap() {
+    return morning.overlap(noon);
+  }
+
+  @Benchmark
+  public boolean intervalContains() {
+    return noon.contains(wallClock) ^ morning.contains(noon);
+  }
+
+  @Benchmark
+  public String intervalPrint() {
+    return noon.printExtended();
+  }
+
+  @Benchmark
+  public int intervalPrintToBytes() {
+    return noon.printExtendedTo(printBytes, 0);
+  }
+
+}
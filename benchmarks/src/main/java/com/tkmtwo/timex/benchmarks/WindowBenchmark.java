@@ -0,0 +1,105 @@
+/*
+ *
+ * Copyright 2014 Tom Mahaffey
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.tkmtwo.timex.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.Interval;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tkmtwo.timex.WindowAggregator;
+import com.tkmtwo.timex.WindowAssigner;
+
+
+/**
+ *
+ * Five minute windows sliding every thirty seconds over an in order
+ * event stream.
+ *
+ *
+ * @author Tom Mahaffey
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WindowBenchmark {
+
+  private static final long SIZE = 300000L;
+  private static final long SLIDE = 30000L;
+  private static final long DAY = 86400000L;
+
+  private WindowAggregator aggregator;
+  private WindowAggregator.Listener listener;
+  private List<Interval> windows;
+  private long[] counts;
+  private long millis;
+  private long emitted;
+
+  @Setup
+  public void setUp() {
+    WindowAssigner assigner = WindowAssigner.of(SIZE, SLIDE);
+    aggregator = WindowAggregator.of(assigner, 64);
+    listener = new WindowAggregator.Listener() {
+        public void onWindow(long window, long count, long sum) { emitted += count; }
+      };
+    windows = new ArrayList<Interval>();
+    for (long k = assigner.firstWindow(0L); assigner.getStartMillis(k) < DAY; k++) {
+      windows.add(assigner.getInterval(k));
+    }
+    counts = new long[windows.size()];
+  }
+
+
+  @Benchmark
+  public int aggregate() {
+    millis += 97L;
+    if (millis % SLIDE < 97L) { aggregator.advanceWatermark(millis - SLIDE, listener); }
+    return aggregator.add(millis, 1L);
+  }
+
+  @Benchmark
+  public int scanIntervals() {
+    millis = (millis + 97L) % DAY;
+    int n = 0;
+    for (int i = 0; i < windows.size(); i++) {
+      if (windows.get(i).contains(millis)) {
+        counts[i]++;
+        n++;
+      }
+    }
+    return n;
+  }
+
+}